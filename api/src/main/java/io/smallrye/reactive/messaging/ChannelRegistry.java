@@ -15,10 +15,30 @@ public interface ChannelRegistry {
 
     void register(String name, Emitter<?> emitter);
 
+    /**
+     * Registers a request-reply emitter. The default implementation does not support request-reply emitters, so
+     * existing registries keep working.
+     *
+     * @param name the name of the channel receiving the requests
+     * @param emitter the emitter
+     */
+    default void register(String name, RequestReplyEmitter<?, ?> emitter) {
+        throw new UnsupportedOperationException("This channel registry does not support request-reply emitters");
+    }
+
     List<PublisherBuilder<? extends Message>> getPublishers(String name);
 
     Emitter<?> getEmitter(String name);
 
+    /**
+     * @param name the name of the channel receiving the requests
+     * @return the request-reply emitter registered for this channel, {@code null} if none. The default implementation
+     *         always returns {@code null}.
+     */
+    default RequestReplyEmitter<?, ?> getRequestReplyEmitter(String name) {
+        return null;
+    }
+
     List<SubscriberBuilder<? extends Message, Void>> getSubscribers(String name);
 
     Set<String> getIncomingNames();
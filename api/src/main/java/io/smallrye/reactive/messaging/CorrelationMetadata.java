@@ -0,0 +1,52 @@
+package io.smallrye.reactive.messaging;
+
+import java.util.Objects;
+
+/**
+ * Message metadata carrying a correlation id, used to associate replies with requests.
+ *
+ * @see RequestReplyEmitter
+ */
+public final class CorrelationMetadata {
+
+    private final String correlationId;
+
+    private CorrelationMetadata(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Creates a new instance of {@link CorrelationMetadata}.
+     *
+     * @param correlationId the correlation id, must not be {@code null}
+     * @return the new instance
+     */
+    public static CorrelationMetadata of(String correlationId) {
+        return new CorrelationMetadata(Objects.requireNonNull(correlationId, "`correlationId` must not be `null`"));
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return correlationId.equals(((CorrelationMetadata) o).correlationId);
+    }
+
+    @Override
+    public int hashCode() {
+        return correlationId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CorrelationMetadata{correlationId='" + correlationId + "'}";
+    }
+}
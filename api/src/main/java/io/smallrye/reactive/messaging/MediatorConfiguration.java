@@ -8,6 +8,8 @@ import javax.enterprise.inject.spi.Bean;
 import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
 
 import io.smallrye.reactive.messaging.annotations.Merge;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+import io.smallrye.reactive.messaging.annotations.Window;
 
 public interface MediatorConfiguration {
 
@@ -37,6 +39,20 @@ public interface MediatorConfiguration {
 
     boolean getBroadcast();
 
+    /**
+     * @return the priority configuration of the method, {@code null} if the incoming messages are consumed in order.
+     */
+    default Prioritized getPrioritized() {
+        return null;
+    }
+
+    /**
+     * @return the window configuration of a method with the {@link Shape#WINDOW} shape, {@code null} otherwise.
+     */
+    default Window getWindow() {
+        return null;
+    }
+
     Bean<?> getBean();
 
     int getNumberOfSubscriberBeforeConnecting();
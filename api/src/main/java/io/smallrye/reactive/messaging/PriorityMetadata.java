@@ -0,0 +1,54 @@
+package io.smallrye.reactive.messaging;
+
+/**
+ * Message metadata carrying a priority level, used by methods annotated with
+ * {@link io.smallrye.reactive.messaging.annotations.Prioritized} to let urgent messages overtake the others.
+ * <p>
+ * The level {@code 0} is the highest priority.
+ */
+public final class PriorityMetadata {
+
+    private final int level;
+
+    private PriorityMetadata(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Creates a new instance of {@link PriorityMetadata}.
+     *
+     * @param level the priority level, must be positive or zero, {@code 0} being the highest priority
+     * @return the new instance
+     */
+    public static PriorityMetadata of(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("The priority level must be positive or zero, was " + level);
+        }
+        return new PriorityMetadata(level);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return level == ((PriorityMetadata) o).level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(level);
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityMetadata{level=" + level + "}";
+    }
+}
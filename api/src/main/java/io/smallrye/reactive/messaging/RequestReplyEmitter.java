@@ -0,0 +1,61 @@
+package io.smallrye.reactive.messaging;
+
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.reactive.messaging.annotations.Channel;
+import io.smallrye.reactive.messaging.annotations.ReplyChannel;
+
+/**
+ * Interface used to implement request-reply interactions on top of channels.
+ * <p>
+ * Instances are injected using:
+ *
+ * <pre>
+ * &#64;Inject
+ * &#64;Channel("my-requests")
+ * &#64;ReplyChannel("my-replies")
+ * RequestReplyEmitter&lt;String, Integer&gt; emitter;
+ * </pre>
+ * <p>
+ * Each request is sent to the channel given in the {@link Channel Channel annotation} with a
+ * {@link CorrelationMetadata} entry. The emitter listens to the channel given in the {@link ReplyChannel}
+ * annotation, and completes the {@link CompletionStage} returned by the request method when a message carrying the
+ * same correlation id is received. The component producing the reply must propagate the {@link CorrelationMetadata}
+ * of the request.
+ * <p>
+ * The number of in-flight requests is bounded, and requests without reply are failed after a timeout (both
+ * configured in {@link ReplyChannel}).
+ *
+ * @param <Req> type of request payload.
+ * @param <Rep> type of reply payload.
+ */
+public interface RequestReplyEmitter<Req, Rep> {
+
+    /**
+     * Sends a request payload to the channel.
+     *
+     * @param request the request, must not be {@code null}
+     * @return the {@code CompletionStage}, which will be completed with the payload of the reply, or failed if the
+     *         request cannot be sent, if too many requests are in-flight, or if the reply does not arrive in time.
+     * @throws IllegalStateException if the stream has been cancelled or terminated.
+     */
+    CompletionStage<Rep> request(Req request);
+
+    /**
+     * Sends a request message to the channel. The {@link CorrelationMetadata} is added to the message metadata.
+     *
+     * @param request the <em>Message</em> to send, must not be {@code null}
+     * @return the {@code CompletionStage}, which will be completed with the reply message, or failed if the request
+     *         cannot be sent, if too many requests are in-flight, or if the reply does not arrive in time.
+     * @throws IllegalStateException if the stream has been cancelled or terminated.
+     */
+    <M extends Message<? extends Req>> CompletionStage<Message<Rep>> request(M request);
+
+    /**
+     * @return the number of requests waiting for a reply.
+     */
+    int getPendingRequests();
+
+}
@@ -5,5 +5,6 @@ public enum Shape {
     PUBLISHER,
     SUBSCRIBER,
     PROCESSOR,
-    STREAM_TRANSFORMER
+    STREAM_TRANSFORMER,
+    WINDOW
 }
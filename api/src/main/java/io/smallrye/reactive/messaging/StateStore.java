@@ -0,0 +1,103 @@
+package io.smallrye.reactive.messaging;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.reactive.messaging.annotations.Channel;
+
+/**
+ * Keyed state store, local to the application and bound to a channel.
+ * <p>
+ * Instances are injected using:
+ *
+ * <pre>
+ * &#64;Inject
+ * &#64;Channel("page-views")
+ * StateStore&lt;String, Long&gt; counters;
+ * </pre>
+ * <p>
+ * The same instance is injected for a given {@link Channel Channel name}. The entries are kept in memory. When a file
+ * is configured for the channel ({@code mp.messaging.state.[channel].file}), the modifications are also written to a
+ * memory-mapped file by {@link #snapshot()}, and reloaded on restart. To keep the state consistent with the consumed
+ * messages, the snapshots are generally taken on acknowledgement, using {@link #checkpoint(Message)}.
+ * <p>
+ * A snapshot contains all the modifications done so far, including the ones of the messages not acknowledged yet.
+ * After a crash, these messages are redelivered and applied again to the reloaded state: the processing is
+ * at-least-once, so the updates must be idempotent to get exact results.
+ * <p>
+ * Without snapshot file, the keys and values can be any object. With a snapshot file, they must be
+ * {@link java.io.Serializable}.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public interface StateStore<K, V> {
+
+    /**
+     * @param key the key, must not be {@code null}
+     * @return the value associated with the key, empty if none
+     */
+    Optional<V> get(K key);
+
+    /**
+     * @param key the key, must not be {@code null}
+     * @param defaultValue the value returned if the key has no value
+     * @return the value associated with the key, {@code defaultValue} if none
+     */
+    V getOrDefault(K key, V defaultValue);
+
+    /**
+     * Associates a value with a key.
+     *
+     * @param key the key, must not be {@code null}
+     * @param value the value, {@code null} removes the entry
+     */
+    void put(K key, V value);
+
+    /**
+     * Atomically computes the new value associated with a key.
+     *
+     * @param key the key, must not be {@code null}
+     * @param function the function receiving the key and the current value ({@code null} if none), and returning the
+     *        new value ({@code null} to remove the entry)
+     * @return the new value
+     */
+    V compute(K key, BiFunction<? super K, ? super V, ? extends V> function);
+
+    /**
+     * Removes the value associated with a key.
+     *
+     * @param key the key, must not be {@code null}
+     */
+    void remove(K key);
+
+    /**
+     * @return the number of entries
+     */
+    int size();
+
+    /**
+     * Writes the modifications done since the last snapshot to the snapshot file. Does nothing if the store is not
+     * backed by a file.
+     *
+     * @return a completion stage completed when the snapshot has been written, or failed if it cannot be written
+     */
+    CompletionStage<Void> snapshot();
+
+    /**
+     * Returns a message taking a snapshot of the store when acknowledged. The acknowledgement of the given message is
+     * only triggered once the snapshot has been written, so the acknowledged messages are never ahead of the persisted
+     * state. The persisted state can be ahead of the acknowledged messages though, as the snapshot also contains the
+     * modifications of the messages processed concurrently or afterwards: these messages are applied again if they are
+     * redelivered after a restart.
+     *
+     * @param message the message, generally an incoming message whose processing updated the store
+     * @param <T> the type of payload
+     * @return the message taking a snapshot before acknowledging
+     */
+    <T> Message<T> checkpoint(Message<T> message);
+
+}
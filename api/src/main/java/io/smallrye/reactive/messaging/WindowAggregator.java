@@ -0,0 +1,76 @@
+package io.smallrye.reactive.messaging;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Incremental aggregation of the payloads of a window, used by the methods annotated with
+ * {@link io.smallrye.reactive.messaging.annotations.Window}.
+ * <p>
+ * Each window starts with a new accumulator, updated for each payload, so the window contents are never
+ * materialized. The result is computed from the accumulator when the window closes.
+ *
+ * @param <I> the type of the payloads
+ * @param <A> the type of the accumulator
+ * @param <R> the type of the result
+ */
+public interface WindowAggregator<I, A, R> {
+
+    /**
+     * @return a new accumulator, for a new window
+     */
+    A initial();
+
+    /**
+     * Adds a payload to the window.
+     *
+     * @param accumulator the accumulator of the window
+     * @param item the payload
+     * @return the updated accumulator, can be the same instance
+     */
+    A accumulate(A accumulator, I item);
+
+    /**
+     * Computes the result of a window.
+     *
+     * @param accumulator the accumulator of the window
+     * @return the result, sent to the outgoing channel
+     */
+    R result(A accumulator);
+
+    /**
+     * Creates a {@link WindowAggregator} from functions.
+     *
+     * @param initial the supplier of new accumulators
+     * @param accumulate the function adding a payload to an accumulator
+     * @param result the function computing the result from an accumulator
+     * @param <I> the type of the payloads
+     * @param <A> the type of the accumulator
+     * @param <R> the type of the result
+     * @return the aggregator
+     */
+    static <I, A, R> WindowAggregator<I, A, R> of(Supplier<A> initial, BiFunction<A, I, A> accumulate,
+            Function<A, R> result) {
+        Objects.requireNonNull(initial);
+        Objects.requireNonNull(accumulate);
+        Objects.requireNonNull(result);
+        return new WindowAggregator<I, A, R>() {
+            @Override
+            public A initial() {
+                return initial.get();
+            }
+
+            @Override
+            public A accumulate(A accumulator, I item) {
+                return accumulate.apply(accumulator, item);
+            }
+
+            @Override
+            public R result(A accumulator) {
+                return result.apply(accumulator);
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package io.smallrye.reactive.messaging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures a method annotated with {@code @Incoming} to consume the incoming messages by priority.
+ * <p>
+ * The messages are buffered in one queue per priority level. The level of a message is given by its
+ * {@link io.smallrye.reactive.messaging.PriorityMetadata}, or, if the message does not carry one, by the position of its
+ * channel in {@link #channels()}. Other messages get the lowest level.
+ * <p>
+ * The queues are consumed using a weighted round-robin: in each round, the level {@code i} delivers up to
+ * {@code weights[i]} messages, higher levels first. So, high priority messages overtake the buffered low priority
+ * messages, while low priority messages are never starved.
+ *
+ * Experimental !
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Prioritized {
+
+    /**
+     * @return the weight of each priority level, the first one being the highest priority. The weights must be
+     *         strictly positive.
+     */
+    int[] weights() default { 8, 4, 1 };
+
+    /**
+     * @return the incoming channels ordered by priority, the first one being the highest priority. Messages from these
+     *         channels without {@link io.smallrye.reactive.messaging.PriorityMetadata} get the level matching the
+     *         position of the channel.
+     */
+    String[] channels() default {};
+
+    /**
+     * @return the number of messages requested in advance from each incoming channel, and so the number of messages
+     *         a high priority message can overtake.
+     */
+    int bufferSize() default 128;
+
+}
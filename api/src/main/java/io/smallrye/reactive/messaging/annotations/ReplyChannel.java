@@ -0,0 +1,47 @@
+package io.smallrye.reactive.messaging.annotations;
+
+import static java.lang.annotation.ElementType.CONSTRUCTOR;
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
+
+/**
+ * Configures the reply channel of an injected {@link RequestReplyEmitter}:
+ *
+ * <pre>
+ * <code>
+ * &#64;Inject
+ * &#64;Channel("requests")
+ * &#64;ReplyChannel(value = "replies", timeout = 5000, maxInFlightRequests = 256)
+ * RequestReplyEmitter&lt;String, Integer&gt; emitter;
+ * </code>
+ * </pre>
+ *
+ * The reply channel must not be consumed by another component.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ METHOD, CONSTRUCTOR, FIELD, PARAMETER })
+public @interface ReplyChannel {
+
+    /**
+     * @return the name of the channel on which the replies are received, mandatory.
+     */
+    String value();
+
+    /**
+     * @return the time in milliseconds to wait for a reply before failing the request.
+     */
+    long timeout() default 10000;
+
+    /**
+     * @return the maximum number of requests waiting for a reply. Additional requests are rejected.
+     */
+    int maxInFlightRequests() default 1024;
+
+}
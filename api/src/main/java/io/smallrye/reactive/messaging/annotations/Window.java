@@ -0,0 +1,63 @@
+package io.smallrye.reactive.messaging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures a method annotated with {@code @Incoming} and {@code @Outgoing} to aggregate the incoming payloads by
+ * window. The method takes no parameter and returns the {@link io.smallrye.reactive.messaging.WindowAggregator} used
+ * to compute the result of each window. A message containing the result is sent to the outgoing channel when the
+ * window closes. Empty windows do not produce any result.
+ * <p>
+ * Windows are either count-based ({@link #size()}) or time-based ({@link #duration()}):
+ * <ul>
+ * <li>{@link Type#TUMBLING} - consecutive windows without overlap,</li>
+ * <li>{@link Type#HOPPING} - windows starting every {@link #advance()} messages or milliseconds, overlapping when the
+ * advance is smaller than the window,</li>
+ * <li>{@link Type#SESSION} - windows closed after {@link #gap()} milliseconds without message.</li>
+ * </ul>
+ * <p>
+ * With the default {@code POST_PROCESSING} acknowledgement, the incoming messages are acknowledged when the messages
+ * carrying the results of all the windows containing them are acknowledged.
+ *
+ * Experimental !
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Window {
+
+    enum Type {
+        TUMBLING,
+        HOPPING,
+        SESSION
+    }
+
+    /**
+     * @return the type of window
+     */
+    Type value() default Type.TUMBLING;
+
+    /**
+     * @return the number of messages of count-based windows, {@code 0} for time-based windows
+     */
+    int size() default 0;
+
+    /**
+     * @return the duration in milliseconds of time-based windows, {@code 0} for count-based windows
+     */
+    long duration() default 0;
+
+    /**
+     * @return for hopping windows, the number of messages (count-based) or milliseconds (time-based) between the start
+     *         of two consecutive windows. It must not exceed the size or duration of the windows.
+     */
+    long advance() default 0;
+
+    /**
+     * @return for session windows, the inactivity time in milliseconds closing the window
+     */
+    long gap() default 0;
+
+}
@@ -1,5 +1,6 @@
 package io.smallrye.reactive.messaging.amqp;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +32,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.ack.OrderedAckWindow;
+import io.smallrye.reactive.messaging.compression.Compression;
+import io.smallrye.reactive.messaging.metrics.MetricDecorator;
 import io.vertx.amqp.AmqpClientOptions;
 import io.vertx.amqp.AmqpReceiverOptions;
 import io.vertx.amqp.impl.AmqpMessageBuilderImpl;
@@ -54,6 +58,9 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
     @Inject
     private Instance<AmqpClientOptions> clientOptions;
 
+    @Inject
+    private Instance<MetricDecorator> metricsInstance;
+
     @Inject
     @ConfigProperty(name = "amqp-port", defaultValue = "5672")
     private Integer configuredPort;
@@ -89,6 +96,8 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
     private boolean internalVertxInstance = false;
     private Vertx vertx;
     private final List<AmqpClient> clients = new CopyOnWriteArrayList<>();
+    // The publishers of the sources configured with a `prefetch`, for testing purpose.
+    private final List<AmqpCreditPublisher> creditPublishers = new CopyOnWriteArrayList<>();
 
     public void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
         if (internalVertxInstance) {
@@ -221,10 +230,45 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
         }
     }
 
-    private Flowable<? extends Message<?>> getStreamOfMessages(AmqpReceiver receiver) {
+    private Flowable<? extends Message<?>> getStreamOfMessages(AmqpReceiver receiver, boolean autoAck,
+            int maxDecompressedSize) {
         return Flowable.defer(
                 () -> Flowable.fromPublisher(receiver.toPublisher()))
-                .map(m -> new AmqpMessage<>(m));
+                .map(m -> received(m.getDelegate(), autoAck, maxDecompressedSize))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    private Flowable<? extends Message<?>> getStreamOfMessages(AmqpReceiver receiver, boolean autoAck,
+            int maxDecompressedSize, int prefetch, AtomicReference<AmqpCreditPublisher> publisher) {
+        AmqpCreditPublisher credits = new AmqpCreditPublisher(receiver.getDelegate(), prefetch, autoAck);
+        publisher.set(credits);
+        creditPublishers.add(credits);
+        return Flowable.fromPublisher(credits)
+                .map(m -> received(m, autoAck, maxDecompressedSize))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    /**
+     * Decodes the payload of the received message. The messages whose payload cannot be decoded, or is too large once
+     * decompressed, are rejected and dropped, so the application never receives a message failing on
+     * {@code getPayload}.
+     */
+    private static Optional<AmqpMessage<?>> received(io.vertx.amqp.AmqpMessage delivery, boolean autoAck,
+            int maxDecompressedSize) {
+        AmqpMessage<?> message = new AmqpMessage<>(delivery);
+        try {
+            message.decode(maxDecompressedSize);
+            return Optional.of(message);
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to decode the payload of the AMQP message received from `{}`, dropping it",
+                    delivery.address(), e);
+            if (!autoAck) {
+                delivery.rejected();
+            }
+            return Optional.empty();
+        }
     }
 
     private String getAddressOrFail(Config config) {
@@ -240,15 +284,33 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
         boolean broadcast = config.getOptionalValue("broadcast", Boolean.class).orElse(false);
         boolean durable = config.getOptionalValue("durable", Boolean.class).orElse(true);
         boolean autoAck = config.getOptionalValue("auto-acknowledgement", Boolean.class).orElse(false);
+        int prefetch = config.getOptionalValue("prefetch", Integer.class).orElse(0);
+        int maxDecompressedSize = Compression.getMaxDecompressedSize(config);
+        AmqpReceiverOptions options = new AmqpReceiverOptions()
+                .setAutoAcknowledgement(autoAck)
+                .setDurable(durable);
+        if (prefetch > 0) {
+            // The credit of the link, the Vert.x client grants a new credit for each message it dispatches.
+            options.setMaxBufferedMessages(prefetch);
+        }
         CompletionStage<AmqpReceiver> future = createClient(config)
                 .connect()
-                .thenCompose(connection -> connection.createReceiver(address, new AmqpReceiverOptions()
-                        .setAutoAcknowledgement(autoAck)
-                        .setDurable(durable)));
-
-        PublisherBuilder<? extends Message<?>> builder = ReactiveStreams
-                .fromCompletionStage(future)
-                .flatMapRsPublisher(this::getStreamOfMessages);
+                .thenCompose(connection -> connection.createReceiver(address, options));
+
+        PublisherBuilder<? extends Message<?>> builder;
+        if (prefetch > 0) {
+            AtomicReference<AmqpCreditPublisher> publisher = new AtomicReference<>();
+            builder = ReactiveStreams
+                    .fromCompletionStage(future)
+                    .flatMapRsPublisher(
+                            receiver -> getStreamOfMessages(receiver, autoAck, maxDecompressedSize, prefetch,
+                                    publisher));
+            registerCreditMetrics(config, publisher);
+        } else {
+            builder = ReactiveStreams
+                    .fromCompletionStage(future)
+                    .flatMapRsPublisher(receiver -> getStreamOfMessages(receiver, autoAck, maxDecompressedSize));
+        }
 
         if (broadcast) {
             return ReactiveStreams.fromPublisher(Flowable.fromPublisher(builder.buildRs()).publish().autoConnect());
@@ -257,12 +319,38 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
         return builder;
     }
 
+    private void registerCreditMetrics(Config config, AtomicReference<AmqpCreditPublisher> publisher) {
+        Optional<String> channel = config.getOptionalValue("channel-name", String.class);
+        if (!channel.isPresent() || metricsInstance == null || !metricsInstance.isResolvable()) {
+            return;
+        }
+        MetricDecorator metrics = metricsInstance.get();
+        metrics.registerGauge("mp.messaging.amqp.buffered-messages", channel.get(), () -> {
+            AmqpCreditPublisher p = publisher.get();
+            return p == null ? 0 : p.getBufferedMessages();
+        });
+        metrics.registerGauge("mp.messaging.amqp.fetched-messages", channel.get(), () -> {
+            AmqpCreditPublisher p = publisher.get();
+            return p == null ? 0 : p.getFetchedMessages();
+        });
+    }
+
+    List<AmqpCreditPublisher> getCreditPublishers() {
+        return creditPublishers;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
         String configuredAddress = getAddressOrFail(config);
         boolean durable = config.getOptionalValue("durable", Boolean.class).orElse(true);
         long ttl = config.getOptionalValue("ttl", Long.class).orElse(0L);
+        Compression compression = Compression.create(config).orElse(null);
+        int maxInflightMessages = config.getOptionalValue("max-inflight-messages", Integer.class).orElse(1);
+        if (maxInflightMessages <= 0) {
+            throw new IllegalArgumentException("`max-inflight-messages` must be greater than 0");
+        }
+        OrderedAckWindow window = maxInflightMessages > 1 ? new OrderedAckWindow(maxInflightMessages) : null;
 
         AtomicReference<AmqpSender> sender = new AtomicReference<>();
         AmqpClient client = createClient(config);
@@ -278,7 +366,7 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
                         })
                         .thenCompose(s -> {
                             try {
-                                return send(s, message, durable, ttl, configuredAddress);
+                                return send(s, message, durable, ttl, configuredAddress, compression, window);
                             } catch (Exception e) {
                                 LOGGER.error("Unable to send the message", e);
                                 CompletableFuture<Message> future = new CompletableFuture<>();
@@ -296,7 +384,7 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
                             }
                         });
             } else {
-                return send(as, message, durable, ttl, configuredAddress);
+                return send(as, message, durable, ttl, configuredAddress, compression, window);
             }
         }).ignore();
     }
@@ -310,7 +398,8 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
                 .orElse(configuredAddress);
     }
 
-    private CompletionStage send(AmqpSender sender, Message msg, boolean durable, long ttl, String configuredAddress) {
+    private CompletionStage send(AmqpSender sender, Message msg, boolean durable, long ttl, String configuredAddress,
+            Compression compression, OrderedAckWindow window) {
         io.vertx.axle.amqp.AmqpMessage amqp;
         if (msg instanceof AmqpMessage) {
             amqp = ((AmqpMessage) msg).getAmqpMessage();
@@ -319,7 +408,7 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
         } else if (msg.getPayload() instanceof io.vertx.amqp.AmqpMessage) {
             amqp = new io.vertx.axle.amqp.AmqpMessage((io.vertx.amqp.AmqpMessage) msg.getPayload());
         } else {
-            amqp = convertToAmqpMessage(msg, durable, ttl);
+            amqp = convertToAmqpMessage(msg, durable, ttl, compression);
         }
 
         String actualAddress = getActualAddress(msg, amqp, configuredAddress);
@@ -334,6 +423,10 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
                     new AmqpMessageBuilderImpl(amqp.getDelegate()).address(actualAddress).build());
         }
 
+        if (window != null) {
+            return pipeline(sender, msg, amqp, actualAddress, window);
+        }
+
         LOGGER.debug("Sending AMQP message to address `{}` ",
                 actualAddress);
         return sender.sendWithAck(amqp)
@@ -341,7 +434,43 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
                 .thenApply(x -> msg);
     }
 
-    private io.vertx.axle.amqp.AmqpMessage convertToAmqpMessage(Message<?> message, boolean durable, long ttl) {
+    /**
+     * Sends the message without waiting for the previous deliveries to be settled, as long as the broker grants credit
+     * to the sender link. The returned stage completes once the message has been handed to the sender, and
+     * {@link OrderedAckWindow} holds it while the window of unsettled deliveries is full. As the next message is only
+     * sent after that, the messages are sent in order. A rejected or failed delivery fails the stream.
+     */
+    private CompletionStage<Message<?>> pipeline(AmqpSender sender, Message<?> msg, io.vertx.axle.amqp.AmqpMessage amqp,
+            String actualAddress, OrderedAckWindow window) {
+        return awaitCredit(sender.getDelegate()).thenCompose(x -> window.<Message<?>> send(msg, () -> {
+            LOGGER.debug("Sending AMQP message to address `{}` ", actualAddress);
+            return sender.sendWithAck(amqp)
+                    .whenComplete((v, e) -> {
+                        if (e != null) {
+                            LOGGER.error("Unable to send the AMQP message to address `{}`", actualAddress, e);
+                        }
+                    });
+        }));
+    }
+
+    /**
+     * @return a stage completed once the broker has granted credit to the sender link
+     */
+    private CompletionStage<Void> awaitCredit(io.vertx.amqp.AmqpSender sender) {
+        if (!sender.writeQueueFull()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> credit = new CompletableFuture<>();
+        sender.drainHandler(x -> credit.complete(null));
+        // The credit may have been granted before the handler has been registered.
+        if (!sender.writeQueueFull()) {
+            credit.complete(null);
+        }
+        return credit;
+    }
+
+    private io.vertx.axle.amqp.AmqpMessage convertToAmqpMessage(Message<?> message, boolean durable, long ttl,
+            Compression compression) {
         Object payload = message.getPayload();
         Optional<OutgoingAmqpMetadata> metadata = message.getMetadata(OutgoingAmqpMetadata.class);
         AmqpMessageBuilder builder = io.vertx.axle.amqp.AmqpMessage.create();
@@ -361,6 +490,33 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
             }
         }
 
+        String compressedContentType = compress(builder, payload, compression);
+        if (compressedContentType == null) {
+            setBody(builder, payload);
+        }
+
+        builder.address(metadata.map(OutgoingAmqpMetadata::getAddress).orElse(null));
+        builder.applicationProperties(metadata.map(OutgoingAmqpMetadata::getProperties).orElseGet(JsonObject::new));
+
+        builder.contentEncoding(metadata.map(OutgoingAmqpMetadata::getContentEncoding).orElse(null));
+        builder.contentType(metadata.map(OutgoingAmqpMetadata::getContentType).orElse(null));
+        builder.correlationId(metadata.map(OutgoingAmqpMetadata::getCorrelationId).orElse(null));
+        builder.groupId(metadata.map(OutgoingAmqpMetadata::getGroupId).orElse(null));
+        builder.id(metadata.map(OutgoingAmqpMetadata::getId).orElse(null));
+        int priority = metadata.map(OutgoingAmqpMetadata::getPriority).orElse(-1);
+        if (priority >= 0) {
+            builder.priority((short) priority);
+        }
+        builder.subject(metadata.map(OutgoingAmqpMetadata::getSubject).orElse(null));
+
+        if (compressedContentType != null) {
+            builder.contentEncoding(compression.getEncoding().value());
+            builder.contentType(metadata.map(OutgoingAmqpMetadata::getContentType).orElse(compressedContentType));
+        }
+        return builder.build();
+    }
+
+    private void setBody(AmqpMessageBuilder builder, Object payload) {
         if (payload instanceof String) {
             builder.withBody((String) payload);
         } else if (payload instanceof Boolean) {
@@ -392,21 +548,39 @@ public class AmqpConnector implements IncomingConnectorFactory, OutgoingConnecto
         } else {
             builder.withBody(payload.toString());
         }
+    }
 
-        builder.address(metadata.map(OutgoingAmqpMetadata::getAddress).orElse(null));
-        builder.applicationProperties(metadata.map(OutgoingAmqpMetadata::getProperties).orElseGet(JsonObject::new));
-
-        builder.contentEncoding(metadata.map(OutgoingAmqpMetadata::getContentEncoding).orElse(null));
-        builder.contentType(metadata.map(OutgoingAmqpMetadata::getContentType).orElse(null));
-        builder.correlationId(metadata.map(OutgoingAmqpMetadata::getCorrelationId).orElse(null));
-        builder.groupId(metadata.map(OutgoingAmqpMetadata::getGroupId).orElse(null));
-        builder.id(metadata.map(OutgoingAmqpMetadata::getId).orElse(null));
-        int priority = metadata.map(OutgoingAmqpMetadata::getPriority).orElse(-1);
-        if (priority >= 0) {
-            builder.priority((short) priority);
+    /**
+     * Compresses the textual payloads larger than the compression threshold, and writes them as binary body.
+     *
+     * @return the content type of the compressed payload, {@code null} if the payload has not been compressed
+     */
+    private String compress(AmqpMessageBuilder builder, Object payload, Compression compression) {
+        if (compression == null) {
+            return null;
         }
-        builder.subject(metadata.map(OutgoingAmqpMetadata::getSubject).orElse(null));
-        return builder.build();
+        byte[] bytes;
+        String contentType;
+        if (payload instanceof String) {
+            bytes = ((String) payload).getBytes(StandardCharsets.UTF_8);
+            contentType = "text/plain";
+        } else if (payload instanceof JsonObject) {
+            bytes = ((JsonObject) payload).toBuffer().getBytes();
+            contentType = "application/json";
+        } else if (payload instanceof JsonArray) {
+            bytes = ((JsonArray) payload).toBuffer().getBytes();
+            contentType = "application/json";
+        } else if (payload instanceof Buffer) {
+            bytes = ((Buffer) payload).getBytes();
+            contentType = "application/octet-stream";
+        } else {
+            return null;
+        }
+        if (!compression.shouldCompress(bytes.length)) {
+            return null;
+        }
+        builder.withBufferAsBody(Buffer.buffer(compression.compress(bytes)));
+        return contentType;
     }
 
     @PreDestroy
@@ -0,0 +1,232 @@
+package io.smallrye.reactive.messaging.amqp;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.vertx.amqp.AmqpMessage;
+import io.vertx.amqp.AmqpReceiver;
+
+/**
+ * Publishes the messages of a receiver, fetching them from the receiver from the downstream demand.
+ * <p>
+ * The receiver link is opened with {@code prefetch} credits, and the Vert.x client grants a new credit to the link each
+ * time it dispatches a message to the publisher, so the messages received from the broker and not dispatched yet are
+ * buffered by the receiver, at most {@code prefetch} of them. The publisher only fetches from the receiver the messages
+ * requested by the downstream, at most {@code prefetch} at a time: it does not read ahead, so the messages received
+ * ahead of the demand are bound by the link credit. The Vert.x client does not expose the link, so a flow frame is
+ * still sent to the broker for each dispatched message.
+ * <p>
+ * A single subscriber at a time is supported. Once the subscription is terminated, a new subscriber can subscribe (to
+ * retry). The messages received and not dispatched when the subscription is terminated are released, so the broker
+ * can redeliver them without waiting for the link to be closed. With the auto-acknowledgement, they have already been
+ * accepted, and are lost.
+ */
+class AmqpCreditPublisher implements Publisher<AmqpMessage> {
+
+    private final AmqpReceiver receiver;
+    private final int prefetch;
+    private final boolean autoAck;
+
+    private final Queue<AmqpMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    // The messages fetched from the receiver and not received yet.
+    private final AtomicInteger fetched = new AtomicInteger();
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Subscriber<? super AmqpMessage> downstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable failure;
+
+    /**
+     * @param receiver the receiver, its link must have been opened with {@code prefetch} credits
+     * @param prefetch the maximum number of messages fetched from the receiver at a time, must be positive
+     * @param autoAck whether the receiver accepts the messages on reception
+     */
+    AmqpCreditPublisher(AmqpReceiver receiver, int prefetch, boolean autoAck) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("`prefetch` must be greater than 0");
+        }
+        this.receiver = receiver;
+        this.prefetch = prefetch;
+        this.autoAck = autoAck;
+    }
+
+    @Override
+    public synchronized void subscribe(Subscriber<? super AmqpMessage> subscriber) {
+        if (downstream != null) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored
+                }
+            });
+            subscriber.onError(new IllegalStateException("The AMQP receiver already has a subscriber"));
+            return;
+        }
+        // Received after the termination of the previous subscription
+        releaseAll();
+        requested.set(0);
+        wip.set(0);
+        cancelled = false;
+        done = false;
+        failure = null;
+        downstream = subscriber;
+
+        // Registered before the subscriber can request messages, nothing is fetched until then. The messages fetched
+        // by a previous subscriber are still delivered.
+        receiver.pause();
+        receiver.exceptionHandler(t -> {
+            failure = t;
+            done = true;
+            drain();
+        });
+        receiver.endHandler(v -> {
+            done = true;
+            drain();
+        });
+        receiver.handler(this::onMessage);
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Invalid request: " + n + ", must be greater than 0");
+                    done = true;
+                } else {
+                    requested.accumulateAndGet(n, (current, r) -> current + r < 0 ? Long.MAX_VALUE : current + r);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+    }
+
+    private void onMessage(AmqpMessage message) {
+        if (cancelled || done) {
+            fetched.decrementAndGet();
+            release(message);
+            return;
+        }
+        // Buffered before being removed from the fetched messages, so the demand is never overestimated.
+        queue.offer(message);
+        buffered.incrementAndGet();
+        fetched.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Subscriber<? super AmqpMessage> subscriber = downstream;
+            if (subscriber != null && !emit(subscriber)) {
+                // Terminated, the next subscriber resets the state.
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the subscription has been terminated
+     */
+    private boolean emit(Subscriber<? super AmqpMessage> subscriber) {
+        long r = requested.get();
+        long emitted = 0;
+        while (true) {
+            if (cancelled) {
+                terminate();
+                return false;
+            }
+            if (failure != null) {
+                terminate();
+                subscriber.onError(failure);
+                return false;
+            }
+            AmqpMessage message = emitted == r ? null : queue.poll();
+            if (message == null) {
+                if (done && queue.isEmpty()) {
+                    terminate();
+                    subscriber.onComplete();
+                    return false;
+                }
+                break;
+            }
+            buffered.decrementAndGet();
+            subscriber.onNext(message);
+            emitted++;
+        }
+        if (emitted != 0 && r != Long.MAX_VALUE) {
+            requested.addAndGet(-emitted);
+        }
+        fetchIfNeeded();
+        return true;
+    }
+
+    // Only called from the drain loop, so the receiver is never fetched concurrently.
+    private void fetchIfNeeded() {
+        long missing = Math.min(requested.get(), prefetch) - buffered.get() - fetched.get();
+        if (missing > 0) {
+            fetched.addAndGet((int) missing);
+            receiver.fetch(missing);
+        }
+    }
+
+    private void terminate() {
+        releaseAll();
+        synchronized (this) {
+            downstream = null;
+        }
+    }
+
+    private void releaseAll() {
+        AmqpMessage message;
+        while ((message = queue.poll()) != null) {
+            release(message);
+        }
+        buffered.set(0);
+    }
+
+    private void release(AmqpMessage message) {
+        if (!autoAck) {
+            message.released();
+        }
+    }
+
+    /**
+     * @return the number of messages received from the receiver and not dispatched to the downstream yet
+     */
+    int getBufferedMessages() {
+        return buffered.get();
+    }
+
+    /**
+     * @return the number of messages fetched from the receiver and not received yet, this is not the link credit
+     */
+    int getFetchedMessages() {
+        return Math.max(0, fetched.get());
+    }
+}
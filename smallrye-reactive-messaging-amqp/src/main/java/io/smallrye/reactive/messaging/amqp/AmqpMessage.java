@@ -1,6 +1,8 @@
 package io.smallrye.reactive.messaging.amqp;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -10,6 +12,8 @@ import org.apache.qpid.proton.message.Message;
 import org.apache.qpid.proton.message.MessageError;
 import org.eclipse.microprofile.reactive.messaging.Metadata;
 
+import io.smallrye.reactive.messaging.compression.Compression;
+import io.smallrye.reactive.messaging.compression.ContentEncoding;
 import io.vertx.axle.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 
@@ -18,6 +22,9 @@ public class AmqpMessage<T> implements org.eclipse.microprofile.reactive.messagi
     protected final io.vertx.amqp.AmqpMessage message;
     protected final Metadata metadata;
     protected final IncomingAmqpMetadata amqpMetadata;
+    // The converted (and decompressed) body, computed once. Written before the flag, so the flag publishes it.
+    private volatile Object payload;
+    private volatile boolean decoded;
 
     public static <T> AmqpMessageBuilder<T> builder() {
         return new AmqpMessageBuilder<>();
@@ -89,7 +96,28 @@ public class AmqpMessage<T> implements org.eclipse.microprofile.reactive.messagi
 
     @Override
     public T getPayload() {
-        return (T) convert(message);
+        return (T) decode();
+    }
+
+    Object decode() {
+        return decode(Compression.DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * Converts the body, decompressing it if needed, the first time it is called. The connector calls it when the
+     * message is received, so the invalid payloads are reported once, before the message is dispatched.
+     *
+     * @param maxDecompressedSize the maximum size in bytes of a decompressed body
+     * @return the payload
+     * @throws IllegalArgumentException if the body cannot be decompressed, or exceeds the maximum size once
+     *         decompressed
+     */
+    Object decode(int maxDecompressedSize) {
+        if (!decoded) {
+            payload = convert(message, maxDecompressedSize);
+            decoded = true;
+        }
+        return payload;
     }
 
     @Override
@@ -97,8 +125,19 @@ public class AmqpMessage<T> implements org.eclipse.microprofile.reactive.messagi
         return metadata;
     }
 
-    private Object convert(io.vertx.amqp.AmqpMessage msg) {
+    private Object convert(io.vertx.amqp.AmqpMessage msg, int maxDecompressedSize) {
         Object body = msg.unwrap().getBody();
+        Optional<ContentEncoding> encoding = ContentEncoding.from(msg.contentEncoding());
+        if (encoding.isPresent()) {
+            Binary bin = getBinary(body);
+            if (bin != null) {
+                byte[] bytes = new byte[bin.getLength()];
+                System.arraycopy(bin.getArray(), bin.getArrayOffset(), bytes, 0, bin.getLength());
+                return convertDecompressed(Compression.decompress(bytes, encoding.get(), maxDecompressedSize),
+                        msg.contentType());
+            }
+        }
+
         if (body instanceof AmqpValue) {
             Object value = ((AmqpValue) body).getValue();
             if (value instanceof Binary) {
@@ -129,6 +168,26 @@ public class AmqpMessage<T> implements org.eclipse.microprofile.reactive.messagi
         return body;
     }
 
+    private static Binary getBinary(Object body) {
+        if (body instanceof Data) {
+            return ((Data) body).getValue();
+        }
+        if (body instanceof AmqpValue && ((AmqpValue) body).getValue() instanceof Binary) {
+            return (Binary) ((AmqpValue) body).getValue();
+        }
+        return null;
+    }
+
+    private static Object convertDecompressed(byte[] bytes, String contentType) {
+        if ("application/json".equalsIgnoreCase(contentType)) {
+            return Buffer.buffer(bytes).toJson();
+        }
+        if (contentType != null && contentType.toLowerCase().startsWith("text/")) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
     public Message unwrap() {
         return message.unwrap();
     }
@@ -2,13 +2,20 @@ package io.smallrye.reactive.messaging.amqp;
 
 import static io.vertx.proton.ProtonHelper.message;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Footer;
 import org.apache.qpid.proton.message.Message;
 import org.junit.Test;
@@ -109,4 +116,31 @@ public class AmqpMessageTest {
         assertThat(AmqpMessage.<Long> builder().withLongAsBody(23L).build().getPayload()).isEqualTo(23L);
     }
 
+    @Test
+    public void testThatCompressedPayloadsAreDecompressedOnce() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write("hello".getBytes(StandardCharsets.UTF_8));
+        }
+        Message message = message();
+        message.setContentType("text/plain");
+        message.setContentEncoding("gzip");
+        message.setBody(new Data(new Binary(bytes.toByteArray())));
+
+        AmqpMessage<String> msg = new AmqpMessage<>(new AmqpMessageImpl(message));
+        assertThat(msg.getPayload()).isEqualTo("hello");
+        assertThat(msg.getPayload()).isSameAs(msg.getPayload());
+    }
+
+    @Test
+    public void testThatCorruptedPayloadsAreReportedWhenDecoded() {
+        Message message = message();
+        message.setContentType("text/plain");
+        message.setContentEncoding("gzip");
+        message.setBody(new Data(new Binary("not compressed".getBytes(StandardCharsets.UTF_8))));
+
+        AmqpMessage<String> msg = new AmqpMessage<>(new AmqpMessageImpl(message));
+        assertThatThrownBy(msg::decode).isInstanceOf(IllegalArgumentException.class);
+    }
+
 }
@@ -5,6 +5,7 @@ import static org.awaitility.Awaitility.await;
 import static org.hamcrest.core.Is.is;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -60,6 +61,39 @@ public class AmqpSinkTest extends AmqpTestBase {
         assertThat(expected).hasValue(10);
     }
 
+    @Test
+    public void testSinkWithUnsettledDeliveries() {
+        String topic = UUID.randomUUID().toString();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        usage.consumeIntegers(topic, received::add);
+
+        Map<String, Object> config = new HashMap<>();
+        config.put("address", topic);
+        config.put("name", "the name");
+        config.put("host", address);
+        config.put("durable", false);
+        config.put("port", port);
+        config.put("username", "artemis");
+        config.put("password", new String("simetraehcapa".getBytes()));
+        config.put("max-inflight-messages", 16);
+        this.provider = new AmqpConnector();
+        provider.init();
+        SubscriberBuilder<? extends Message, Void> sink = provider.getSubscriberBuilder(new MapBasedConfig(config));
+
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        //noinspection unchecked
+        Flowable.range(0, 100)
+                .map(v -> (Message) Message.of(v, () -> {
+                    acked.add(v);
+                    return CompletableFuture.completedFuture(null);
+                }))
+                .subscribe((Subscriber) sink.build());
+
+        await().until(() -> received.size() == 100 && acked.size() == 100);
+        assertThat(received).containsExactlyElementsOf(acked);
+        assertThat(acked).isSorted();
+    }
+
     @Test
     public void testSinkUsingString() {
         String topic = UUID.randomUUID().toString();
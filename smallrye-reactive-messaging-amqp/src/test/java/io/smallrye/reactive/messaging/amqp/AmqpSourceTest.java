@@ -26,6 +26,8 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.slf4j.LoggerFactory;
 
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
 import io.smallrye.reactive.messaging.extension.MediatorManager;
 import io.vertx.axle.amqp.AmqpMessage;
 import io.vertx.axle.core.buffer.Buffer;
@@ -112,6 +114,47 @@ public class AmqpSourceTest extends AmqpTestBase {
                         .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
     }
 
+    @Test
+    public void testSourceWithPrefetch() {
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = getConfig(topic);
+        config.put("prefetch", 4);
+
+        provider = new AmqpConnector();
+        provider.init();
+        PublisherBuilder<? extends Message> builder = provider.getPublisherBuilder(new MapBasedConfig(config));
+
+        TestSubscriber<Message> subscriber = new TestSubscriber<>(3);
+        //noinspection unchecked
+        Flowable.fromPublisher((Publisher<Message>) builder.buildRs()).subscribe(subscriber);
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produce(topic, 20, counter::getAndIncrement)).start();
+
+        await().atMost(2, TimeUnit.MINUTES).until(() -> subscriber.valueCount() == 3);
+        await().pollDelay(1, TimeUnit.SECONDS).until(() -> true);
+        assertThat(subscriber.valueCount()).isEqualTo(3);
+        // Nothing is fetched ahead of the demand, the other messages stay in the receiver and on the broker.
+        assertThat(provider.getCreditPublishers()).hasSize(1);
+        AmqpCreditPublisher publisher = provider.getCreditPublishers().get(0);
+        assertThat(publisher.getBufferedMessages()).isEqualTo(0);
+        assertThat(publisher.getFetchedMessages()).isEqualTo(0);
+
+        subscriber.request(17);
+        await().atMost(2, TimeUnit.MINUTES).until(() -> {
+            // At most `prefetch` messages are fetched at a time, even if more are requested.
+            assertThat(publisher.getBufferedMessages()).isLessThanOrEqualTo(4);
+            assertThat(publisher.getFetchedMessages()).isLessThanOrEqualTo(4);
+            return subscriber.valueCount() == 20;
+        });
+        assertThat(publisher.getFetchedMessages()).isEqualTo(0);
+        assertThat(subscriber.values().stream()
+                .peek(m -> m.ack().toCompletableFuture().join())
+                .map(Message::getPayload)
+                .collect(Collectors.toList()))
+                        .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+    }
+
     @NotNull
     private <T> Subscriber<T> createSubscriber(List<T> messages, AtomicBoolean opened) {
         //noinspection SubscriberImplementation - Seriously IntelliJ ????
@@ -0,0 +1,27 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+/**
+ * The acknowledgement strategies benchmarked for the incoming side of each connector.
+ */
+public enum AckStrategy {
+
+    /**
+     * The received messages are acknowledged before being processed.
+     */
+    PRE_PROCESSING(PreProcessingReceiver.class),
+
+    /**
+     * The received messages are acknowledged once they have reached the final sink.
+     */
+    POST_PROCESSING(PostProcessingReceiver.class);
+
+    private final Class<?> receiver;
+
+    AckStrategy(Class<?> receiver) {
+        this.receiver = receiver;
+    }
+
+    Class<?> getReceiver() {
+        return receiver;
+    }
+}
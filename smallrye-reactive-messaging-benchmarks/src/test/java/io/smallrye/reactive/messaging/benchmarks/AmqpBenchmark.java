@@ -0,0 +1,67 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import io.smallrye.reactive.messaging.amqp.AmqpConnector;
+
+/**
+ * Benchmarks the AMQP connector against an embedded Artemis broker.
+ */
+public class AmqpBenchmark extends ConnectorBenchmark {
+
+    private static final ArtemisHolder artemis = new ArtemisHolder();
+
+    @BeforeClass
+    public static void startArtemis() {
+        artemis.start();
+    }
+
+    @AfterClass
+    public static void stopArtemis() {
+        artemis.stop();
+    }
+
+    @Override
+    protected String name() {
+        return "amqp";
+    }
+
+    @Override
+    protected Map<String, Object> outgoing(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-amqp");
+        conf.put("host", "localhost");
+        conf.put("port", 5672);
+        conf.put("address", destination);
+        conf.put("durable", false);
+        return conf;
+    }
+
+    @Override
+    protected Map<String, Object> incoming(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-amqp");
+        conf.put("host", "localhost");
+        conf.put("port", 5672);
+        conf.put("address", destination);
+        conf.put("durable", false);
+        return conf;
+    }
+
+    @Override
+    protected List<Class<?>> beans() {
+        return Collections.singletonList(AmqpConnector.class);
+    }
+
+    @Override
+    protected PayloadFormat format() {
+        // byte[] payloads are not sent as binary by the AMQP connector
+        return PayloadFormat.BUFFER;
+    }
+}
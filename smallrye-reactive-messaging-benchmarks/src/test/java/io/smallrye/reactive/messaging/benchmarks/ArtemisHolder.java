@@ -0,0 +1,32 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.nio.file.Paths;
+
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Embedded Artemis broker, configured by {@code broker.xml}, accepting Core (JMS) and AMQP connections.
+ */
+class ArtemisHolder {
+
+    private EmbeddedActiveMQ embedded;
+
+    void start() {
+        try {
+            FileUtils.deleteDirectory(Paths.get("./target/artemis").toFile());
+            embedded = new EmbeddedActiveMQ();
+            embedded.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start embedded ActiveMQ server", e);
+        }
+    }
+
+    void stop() {
+        try {
+            embedded.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not stop embedded ActiveMQ server", e);
+        }
+    }
+}
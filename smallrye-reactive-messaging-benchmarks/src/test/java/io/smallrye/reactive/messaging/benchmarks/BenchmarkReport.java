@@ -0,0 +1,67 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Appends the benchmark results to a Markdown report, for humans, and to a CSV file, to compare releases.
+ * <p>
+ * The files are created with their header by the first result, so running several benchmark classes in the same build
+ * produces a single report.
+ */
+final class BenchmarkReport {
+
+    private static final String CSV_HEADER = "version,connector,payload_size,ack_strategy,sent,received,"
+            + "throughput_msg_s,throughput_mb_s,p50_us,p99_us,p999_us,max_us";
+
+    private BenchmarkReport() {
+        // Avoid direct instantiation
+    }
+
+    static synchronized void append(BenchmarkResult result) {
+        Path directory = BenchmarkSettings.report();
+        try {
+            Files.createDirectories(directory);
+            Path markdown = directory.resolve("report.md");
+            if (!Files.exists(markdown)) {
+                write(markdown, String.format("# SmallRye Reactive Messaging %s - connector benchmarks%n%n"
+                        + "Java %s (%s), %s %s, %d processors, %d messages per run (%d warm-up)%n%n"
+                        + "| Connector | Payload (bytes) | Acknowledgement | Received | msg/s | MB/s "
+                        + "| p50 (us) | p99 (us) | p99.9 (us) | max (us) |%n"
+                        + "|---|---:|---|---:|---:|---:|---:|---:|---:|---:|%n",
+                        BenchmarkSettings.version(), System.getProperty("java.version"),
+                        System.getProperty("java.vm.name"), System.getProperty("os.name"),
+                        System.getProperty("os.arch"), Runtime.getRuntime().availableProcessors(),
+                        BenchmarkSettings.messages(), BenchmarkSettings.warmup()));
+            }
+            write(markdown, String.format(Locale.ROOT,
+                    "| %s | %d | %s | %d/%d | %.0f | %.1f | %.0f | %.0f | %.0f | %.0f |%n",
+                    result.connector, result.payloadSize, result.strategy, result.received, result.sent,
+                    result.throughput, result.megabytesPerSecond(), BenchmarkResult.micros(result.p50),
+                    BenchmarkResult.micros(result.p99), BenchmarkResult.micros(result.p999),
+                    BenchmarkResult.micros(result.max)));
+
+            Path csv = directory.resolve("report.csv");
+            if (!Files.exists(csv)) {
+                write(csv, CSV_HEADER + System.lineSeparator());
+            }
+            write(csv, String.format(Locale.ROOT, "%s,%s,%d,%s,%d,%d,%.0f,%.2f,%.1f,%.1f,%.1f,%.1f%n",
+                    BenchmarkSettings.version(), result.connector, result.payloadSize, result.strategy, result.sent,
+                    result.received, result.throughput, result.megabytesPerSecond(),
+                    BenchmarkResult.micros(result.p50), BenchmarkResult.micros(result.p99),
+                    BenchmarkResult.micros(result.p999), BenchmarkResult.micros(result.max)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write the benchmark report in " + directory, e);
+        }
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+}
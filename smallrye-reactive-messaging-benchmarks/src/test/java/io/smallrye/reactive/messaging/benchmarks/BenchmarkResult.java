@@ -0,0 +1,51 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import io.smallrye.reactive.messaging.loadgen.LatencyHistogram;
+import io.smallrye.reactive.messaging.loadgen.NullSinkStatistics;
+
+/**
+ * The measures of a benchmark run.
+ */
+class BenchmarkResult {
+
+    final String connector;
+    final int payloadSize;
+    final AckStrategy strategy;
+    final long sent;
+    final long received;
+    final double throughput;
+    final long p50;
+    final long p99;
+    final long p999;
+    final long max;
+
+    BenchmarkResult(String connector, int payloadSize, AckStrategy strategy, long sent, NullSinkStatistics statistics) {
+        this.connector = connector;
+        this.payloadSize = payloadSize;
+        this.strategy = strategy;
+        this.sent = sent;
+        this.received = statistics.getCount();
+        this.throughput = statistics.getThroughput();
+        LatencyHistogram latency = statistics.getLatency();
+        this.p50 = latency.getValueAtPercentile(50);
+        this.p99 = latency.getValueAtPercentile(99);
+        this.p999 = latency.getValueAtPercentile(99.9);
+        this.max = latency.getMax();
+    }
+
+    double megabytesPerSecond() {
+        return throughput * payloadSize / (1024 * 1024);
+    }
+
+    static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %d bytes, %s: %d/%d messages, %.0f msg/s, p50=%.0fus, p99=%.0fus, p99.9=%.0fus",
+                connector, payloadSize, strategy, received, sent, throughput, micros(p50), micros(p99), micros(p999));
+    }
+}
@@ -0,0 +1,143 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.reactive.messaging.spi.ConnectorLiteral;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.config.SmallRyeConfigProviderResolver;
+import io.smallrye.config.inject.ConfigExtension;
+import io.smallrye.reactive.messaging.MediatorFactory;
+import io.smallrye.reactive.messaging.extension.ChannelProducer;
+import io.smallrye.reactive.messaging.extension.MediatorManager;
+import io.smallrye.reactive.messaging.extension.ReactiveMessagingExtension;
+import io.smallrye.reactive.messaging.impl.ConfiguredChannelFactory;
+import io.smallrye.reactive.messaging.impl.InternalChannelRegistry;
+import io.smallrye.reactive.messaging.loadgen.LoadGeneratorConnector;
+import io.smallrye.reactive.messaging.loadgen.NullConnector;
+import io.smallrye.reactive.messaging.loadgen.NullSinkStatistics;
+
+/**
+ * Runs a benchmark: deploys an application generating messages, sending them to the benchmarked connector, receiving
+ * them from this connector, and discarding them, then waits until all the messages have been received.
+ * <p>
+ * The pipeline is:
+ * {@code smallrye-loadgen -> Stamper -> connector sink -> broker -> connector source -> receiver -> smallrye-null}.
+ */
+class BenchmarkRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    static final String GENERATOR = "generator";
+    static final String TO_BROKER = "to-broker";
+    static final String FROM_BROKER = "from-broker";
+    static final String RESULTS = "results";
+    static final String PAYLOAD_FORMAT = "benchmark.payload-format";
+
+    /**
+     * Time given to the connectors to connect before sending the first message.
+     */
+    private static final long START_DELAY = 1000;
+
+    /**
+     * A run is stopped if no message has been received for this duration.
+     */
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private static final String CONFIG_FILE = "target/test-classes/META-INF/microprofile-config.properties";
+
+    private final ConnectorBenchmark benchmark;
+
+    BenchmarkRunner(ConnectorBenchmark benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    BenchmarkResult run(String destination, int payloadSize, AckStrategy strategy, long count) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("mp.messaging.incoming." + GENERATOR + ".connector", LoadGeneratorConnector.CONNECTOR_NAME);
+        conf.put("mp.messaging.incoming." + GENERATOR + ".payload-size", payloadSize);
+        conf.put("mp.messaging.incoming." + GENERATOR + ".count", count);
+        conf.put("mp.messaging.incoming." + GENERATOR + ".start-delay", START_DELAY);
+        conf.put("mp.messaging.outgoing." + RESULTS + ".connector", NullConnector.CONNECTOR_NAME);
+        benchmark.outgoing(destination).forEach((k, v) -> conf.put("mp.messaging.outgoing." + TO_BROKER + "." + k, v));
+        benchmark.incoming(destination).forEach((k, v) -> conf.put("mp.messaging.incoming." + FROM_BROKER + "." + k, v));
+        conf.put(PAYLOAD_FORMAT, benchmark.format().name());
+        installConfig(new MapBasedConfig(conf));
+
+        SeContainer container = initialize(strategy, benchmark.beans());
+        try {
+            NullSinkStatistics statistics = container.getBeanManager().createInstance()
+                    .select(NullConnector.class, ConnectorLiteral.of(NullConnector.CONNECTOR_NAME)).get()
+                    .statistics(RESULTS);
+            await(statistics, count);
+            BenchmarkResult result = new BenchmarkResult(benchmark.name(), payloadSize, strategy, count, statistics);
+            LOGGER.info("{}", result);
+            return result;
+        } finally {
+            container.close();
+            releaseConfig();
+        }
+    }
+
+    private static SeContainer initialize(AckStrategy strategy, List<Class<?>> beans) {
+        SeContainerInitializer initializer = SeContainerInitializer.newInstance();
+        initializer.addBeanClasses(MediatorFactory.class,
+                MediatorManager.class,
+                InternalChannelRegistry.class,
+                ChannelProducer.class,
+                ConfiguredChannelFactory.class,
+                LoadGeneratorConnector.class,
+                NullConnector.class,
+                Stamper.class,
+                strategy.getReceiver());
+        initializer.addBeanClasses(beans.toArray(new Class<?>[0]));
+        initializer.addExtensions(new ReactiveMessagingExtension(), new ConfigExtension());
+        initializer.disableDiscovery();
+        return initializer.initialize();
+    }
+
+    private static void await(NullSinkStatistics statistics, long count) {
+        long lastCount = -1;
+        long lastProgress = System.currentTimeMillis();
+        while (statistics.getCount() < count) {
+            long current = statistics.getCount();
+            long now = System.currentTimeMillis();
+            if (current != lastCount) {
+                lastCount = current;
+                lastProgress = now;
+            } else if (now - lastProgress > IDLE_TIMEOUT) {
+                LOGGER.warn("No message received for {} ms, {} messages missing", IDLE_TIMEOUT, count - current);
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static void installConfig(MapBasedConfig config) {
+        releaseConfig();
+        config.write();
+    }
+
+    private static void releaseConfig() {
+        SmallRyeConfigProviderResolver.instance()
+                .releaseConfig(ConfigProvider.getConfig(BenchmarkRunner.class.getClassLoader()));
+        File out = new File(CONFIG_FILE);
+        if (out.isFile()) {
+            out.delete();
+        }
+    }
+}
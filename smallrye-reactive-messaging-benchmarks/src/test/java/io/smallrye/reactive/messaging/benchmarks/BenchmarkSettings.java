@@ -0,0 +1,45 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The benchmark parameters, read from system properties so they can be set from the Maven command line.
+ */
+final class BenchmarkSettings {
+
+    private BenchmarkSettings() {
+        // Avoid direct instantiation
+    }
+
+    static String version() {
+        return System.getProperty("benchmark.version", "unknown");
+    }
+
+    static long messages() {
+        return Long.getLong("benchmark.messages", 100_000L);
+    }
+
+    static long warmup() {
+        return Long.getLong("benchmark.warmup", 10_000L);
+    }
+
+    static List<Integer> payloadSizes() {
+        return Arrays.stream(System.getProperty("benchmark.payload-sizes", "128,1024,16384").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .peek(size -> {
+                    if (size < Payloads.HEADER_SIZE) {
+                        throw new IllegalArgumentException("The payload size must be at least " + Payloads.HEADER_SIZE);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    static Path report() {
+        return Paths.get(System.getProperty("benchmark.report", "target/benchmark-report"));
+    }
+}
@@ -0,0 +1,17 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.jms.ConnectionFactory;
+
+import org.apache.activemq.artemis.jms.client.ActiveMQJMSConnectionFactory;
+
+@ApplicationScoped
+public class ConnectionFactoryBean {
+
+    @Produces
+    ConnectionFactory factory() {
+        return new ActiveMQJMSConnectionFactory("tcp://localhost:61616", null, null);
+    }
+
+}
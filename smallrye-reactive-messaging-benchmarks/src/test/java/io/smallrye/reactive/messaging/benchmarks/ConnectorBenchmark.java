@@ -0,0 +1,67 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Base class of the connector benchmarks. For each payload size and acknowledgement strategy, a warm-up run is
+ * followed by a measured run, whose result is appended to the report.
+ * <p>
+ * The subclasses start the broker, and provide the connector configuration. Each run uses its own destination, so the
+ * runs do not receive the messages left by the previous ones.
+ */
+public abstract class ConnectorBenchmark {
+
+    /**
+     * @return the name of the benchmarked connector, as displayed in the report
+     */
+    protected abstract String name();
+
+    /**
+     * @param destination the name of the topic, queue or address to use
+     * @return the attributes of the outgoing channel, sending the messages to the broker
+     */
+    protected abstract Map<String, Object> outgoing(String destination);
+
+    /**
+     * @param destination the name of the topic, queue or address to use
+     * @return the attributes of the incoming channel, receiving the messages from the broker
+     */
+    protected abstract Map<String, Object> incoming(String destination);
+
+    /**
+     * @return the connector class and the additional beans required by the connector
+     */
+    protected abstract List<Class<?>> beans();
+
+    /**
+     * @return the type of payload sent to the connector
+     */
+    protected PayloadFormat format() {
+        return PayloadFormat.BYTES;
+    }
+
+    @Test
+    public void benchmark() {
+        BenchmarkRunner runner = new BenchmarkRunner(this);
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int size : BenchmarkSettings.payloadSizes()) {
+            for (AckStrategy strategy : AckStrategy.values()) {
+                String destination = String.format("%s-%d-%s", name(), size, strategy).toLowerCase(Locale.ROOT);
+                if (BenchmarkSettings.warmup() > 0) {
+                    runner.run(destination + "-warmup", size, strategy, BenchmarkSettings.warmup());
+                }
+                BenchmarkResult result = runner.run(destination, size, strategy, BenchmarkSettings.messages());
+                BenchmarkReport.append(result);
+                results.add(result);
+            }
+        }
+        assertThat(results).allSatisfy(result -> assertThat(result.received).isEqualTo(result.sent));
+    }
+}
@@ -0,0 +1,43 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.smallrye.reactive.messaging.http.HttpConnector;
+
+/**
+ * Benchmarks the HTTP connector, posting the messages to the Vert.x HTTP server of the incoming channel.
+ */
+public class HttpBenchmark extends ConnectorBenchmark {
+
+    private static final int PORT = 8089;
+
+    @Override
+    protected String name() {
+        return "http";
+    }
+
+    @Override
+    protected Map<String, Object> outgoing(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", HttpConnector.CONNECTOR_NAME);
+        conf.put("url", "http://localhost:" + PORT + "/" + destination);
+        return conf;
+    }
+
+    @Override
+    protected Map<String, Object> incoming(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", HttpConnector.CONNECTOR_NAME);
+        conf.put("host", "localhost");
+        conf.put("port", PORT);
+        return conf;
+    }
+
+    @Override
+    protected List<Class<?>> beans() {
+        return Collections.singletonList(HttpConnector.class);
+    }
+}
@@ -0,0 +1,55 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import io.smallrye.reactive.messaging.jms.JmsConnector;
+
+/**
+ * Benchmarks the JMS connector against an embedded Artemis broker.
+ */
+public class JmsBenchmark extends ConnectorBenchmark {
+
+    private static final ArtemisHolder artemis = new ArtemisHolder();
+
+    @BeforeClass
+    public static void startArtemis() {
+        artemis.start();
+    }
+
+    @AfterClass
+    public static void stopArtemis() {
+        artemis.stop();
+    }
+
+    @Override
+    protected String name() {
+        return "jms";
+    }
+
+    @Override
+    protected Map<String, Object> outgoing(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-jms");
+        conf.put("destination", destination);
+        return conf;
+    }
+
+    @Override
+    protected Map<String, Object> incoming(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-jms");
+        conf.put("destination", destination);
+        return conf;
+    }
+
+    @Override
+    protected List<Class<?>> beans() {
+        return Arrays.asList(JmsConnector.class, ConnectionFactoryBean.class);
+    }
+}
@@ -0,0 +1,86 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import io.debezium.kafka.KafkaCluster;
+import io.debezium.util.Testing;
+import io.smallrye.reactive.messaging.kafka.KafkaConnector;
+
+/**
+ * Benchmarks the Kafka connector against an embedded single-broker cluster.
+ */
+public class KafkaBenchmark extends ConnectorBenchmark {
+
+    private static final String SERVERS = "localhost:9092";
+
+    private static KafkaCluster kafka;
+
+    @BeforeClass
+    public static void startKafkaBroker() throws IOException {
+        Properties props = new Properties();
+        props.setProperty("zookeeper.connection.timeout.ms", "10000");
+        File directory = Testing.Files.createTestingDirectory(System.getProperty("java.io.tmpdir"), true);
+        kafka = new KafkaCluster().withPorts(2182, 9092).addBrokers(1)
+                .usingDirectory(directory)
+                .deleteDataUponShutdown(true)
+                .withKafkaConfiguration(props)
+                .deleteDataPriorToStartup(true)
+                .startup();
+    }
+
+    @AfterClass
+    public static void stopKafkaBroker() {
+        try {
+            kafka.shutdown();
+        } catch (Exception e) {
+            // Ignore it.
+        }
+    }
+
+    @Override
+    protected String name() {
+        return "kafka";
+    }
+
+    @Override
+    protected Map<String, Object> outgoing(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-kafka");
+        conf.put("bootstrap.servers", SERVERS);
+        conf.put("topic", destination);
+        conf.put("key.serializer", StringSerializer.class.getName());
+        conf.put("value.serializer", ByteArraySerializer.class.getName());
+        return conf;
+    }
+
+    @Override
+    protected Map<String, Object> incoming(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-kafka");
+        conf.put("bootstrap.servers", SERVERS);
+        conf.put("topic", destination);
+        conf.put("group.id", destination);
+        conf.put("auto.offset.reset", "earliest");
+        conf.put("key.deserializer", StringDeserializer.class.getName());
+        conf.put("value.deserializer", ByteArrayDeserializer.class.getName());
+        return conf;
+    }
+
+    @Override
+    protected List<Class<?>> beans() {
+        return Collections.singletonList(KafkaConnector.class);
+    }
+}
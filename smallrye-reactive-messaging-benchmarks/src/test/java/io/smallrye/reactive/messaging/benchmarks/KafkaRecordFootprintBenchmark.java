@@ -0,0 +1,139 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaCommitHandler;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaLatestCommit;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Measures the heap retained by the {@link IncomingKafkaRecord} wrapping each received record, on top of the consumer
+ * record itself, compared to the previous wrapper copying the metadata and the headers eagerly. The records are kept in
+ * an array, as if they were in flight, and the used heap is compared after a full GC.
+ */
+public class KafkaRecordFootprintBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaRecordFootprintBenchmark.class);
+    private static final int RECORDS = 200_000;
+
+    @Test
+    public void benchmark() {
+        KafkaConsumerRecord<String, byte[]>[] records = records();
+        KafkaLatestCommit commit = new KafkaLatestCommit(null);
+
+        long eager = retained(records, r -> new EagerIncomingKafkaRecord<>(r, commit));
+        long wrapped = retained(records, r -> new IncomingKafkaRecord<>(r, commit));
+        long withMetadata = retained(records, r -> {
+            IncomingKafkaRecord<String, byte[]> message = new IncomingKafkaRecord<>(r, commit);
+            message.getMetadata();
+            return message;
+        });
+
+        LOGGER.info("Heap retained per in-flight record: {} bytes with the eager copy, {} bytes with the lazy wrapper, "
+                + "{} bytes once the metadata are requested", eager, wrapped, withMetadata);
+        assertThat(wrapped).isLessThan(eager);
+        assertThat(wrapped).isLessThanOrEqualTo(withMetadata);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KafkaConsumerRecord<String, byte[]>[] records() {
+        KafkaConsumerRecord<String, byte[]>[] records = new KafkaConsumerRecord[RECORDS];
+        byte[] payload = new byte[100];
+        for (int i = 0; i < RECORDS; i++) {
+            RecordHeaders headers = new RecordHeaders();
+            headers.add(new RecordHeader("trace-id", ("trace-" + i).getBytes(StandardCharsets.UTF_8)));
+            headers.add(new RecordHeader("content-type", "application/octet-stream".getBytes(StandardCharsets.UTF_8)));
+            ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("footprint", i % 16, i,
+                    System.currentTimeMillis(), TimestampType.CREATE_TIME, 0L, 8, payload.length, "key-" + i,
+                    payload, headers);
+            records[i] = new KafkaConsumerRecord<>(new KafkaConsumerRecordImpl<>(record));
+        }
+        return records;
+    }
+
+    private static long retained(KafkaConsumerRecord<String, byte[]>[] records,
+            Function<KafkaConsumerRecord<String, byte[]>, Object> wrapper) {
+        Object[] messages = new Object[records.length];
+        long before = usedHeap();
+        for (int i = 0; i < records.length; i++) {
+            messages[i] = wrapper.apply(records[i]);
+        }
+        long after = usedHeap();
+        assertThat(messages).doesNotContainNull();
+        return (after - before) / records.length;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * The previous wrapper: the metadata copied the record attributes and the headers, and were wrapped in a
+     * {@link Metadata} set, when the record was received.
+     */
+    private static class EagerIncomingKafkaRecord<K, T> {
+
+        private final KafkaCommitHandler commitHandler;
+        private final Metadata metadata;
+        private final EagerIncomingKafkaRecordMetadata<K, T> kafkaMetadata;
+
+        EagerIncomingKafkaRecord(KafkaConsumerRecord<K, T> record, KafkaCommitHandler commitHandler) {
+            this.commitHandler = commitHandler;
+            this.kafkaMetadata = new EagerIncomingKafkaRecordMetadata<>(record);
+            this.metadata = Metadata.of(this.kafkaMetadata);
+        }
+    }
+
+    private static class EagerIncomingKafkaRecordMetadata<K, T> {
+
+        private final K recordKey;
+        private final String topic;
+        private final int partition;
+        private final long timestamp;
+        private final TimestampType timestampType;
+        private final long offset;
+        private final RecordHeaders headers;
+        private final KafkaConsumerRecord<K, T> record;
+
+        EagerIncomingKafkaRecordMetadata(KafkaConsumerRecord<K, T> record) {
+            this.record = record;
+            this.recordKey = record.key();
+            this.topic = record.topic();
+            this.partition = record.partition();
+            this.timestamp = record.timestamp();
+            this.timestampType = record.timestampType();
+            this.offset = record.offset();
+            if (record.headers() == null) {
+                this.headers = new RecordHeaders();
+            } else {
+                this.headers = new RecordHeaders(record.headers().stream()
+                        .map(kh -> new RecordHeader(kh.key(), kh.value().getBytes())).collect(
+                                Collectors.toList()));
+            }
+        }
+    }
+}
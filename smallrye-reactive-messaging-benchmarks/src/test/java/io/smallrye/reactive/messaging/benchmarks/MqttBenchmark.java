@@ -0,0 +1,49 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.smallrye.reactive.messaging.mqtt.MqttConnector;
+import io.smallrye.reactive.messaging.mqtt.server.MqttServerConnector;
+
+/**
+ * Benchmarks the MQTT connector, sending the messages to the MQTT server connector of the same application.
+ */
+public class MqttBenchmark extends ConnectorBenchmark {
+
+    private static final int PORT = 1884;
+
+    @Override
+    protected String name() {
+        return "mqtt";
+    }
+
+    @Override
+    protected Map<String, Object> outgoing(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-mqtt");
+        conf.put("host", "localhost");
+        conf.put("port", PORT);
+        conf.put("topic", destination);
+        // At-least-once, so the received messages are acknowledged by the server
+        conf.put("qos", 1);
+        conf.put("max-inflight-queue", 1000);
+        return conf;
+    }
+
+    @Override
+    protected Map<String, Object> incoming(String destination) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("connector", "smallrye-mqtt-server");
+        conf.put("host", "localhost");
+        conf.put("port", PORT);
+        return conf;
+    }
+
+    @Override
+    protected List<Class<?>> beans() {
+        return Arrays.asList(MqttConnector.class, MqttServerConnector.class);
+    }
+}
@@ -0,0 +1,22 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.util.function.Function;
+
+/**
+ * The type of payload sent to a connector, as not all the connectors send {@code byte[]} as binary content.
+ */
+public enum PayloadFormat {
+
+    BYTES(bytes -> bytes),
+    BUFFER(io.vertx.axle.core.buffer.Buffer::buffer);
+
+    private final Function<byte[], Object> wrapper;
+
+    PayloadFormat(Function<byte[], Object> wrapper) {
+        this.wrapper = wrapper;
+    }
+
+    Object wrap(byte[] bytes) {
+        return wrapper.apply(bytes);
+    }
+}
@@ -0,0 +1,48 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import java.nio.ByteBuffer;
+
+import io.smallrye.reactive.messaging.loadgen.LoadGeneratorMetadata;
+
+/**
+ * Writes and reads the sequence number and send timestamp at the beginning of the payloads, as the metadata added by
+ * the load generator does not go through the brokers.
+ */
+final class Payloads {
+
+    static final int HEADER_SIZE = 16;
+
+    private Payloads() {
+        // Avoid direct instantiation
+    }
+
+    static void stamp(byte[] payload, LoadGeneratorMetadata metadata) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        buffer.putLong(0, metadata.getSequence());
+        buffer.putLong(8, metadata.getTimestamp());
+    }
+
+    static LoadGeneratorMetadata read(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new LoadGeneratorMetadata(buffer.getLong(0), null, buffer.getLong(8));
+    }
+
+    /**
+     * Extracts the bytes from the payload of a received message, whose type depends on the connector.
+     */
+    static byte[] bytes(Object payload) {
+        if (payload instanceof byte[]) {
+            return (byte[]) payload;
+        }
+        if (payload instanceof io.vertx.core.buffer.Buffer) {
+            return ((io.vertx.core.buffer.Buffer) payload).getBytes();
+        }
+        if (payload instanceof io.vertx.axle.core.buffer.Buffer) {
+            return ((io.vertx.axle.core.buffer.Buffer) payload).getBytes();
+        }
+        if (payload instanceof io.vertx.reactivex.core.buffer.Buffer) {
+            return ((io.vertx.reactivex.core.buffer.Buffer) payload).getBytes();
+        }
+        throw new IllegalArgumentException("Unsupported payload type: " + payload.getClass().getName());
+    }
+}
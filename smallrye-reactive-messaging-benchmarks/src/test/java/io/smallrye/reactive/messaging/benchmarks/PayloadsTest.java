@@ -0,0 +1,29 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import io.smallrye.reactive.messaging.loadgen.LoadGeneratorMetadata;
+
+public class PayloadsTest {
+
+    @Test
+    public void testStampAndReadThroughEachFormat() {
+        for (PayloadFormat format : PayloadFormat.values()) {
+            byte[] payload = new byte[128];
+            Payloads.stamp(payload, new LoadGeneratorMetadata(42, "key", 123456789L));
+            Object sent = format.wrap(payload);
+
+            LoadGeneratorMetadata metadata = Payloads.read(Payloads.bytes(sent));
+            assertThat(metadata.getSequence()).isEqualTo(42);
+            assertThat(metadata.getTimestamp()).isEqualTo(123456789L);
+        }
+    }
+
+    @Test
+    public void testUnsupportedPayload() {
+        assertThatThrownBy(() -> Payloads.bytes("hello")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,24 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+
+/**
+ * Receives the messages from the benchmarked connector, and acknowledges them before processing.
+ */
+@ApplicationScoped
+public class PreProcessingReceiver {
+
+    @Incoming(BenchmarkRunner.FROM_BROKER)
+    @Outgoing(BenchmarkRunner.RESULTS)
+    @Acknowledgment(Acknowledgment.Strategy.PRE_PROCESSING)
+    public Message<byte[]> receive(Message<?> message) {
+        byte[] payload = Payloads.bytes(message.getPayload());
+        return Message.of(payload, Metadata.of(Payloads.read(payload)));
+    }
+}
@@ -0,0 +1,32 @@
+package io.smallrye.reactive.messaging.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+
+import io.smallrye.reactive.messaging.loadgen.LoadGeneratorMetadata;
+
+/**
+ * Copies the load generator metadata into the generated payloads, and sends them to the benchmarked connector.
+ */
+@ApplicationScoped
+public class Stamper {
+
+    @Inject
+    @ConfigProperty(name = BenchmarkRunner.PAYLOAD_FORMAT, defaultValue = "BYTES")
+    String format;
+
+    @Incoming(BenchmarkRunner.GENERATOR)
+    @Outgoing(BenchmarkRunner.TO_BROKER)
+    public Message<Object> stamp(Message<byte[]> message) {
+        LoadGeneratorMetadata metadata = message.getMetadata(LoadGeneratorMetadata.class)
+                .orElseThrow(() -> new IllegalStateException("Missing load generator metadata"));
+        byte[] payload = message.getPayload();
+        Payloads.stamp(payload, metadata);
+        return Message.of(PayloadFormat.valueOf(format).wrap(payload));
+    }
+}
@@ -13,7 +13,9 @@ import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.reactive.messaging.compression.Compression;
 import io.smallrye.reactive.messaging.http.converters.Serializer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.reactivex.core.MultiMap;
 import io.vertx.reactivex.core.Vertx;
@@ -29,6 +31,7 @@ class HttpSink {
     private final String method;
     private final WebClient client;
     private final String converterClass;
+    private final Compression compression;
     private final SubscriberBuilder<? extends Message<?>, Void> subscriber;
 
     HttpSink(Vertx vertx, Config config) {
@@ -39,6 +42,7 @@ class HttpSink {
                 .orElse("POST");
         client = WebClient.create(vertx, options);
         converterClass = config.getOptionalValue("converter", String.class).orElse(null);
+        compression = Compression.create(config).orElse(null);
 
         subscriber = ReactiveStreams.<Message<?>> builder()
                 .flatMapCompletionStage(m -> send(m).thenCompose(v -> m.ack()).thenApply(v -> m))
@@ -50,7 +54,7 @@ class HttpSink {
         Serializer<Object> serializer = Serializer.lookup(message.getPayload(), converterClass);
         HttpRequest request = toHttpRequest(message);
         return serializer.convert(message.getPayload())
-                .thenCompose(buffer -> invoke(request, buffer))
+                .thenCompose(buffer -> invoke(request, compress(request, buffer)))
                 .thenCompose(x -> message.ack());
     }
 
@@ -95,6 +99,15 @@ class HttpSink {
         return request;
     }
 
+    private Buffer compress(HttpRequest<?> request, Buffer buffer) {
+        if (compression == null || !compression.shouldCompress(buffer.length())
+                || request.headers().contains(HttpHeaders.CONTENT_ENCODING.toString())) {
+            return buffer;
+        }
+        request.putHeader(HttpHeaders.CONTENT_ENCODING.toString(), compression.getEncoding().value());
+        return Buffer.buffer(compression.compress(buffer.getBytes()));
+    }
+
     private CompletionStage<Void> invoke(HttpRequest<Object> request, Buffer buffer) {
         CompletableFuture<Void> future = new CompletableFuture<>();
         request
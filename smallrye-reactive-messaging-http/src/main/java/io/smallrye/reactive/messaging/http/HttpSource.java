@@ -3,6 +3,7 @@ package io.smallrye.reactive.messaging.http;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -12,6 +13,10 @@ import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 
 import io.reactivex.processors.BehaviorProcessor;
+import io.smallrye.reactive.messaging.compression.Compression;
+import io.smallrye.reactive.messaging.compression.ContentEncoding;
+import io.smallrye.reactive.messaging.compression.DecompressedSizeExceededException;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.MultiMap;
@@ -23,12 +28,14 @@ public class HttpSource {
 
     private final String host;
     private final int port;
+    private final int maxDecompressedSize;
     private final Vertx vertx;
     private HttpServer server;
 
     HttpSource(Vertx vertx, Config config) {
         host = config.getOptionalValue("host", String.class).orElse("0.0.0.0");
         port = config.getOptionalValue("port", Integer.class).orElse(8080);
+        maxDecompressedSize = Compression.getMaxDecompressedSize(config);
         this.vertx = vertx;
     }
 
@@ -39,7 +46,9 @@ public class HttpSource {
         BehaviorProcessor<HttpServerRequest> processor = BehaviorProcessor.create();
         PublisherBuilder<? extends Message<?>> publisher = ReactiveStreams.fromPublisher(processor
                 .delaySubscription(ReactiveStreams.fromCompletionStage(future).buildRs()))
-                .flatMapCompletionStage(this::toMessage);
+                .flatMapCompletionStage(this::toMessage)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
         server
                 .requestHandler(req -> {
                     if (req.path().equalsIgnoreCase("/health")) {
@@ -62,7 +71,7 @@ public class HttpSource {
         server.close();
     }
 
-    private CompletionStage<HttpMessage<byte[]>> toMessage(HttpServerRequest request) {
+    private CompletionStage<Optional<HttpMessage<byte[]>>> toMessage(HttpServerRequest request) {
 
         Map<String, List<String>> h = new HashMap<>();
         Map<String, List<String>> q = new HashMap<>();
@@ -77,15 +86,29 @@ public class HttpSource {
                 h,
                 q);
 
-        CompletableFuture<HttpMessage<byte[]>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<HttpMessage<byte[]>>> future = new CompletableFuture<>();
         if (request.method() == HttpMethod.PUT || request.method() == HttpMethod.POST) {
             request.bodyHandler(buffer -> {
-                HttpMessage<byte[]> message = new HttpMessage<>(meta, buffer.getBytes(), () -> {
+                byte[] body;
+                try {
+                    body = decompress(request, buffer.getBytes());
+                } catch (DecompressedSizeExceededException e) {
+                    // Reject the request, but keep the stream alive
+                    request.response().setStatusCode(413).end();
+                    future.complete(Optional.empty());
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // Reject the request, but keep the stream alive
+                    request.response().setStatusCode(400).end();
+                    future.complete(Optional.empty());
+                    return;
+                }
+                HttpMessage<byte[]> message = new HttpMessage<>(meta, body, () -> {
                     // Send the response when the message has been acked.
                     request.response().setStatusCode(202).end();
                     return CompletableFuture.completedFuture(null);
                 });
-                future.complete(message);
+                future.complete(Optional.of(message));
             });
         } else {
             HttpMessage<byte[]> message = new HttpMessage<>(meta, new byte[0], () -> {
@@ -93,9 +116,15 @@ public class HttpSource {
                 request.response().setStatusCode(202).end();
                 return CompletableFuture.completedFuture(null);
             });
-            future.complete(message);
+            future.complete(Optional.of(message));
         }
         return future;
     }
 
+    private byte[] decompress(HttpServerRequest request, byte[] body) {
+        return ContentEncoding.from(request.getHeader(HttpHeaders.CONTENT_ENCODING.toString()))
+                .map(encoding -> Compression.decompress(body, encoding, maxDecompressedSize))
+                .orElse(body);
+    }
+
 }
@@ -0,0 +1,149 @@
+package io.smallrye.reactive.messaging.connectors;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publisher backed by a bounded queue, fed by any number of threads and drained by a single subscriber.
+ * <p>
+ * {@link #send(Object)} blocks while the queue is full, so the senders are slowed down to the pace of the subscriber
+ * requests. Before the subscription, nothing is requested, so the senders block once the queue is full, until the
+ * subscriber requests items. Once the publisher is completed, failed or cancelled, {@link #send(Object)} throws an
+ * {@link IllegalStateException}, as the item would never be emitted. The items are emitted by the thread sending or requesting, whichever wins the drain loop; the subscriber
+ * must not call {@link #send(Object)} from {@code onNext} as it could block forever.
+ *
+ * @param <T> the type of item
+ */
+class BoundedQueuePublisher<T> implements Publisher<T>, Subscription {
+
+    private static final long WAIT_MILLIS = 10;
+
+    private final BlockingQueue<T> queue;
+    private final AtomicReference<Subscriber<? super T>> downstream = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable failure;
+
+    BoundedQueuePublisher(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    void send(T item) {
+        try {
+            while (!cancelled && !done) {
+                if (queue.offer(item, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    drain();
+                    return;
+                }
+            }
+            throw new IllegalStateException(cancelled && !done ? "The subscription has been cancelled"
+                    : "The stream has been completed or failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for room in the queue", e);
+        }
+    }
+
+    void complete() {
+        done = true;
+        drain();
+    }
+
+    void fail(Throwable failure) {
+        this.failure = failure;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(this);
+            drain();
+        } else {
+            subscriber.onSubscribe(this);
+            subscriber.onError(new IllegalStateException("Only a single subscriber is supported"));
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Invalid request: " + n + ", must be greater than 0"));
+            return;
+        }
+        requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Subscriber<? super T> subscriber = downstream.get();
+            if (subscriber != null) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean terminated = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (terminated) {
+                            terminate(subscriber);
+                            return;
+                        }
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                if (done && queue.isEmpty()) {
+                    terminate(subscriber);
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate(Subscriber<? super T> subscriber) {
+        cancelled = true;
+        if (failure != null) {
+            subscriber.onError(failure);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+}
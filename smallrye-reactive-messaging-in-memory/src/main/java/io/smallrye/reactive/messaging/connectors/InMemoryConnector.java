@@ -1,11 +1,13 @@
 package io.smallrye.reactive.messaging.connectors;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -20,12 +22,23 @@ import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 
+import io.reactivex.processors.FlowableProcessor;
 import io.reactivex.processors.UnicastProcessor;
 
 /**
  * An implementation of connector used for testing applications without having to use external broker.
  * The idea is to substitute the `connector` of a specific channel to use `smallrye-in-memory`.
  * Then, your test can send message and checked the received messages.
+ * <p>
+ * The connector can also be used as transport for throughput tests:
+ * <ul>
+ * <li>{@code buffer-size} (incoming) - when set, the messages sent to the channel are stored in a bounded queue, and
+ * {@link InMemorySource#send(Object)} blocks while the queue is full, including before the subscription. By default,
+ * the queue is unbounded.</li>
+ * <li>{@code sample} (outgoing) - the sink only retains one message out of {@code sample}, {@code 0} to only count the
+ * messages. By default, all the messages are retained.</li>
+ * </ul>
+ * In both cases, the sources accept messages from multiple threads concurrently.
  */
 @ApplicationScoped
 @Connector(InMemoryConnector.CONNECTOR)
@@ -33,8 +46,11 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
 
     public static final String CONNECTOR = "smallrye-in-memory";
 
-    private Map<String, InMemorySourceImpl<?>> sources = new HashMap<>();
-    private Map<String, InMemorySinkImpl<?>> sinks = new HashMap<>();
+    public static final String BUFFER_SIZE = "buffer-size";
+    public static final String SAMPLE = "sample";
+
+    private final Map<String, InMemorySourceImpl<?>> sources = new ConcurrentHashMap<>();
+    private final Map<String, InMemorySinkImpl<?>> sinks = new ConcurrentHashMap<>();
 
     /**
      * Switch the given channel to in-memory. It replaces the previously used connector with the in-memory
@@ -101,14 +117,22 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
     public PublisherBuilder<? extends Message<?>> getPublisherBuilder(Config config) {
         String name = config.getOptionalValue("channel-name", String.class)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid incoming configuration, `channel-name` is not set"));
-        return sources.computeIfAbsent(name, InMemorySourceImpl::new).source;
+        int bufferSize = config.getOptionalValue(BUFFER_SIZE, Integer.class).orElse(0);
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("Invalid incoming configuration, `" + BUFFER_SIZE + "` must be positive");
+        }
+        return sources.computeIfAbsent(name, n -> new InMemorySourceImpl<>(n, bufferSize)).source;
     }
 
     @Override
     public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
         String name = config.getOptionalValue("channel-name", String.class)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid outgoing configuration, `channel-name` is not set"));
-        return sinks.computeIfAbsent(name, InMemorySinkImpl::new).sink;
+        int sample = config.getOptionalValue(SAMPLE, Integer.class).orElse(1);
+        if (sample < 0) {
+            throw new IllegalArgumentException("Invalid outgoing configuration, `" + SAMPLE + "` must be positive");
+        }
+        return sinks.computeIfAbsent(name, n -> new InMemorySinkImpl<>(n, sample)).sink;
     }
 
     /**
@@ -163,14 +187,22 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
     }
 
     private class InMemorySourceImpl<T> implements InMemorySource<T> {
-        private final UnicastProcessor<Message<T>> processor;
+        private final FlowableProcessor<Message<T>> processor;
+        private final BoundedQueuePublisher<Message<T>> queue;
         private final PublisherBuilder<? extends Message<T>> source;
         private final String name;
 
-        private InMemorySourceImpl(String name) {
+        private InMemorySourceImpl(String name, int bufferSize) {
             this.name = name;
-            this.processor = UnicastProcessor.create();
-            this.source = ReactiveStreams.fromPublisher(processor);
+            if (bufferSize > 0) {
+                this.processor = null;
+                this.queue = new BoundedQueuePublisher<>(bufferSize);
+                this.source = ReactiveStreams.fromPublisher(queue);
+            } else {
+                this.processor = UnicastProcessor.<Message<T>> create().toSerialized();
+                this.queue = null;
+                this.source = ReactiveStreams.fromPublisher(processor);
+            }
         }
 
         @Override
@@ -180,38 +212,55 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
 
         @Override
         public InMemorySource<T> send(T messageOrPayload) {
+            Message<T> message;
             if (messageOrPayload instanceof Message) {
                 //noinspection unchecked
-                processor.onNext((Message<T>) messageOrPayload);
+                message = (Message<T>) messageOrPayload;
             } else {
-                processor.onNext(Message.of(messageOrPayload));
+                message = Message.of(messageOrPayload);
+            }
+            if (queue != null) {
+                queue.send(message);
+            } else {
+                processor.onNext(message);
             }
             return this;
         }
 
         @Override
         public void complete() {
-            processor.onComplete();
+            if (queue != null) {
+                queue.complete();
+            } else {
+                processor.onComplete();
+            }
         }
 
         @Override
         public void fail(Throwable failure) {
-            processor.onError(failure);
+            if (queue != null) {
+                queue.fail(failure);
+            } else {
+                processor.onError(failure);
+            }
         }
     }
 
     private class InMemorySinkImpl<T> implements InMemorySink<T> {
         private final SubscriberBuilder<? extends Message<T>, Void> sink;
-        private final List<Message<T>> list = new CopyOnWriteArrayList<>();
+        private final Queue<Message<T>> list = new ConcurrentLinkedQueue<>();
+        private final AtomicLong count = new AtomicLong();
+        private final int sample;
         private final AtomicReference<Throwable> failure = new AtomicReference<>();
         private final AtomicBoolean completed = new AtomicBoolean();
         private final String name;
 
-        private InMemorySinkImpl(String name) {
+        private InMemorySinkImpl(String name, int sample) {
             this.name = name;
+            this.sample = sample;
             this.sink = ReactiveStreams.<Message<T>> builder()
                     .flatMapCompletionStage(m -> {
-                        list.add(m);
+                        record(m);
                         return m.ack().thenApply(x -> m);
                     })
                     .onError(err -> failure.compareAndSet(null, err))
@@ -219,11 +268,23 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
                     .ignore();
         }
 
+        private void record(Message<T> message) {
+            long index = count.getAndIncrement();
+            if (sample == 1 || (sample > 1 && index % sample == 0)) {
+                list.add(message);
+            }
+        }
+
         @Override
         public String name() {
             return name;
         }
 
+        @Override
+        public long count() {
+            return count.get();
+        }
+
         @Override
         public List<? extends Message<T>> received() {
             return new ArrayList<>(list);
@@ -233,6 +294,7 @@ public class InMemoryConnector implements IncomingConnectorFactory, OutgoingConn
             completed.set(false);
             failure.set(null);
             list.clear();
+            count.set(0);
         }
 
         @Override
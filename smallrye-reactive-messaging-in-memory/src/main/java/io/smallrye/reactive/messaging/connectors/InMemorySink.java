@@ -24,7 +24,14 @@ public interface InMemorySink<T> {
     List<? extends Message<T>> received();
 
     /**
-     * Clears the list of received messages. It also reset the received failure (if any) and the received completion
+     * @return the number of messages received by the channel, including the messages not retained in
+     *         {@link #received()} when the sink is configured with a {@code sample} attribute. The {@link #clear()}
+     *         method resets the counter.
+     */
+    long count();
+
+    /**
+     * Clears the list of received messages and the counter. It also reset the received failure (if any) and the received completion
      * event.
      */
     void clear();
@@ -14,7 +14,10 @@ public interface InMemorySource<T> {
     String name();
 
     /**
-     * Sends a message or a payload to the channel.
+     * Sends a message or a payload to the channel. This method can be called from multiple threads concurrently.
+     * If the channel is configured with a {@code buffer-size}, this method blocks while the buffer is full, including
+     * before the application subscribes to the channel, and it throws an {@link IllegalStateException} once the channel
+     * is completed, failed or cancelled.
      *
      * @param messageOrPayload the message or payload to send. In the case of a payload, a simple message is created.
      *        Must not be {@code null}
@@ -0,0 +1,62 @@
+package io.smallrye.reactive.messaging.connectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.reactivex.subscribers.TestSubscriber;
+
+public class BoundedQueuePublisherTest {
+
+    @Test
+    public void testThatSendBlocksBeforeTheSubscriptionOnceTheQueueIsFull() {
+        BoundedQueuePublisher<Integer> publisher = new BoundedQueuePublisher<>(2);
+        AtomicInteger sent = new AtomicInteger();
+        Thread sender = new Thread(() -> {
+            for (int i = 1; i <= 3; i++) {
+                publisher.send(i);
+                sent.incrementAndGet();
+            }
+        });
+        sender.start();
+
+        await().until(() -> sent.get() == 2 && sender.getState() == Thread.State.TIMED_WAITING);
+        assertThat(sent).hasValue(2);
+
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        publisher.subscribe(subscriber);
+        assertThat(sent).hasValue(2);
+
+        subscriber.request(3);
+        await().until(() -> sent.get() == 3);
+        subscriber.assertValues(1, 2, 3);
+    }
+
+    @Test
+    public void testThatSendFailsOnceCancelled() {
+        BoundedQueuePublisher<Integer> publisher = new BoundedQueuePublisher<>(2);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+        publisher.subscribe(subscriber);
+        publisher.send(1);
+        subscriber.cancel();
+
+        assertThatThrownBy(() -> publisher.send(2)).isInstanceOf(IllegalStateException.class);
+        subscriber.assertValues(1);
+    }
+
+    @Test
+    public void testThatSendFailsOnceCompleted() {
+        BoundedQueuePublisher<Integer> publisher = new BoundedQueuePublisher<>(2);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(10);
+        publisher.subscribe(subscriber);
+        publisher.send(1);
+        publisher.complete();
+
+        assertThatThrownBy(() -> publisher.send(2)).isInstanceOf(IllegalStateException.class);
+        subscriber.assertValues(1).assertComplete();
+    }
+}
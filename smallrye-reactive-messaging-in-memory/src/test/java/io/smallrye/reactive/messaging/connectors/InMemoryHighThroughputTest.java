@@ -0,0 +1,90 @@
+package io.smallrye.reactive.messaging.connectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.eclipse.microprofile.reactive.messaging.spi.ConnectorLiteral;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryHighThroughputTest extends WeldTestBase {
+
+    private static final int SENDERS = 4;
+    private static final int MESSAGES_PER_SENDER = 250_000;
+
+    private ExecutorService executor;
+
+    @Before
+    public void install() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("mp.messaging.incoming.foo.connector", InMemoryConnector.CONNECTOR);
+        conf.put("mp.messaging.incoming.foo.buffer-size", 128);
+        conf.put("mp.messaging.outgoing.bar.connector", InMemoryConnector.CONNECTOR);
+        conf.put("mp.messaging.outgoing.bar.sample", 1000);
+        installConfig(new MapBasedConfig(conf));
+        executor = Executors.newFixedThreadPool(SENDERS);
+    }
+
+    @After
+    public void cleanup() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        releaseConfig();
+    }
+
+    private InMemoryConnector connector() {
+        return container.getBeanManager().createInstance()
+                .select(InMemoryConnector.class, ConnectorLiteral.of(InMemoryConnector.CONNECTOR)).get();
+    }
+
+    @Test
+    public void testConcurrentSendersWithSampling() throws InterruptedException {
+        addBeanClass(MyProcessor.class);
+        initialize();
+        InMemorySource<Integer> foo = connector().source("foo");
+        InMemorySink<Integer> bar = connector().sink("bar");
+
+        for (int i = 0; i < SENDERS; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < MESSAGES_PER_SENDER; j++) {
+                    foo.send(j);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        foo.complete();
+
+        await().until(bar::hasCompleted);
+        assertThat(bar.count()).isEqualTo(SENDERS * MESSAGES_PER_SENDER);
+        assertThat(bar.received()).hasSize(SENDERS * MESSAGES_PER_SENDER / 1000);
+
+        bar.clear();
+        assertThat(bar.count()).isZero();
+        assertThat(bar.received()).isEmpty();
+    }
+
+    @ApplicationScoped
+    public static class MyProcessor {
+
+        @Incoming("foo")
+        @Outgoing("bar")
+        public Message<Integer> process(Message<Integer> message) {
+            return message.withPayload(message.getPayload() + 1);
+        }
+
+    }
+
+}
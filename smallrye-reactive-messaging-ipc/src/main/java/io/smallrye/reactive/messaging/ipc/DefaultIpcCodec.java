@@ -0,0 +1,47 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Codec used when no {@code codec} is configured. It supports {@code byte[]} and {@code String} payloads, the first
+ * byte of the encoded data indicating the type.
+ */
+class DefaultIpcCodec implements IpcCodec {
+
+    static final DefaultIpcCodec INSTANCE = new DefaultIpcCodec();
+
+    private static final byte BYTES = 0;
+    private static final byte STRING = 1;
+
+    @Override
+    public byte[] encode(Object payload) {
+        byte type;
+        byte[] data;
+        if (payload instanceof byte[]) {
+            type = BYTES;
+            data = (byte[]) payload;
+        } else if (payload instanceof String) {
+            type = STRING;
+            data = ((String) payload).getBytes(StandardCharsets.UTF_8);
+        } else {
+            throw new IllegalArgumentException("Unsupported payload type " + (payload == null ? null
+                    : payload.getClass()) + ", configure a `codec` to send other types of payloads");
+        }
+        byte[] result = new byte[data.length + 1];
+        result[0] = type;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        if (data.length > 0 && data[0] == STRING) {
+            return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+        }
+        if (data.length > 0 && data[0] == BYTES) {
+            return Arrays.copyOfRange(data, 1, data.length);
+        }
+        throw new IllegalStateException("Invalid record, the payload type is unknown");
+    }
+}
@@ -0,0 +1,40 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waiting strategy used when the ring buffer is empty (consumer) or full (producer): busy-spin first, for a
+ * sub-microsecond handoff, then yield, then park for increasing durations to release the CPU when idle.
+ */
+final class IdleStrategy {
+
+    private static final int SPINS = 1000;
+    private static final int YIELDS = 100;
+    private static final long MIN_PARK = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final long maxPark;
+    private int idle;
+    private long park = MIN_PARK;
+
+    IdleStrategy(long maxParkNanos) {
+        this.maxPark = Math.max(MIN_PARK, maxParkNanos);
+    }
+
+    void idle() {
+        if (idle < SPINS) {
+            idle++;
+        } else if (idle < SPINS + YIELDS) {
+            idle++;
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(park);
+            park = Math.min(park * 2, maxPark);
+        }
+    }
+
+    void reset() {
+        idle = 0;
+        park = MIN_PARK;
+    }
+}
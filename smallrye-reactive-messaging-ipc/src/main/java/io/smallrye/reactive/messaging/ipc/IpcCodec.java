@@ -0,0 +1,24 @@
+package io.smallrye.reactive.messaging.ipc;
+
+/**
+ * Converts the payloads to and from the bytes exchanged through the shared memory.
+ * <p>
+ * Custom codecs are exposed as beans qualified with {@code @Named}, and selected using the {@code codec} attribute of
+ * the channel. The producer and the consumer must use compatible codecs.
+ */
+public interface IpcCodec {
+
+    /**
+     * @param payload the payload of the outgoing message
+     * @return the encoded payload
+     * @throws RuntimeException if the payload cannot be encoded, the outgoing channel is then stopped
+     */
+    byte[] encode(Object payload);
+
+    /**
+     * @param data the encoded payload
+     * @return the payload of the incoming message
+     */
+    Object decode(byte[] data);
+
+}
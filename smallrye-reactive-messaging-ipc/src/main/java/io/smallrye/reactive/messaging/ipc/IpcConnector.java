@@ -0,0 +1,120 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.reactive.messaging.spi.IncomingConnectorFactory;
+import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connector exchanging messages between processes running on the same host through a memory-mapped
+ * single-producer / single-consumer {@link RingBuffer ring buffer} file.
+ * <p>
+ * An outgoing channel writes to the file, an incoming channel (generally in another process) reads from it. Each file
+ * supports a single producer and a single consumer.
+ */
+@ApplicationScoped
+@Connector(IpcConnector.CONNECTOR_NAME)
+public class IpcConnector implements IncomingConnectorFactory, OutgoingConnectorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IpcConnector.class);
+
+    public static final String CONNECTOR_NAME = "smallrye-ipc";
+
+    static final int DEFAULT_CAPACITY = 1024 * 1024;
+    static final int DEFAULT_PREFETCH = 128;
+    static final long DEFAULT_MAX_PARK = 100;
+
+    @Inject
+    @Any
+    Instance<IpcCodec> codecs;
+
+    private final List<IpcSource> sources = new CopyOnWriteArrayList<>();
+    private final List<IpcSink> sinks = new CopyOnWriteArrayList<>();
+    private final List<RingBuffer> rings = new CopyOnWriteArrayList<>();
+
+    public void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        sources.forEach(IpcSource::close);
+        sinks.forEach(IpcSink::close);
+        for (RingBuffer ring : rings) {
+            try {
+                ring.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close the ring buffer {}", ring.getPath(), e);
+            }
+        }
+        sources.clear();
+        sinks.clear();
+        rings.clear();
+    }
+
+    @Override
+    public PublisherBuilder<? extends Message<?>> getPublisherBuilder(Config config) {
+        IpcSource source = new IpcSource(open(config), getCodec(config), getChannel(config), getMaxPark(config));
+        sources.add(source);
+        return ReactiveStreams.fromPublisher(source);
+    }
+
+    @Override
+    public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
+        int prefetch = config.getOptionalValue("prefetch", Integer.class).orElse(DEFAULT_PREFETCH);
+        IpcSink sink = new IpcSink(open(config), getCodec(config), getChannel(config), prefetch, getMaxPark(config));
+        sinks.add(sink);
+        return ReactiveStreams.fromSubscriber(sink);
+    }
+
+    private RingBuffer open(Config config) {
+        Path path = Paths.get(config.getOptionalValue("path", String.class)
+                .orElseThrow(() -> new IllegalArgumentException("`path` must be set")));
+        int capacity = config.getOptionalValue("capacity", Integer.class).orElse(DEFAULT_CAPACITY);
+        try {
+            RingBuffer ring = RingBuffer.open(path, capacity);
+            rings.add(ring);
+            return ring;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the ring buffer " + path, e);
+        }
+    }
+
+    private IpcCodec getCodec(Config config) {
+        Optional<String> name = config.getOptionalValue("codec", String.class);
+        if (!name.isPresent()) {
+            return DefaultIpcCodec.INSTANCE;
+        }
+        Instance<IpcCodec> codec = codecs.select(NamedLiteral.of(name.get()));
+        if (codec.isUnsatisfied()) {
+            throw new IllegalStateException("Cannot find a " + IpcCodec.class.getName() + " bean named " + name.get());
+        }
+        return codec.get();
+    }
+
+    private static String getChannel(Config config) {
+        return config.getOptionalValue("channel-name", String.class).orElse("unknown");
+    }
+
+    private static long getMaxPark(Config config) {
+        return TimeUnit.MICROSECONDS.toNanos(config.getOptionalValue("max-park", Long.class).orElse(DEFAULT_MAX_PARK));
+    }
+}
@@ -0,0 +1,125 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the messages to the ring buffer from a dedicated thread.
+ * <p>
+ * At most {@code prefetch} messages are requested in advance. A message is acknowledged once written, and new
+ * messages are only requested when the previous ones have been written. So when the ring buffer is full (the consumer
+ * is slower), the upstream is not requested anymore: the backpressure is driven by the occupancy of the ring buffer.
+ * <p>
+ * A message that cannot be encoded or written stops the sink: the upstream is cancelled and the writer exits, as the
+ * reader does on a decoding failure, so the following messages are not written after a gap.
+ */
+class IpcSink implements Subscriber<Message<?>>, Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IpcSink.class);
+
+    private final RingBuffer ring;
+    private final IpcCodec codec;
+    private final int prefetch;
+    private final int replenish;
+    private final long maxParkNanos;
+    private final Queue<Message<?>> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile Subscription upstream;
+    private volatile boolean done;
+    private volatile boolean closed;
+
+    IpcSink(RingBuffer ring, IpcCodec codec, String channel, int prefetch, long maxParkNanos) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("`prefetch` must be strictly positive: " + prefetch);
+        }
+        this.ring = Objects.requireNonNull(ring);
+        this.codec = Objects.requireNonNull(codec);
+        this.prefetch = prefetch;
+        this.replenish = Math.max(1, prefetch - (prefetch >> 2));
+        this.maxParkNanos = maxParkNanos;
+        this.writer = new Thread(this, "ipc-writer-" + channel);
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        writer.start();
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(Message<?> message) {
+        queue.offer(message);
+        LockSupport.unpark(writer);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        LOGGER.error("The upstream of the ring buffer {} has failed", ring.getPath(), throwable);
+        done = true;
+        LockSupport.unpark(writer);
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        LockSupport.unpark(writer);
+    }
+
+    @Override
+    public void run() {
+        IdleStrategy idle = new IdleStrategy(maxParkNanos);
+        int written = 0;
+        while (!closed) {
+            Message<?> message = queue.poll();
+            if (message == null) {
+                if (done) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                byte[] data = codec.encode(message.getPayload());
+                while (!ring.offer(data)) {
+                    if (closed) {
+                        return;
+                    }
+                    idle.idle();
+                }
+                idle.reset();
+                message.ack();
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to write a message to the ring buffer {}, the sink is stopped", ring.getPath(), e);
+                close();
+                return;
+            }
+            if (++written == replenish) {
+                written = 0;
+                upstream.request(replenish);
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        LockSupport.unpark(writer);
+    }
+}
@@ -0,0 +1,135 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Reads the ring buffer from a dedicated thread. Records are only read when requested, so when the application is
+ * slower than the producer, the ring buffer fills up and the producer is slowed down.
+ */
+class IpcSource implements Publisher<Message<?>> {
+
+    private final RingBuffer ring;
+    private final IpcCodec codec;
+    private final String channel;
+    private final long maxParkNanos;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Reader reader;
+
+    IpcSource(RingBuffer ring, IpcCodec codec, String channel, long maxParkNanos) {
+        this.ring = Objects.requireNonNull(ring);
+        this.codec = Objects.requireNonNull(codec);
+        this.channel = channel;
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Message<?>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored.
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored.
+                }
+            });
+            subscriber.onError(new IllegalStateException("The ring buffer " + ring.getPath()
+                    + " only supports a single consumer"));
+            return;
+        }
+        reader = new Reader(subscriber);
+        Thread thread = new Thread(reader, "ipc-reader-" + channel);
+        thread.setDaemon(true);
+        reader.thread = thread;
+        subscriber.onSubscribe(reader);
+        thread.start();
+    }
+
+    void close() {
+        Reader current = reader;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private class Reader implements Subscription, Runnable {
+
+        private final Subscriber<? super Message<?>> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Thread thread;
+
+        private Reader(Subscriber<? super Message<?>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(
+                        new IllegalArgumentException("Invalid request: " + n + ", the number of items must be positive"));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            IdleStrategy idle = new IdleStrategy(maxParkNanos);
+            while (!cancelled) {
+                long r = requested.get();
+                if (r == 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                byte[] data = ring.poll();
+                if (data == null) {
+                    idle.idle();
+                    continue;
+                }
+                idle.reset();
+                Object payload;
+                try {
+                    payload = codec.decode(data);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(Message.of(payload));
+                if (r != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+            }
+        }
+    }
+}
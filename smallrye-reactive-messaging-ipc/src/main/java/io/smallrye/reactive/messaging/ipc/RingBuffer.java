@@ -0,0 +1,204 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Single-producer / single-consumer ring buffer stored in a memory-mapped file, so the producer and the consumer can
+ * live in different processes.
+ * <p>
+ * Layout of the file:
+ * <ul>
+ * <li>{@code 0}: magic number, {@code 4}: capacity of the data region (a power of 2),</li>
+ * <li>{@code 64}: head - the number of bytes written since the creation, only written by the producer,</li>
+ * <li>{@code 128}: tail - the number of bytes read since the creation, only written by the consumer,</li>
+ * <li>{@code 192}: the data region.</li>
+ * </ul>
+ * The head and tail are in separate cache lines to avoid false sharing. A record is its length (int) followed by its
+ * data, aligned on 8 bytes. When a record does not fit before the end of the data region, a padding marker is written
+ * and the record starts at the beginning of the region.
+ * <p>
+ * The producer writes the record before publishing the new head, and the consumer reads the record before publishing
+ * the new tail. As Java 8 does not provide ordered accesses to mapped memory, the ordering is enforced using a full
+ * fence (a write followed by a read of a volatile field) between the two steps.
+ */
+final class RingBuffer implements Closeable {
+
+    private static final int MAGIC = 0x52494E47;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int HEAD_OFFSET = 64;
+    private static final int TAIL_OFFSET = 128;
+    private static final int DATA_OFFSET = 192;
+    private static final int PADDING = -1;
+    private static final int LENGTH_SIZE = 4;
+
+    @SuppressWarnings("unused")
+    private static volatile int fence;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+
+    // Local copies of the position owned by this side
+    private long head;
+    private long tail;
+
+    private RingBuffer(Path path, int requestedCapacity) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // The lock prevents the two processes from initializing the file concurrently.
+        try (FileLock ignored = channel.lock()) {
+            int capacity = requestedCapacity;
+            if (channel.size() >= DATA_OFFSET) {
+                ByteBuffer header = ByteBuffer.allocate(8);
+                channel.read(header, 0);
+                if (header.getInt(0) == MAGIC) {
+                    capacity = header.getInt(CAPACITY_OFFSET);
+                }
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + (long) capacity);
+            if (buffer.getInt(0) != MAGIC) {
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                buffer.putLong(HEAD_OFFSET, 0);
+                buffer.putLong(TAIL_OFFSET, 0);
+                fullFence();
+                buffer.putInt(0, MAGIC);
+                buffer.force();
+            }
+            this.capacity = capacity;
+        }
+        this.mask = capacity - 1;
+        this.head = buffer.getLong(HEAD_OFFSET);
+        this.tail = buffer.getLong(TAIL_OFFSET);
+    }
+
+    /**
+     * Opens the ring buffer stored in the given file, creating it if needed. If the file already exists, its
+     * capacity is used.
+     *
+     * @param path the file
+     * @param capacity the capacity in bytes of the data region, must be a power of 2
+     * @return the ring buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    static RingBuffer open(Path path, int capacity) throws IOException {
+        if (capacity < 64 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of 2, greater than 64: " + capacity);
+        }
+        return new RingBuffer(path, capacity);
+    }
+
+    private static void fullFence() {
+        fence = 0;
+        if (fence != 0) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * @return the maximum size of a record
+     */
+    int getMaxRecordSize() {
+        return capacity / 2 - LENGTH_SIZE;
+    }
+
+    /**
+     * Writes a record. Must only be called by the producer.
+     *
+     * @param data the record
+     * @return {@code false} if there is not enough free space
+     */
+    boolean offer(byte[] data) {
+        if (data.length > getMaxRecordSize()) {
+            throw new IllegalArgumentException("The record (" + data.length + " bytes) exceeds the maximum record size ("
+                    + getMaxRecordSize() + " bytes)");
+        }
+        int size = align(LENGTH_SIZE + data.length);
+        int index = (int) (head & mask);
+        int toEnd = capacity - index;
+        int required = size > toEnd ? toEnd + size : size;
+        long consumed = buffer.getLong(TAIL_OFFSET);
+        if (head + required - consumed > capacity) {
+            return false;
+        }
+        long position = head;
+        if (size > toEnd) {
+            buffer.putInt(DATA_OFFSET + index, PADDING);
+            position += toEnd;
+            index = 0;
+        }
+        ByteBuffer target = buffer.duplicate();
+        target.position(DATA_OFFSET + index + LENGTH_SIZE);
+        target.put(data);
+        buffer.putInt(DATA_OFFSET + index, data.length);
+        fullFence();
+        head = position + size;
+        buffer.putLong(HEAD_OFFSET, head);
+        return true;
+    }
+
+    /**
+     * Reads a record. Must only be called by the consumer.
+     *
+     * @return the record, {@code null} if the ring buffer is empty
+     */
+    byte[] poll() {
+        long produced = buffer.getLong(HEAD_OFFSET);
+        fullFence();
+        if (tail == produced) {
+            return null;
+        }
+        int index = (int) (tail & mask);
+        int length = buffer.getInt(DATA_OFFSET + index);
+        if (length == PADDING) {
+            tail += capacity - index;
+            index = 0;
+            length = buffer.getInt(DATA_OFFSET);
+        }
+        byte[] data = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(DATA_OFFSET + index + LENGTH_SIZE);
+        source.get(data);
+        fullFence();
+        tail += align(LENGTH_SIZE + length);
+        buffer.putLong(TAIL_OFFSET, tail);
+        return data;
+    }
+
+    /**
+     * @return the number of bytes written and not read yet
+     */
+    long getOccupancy() {
+        return buffer.getLong(HEAD_OFFSET) - buffer.getLong(TAIL_OFFSET);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,158 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+
+public class IpcConnectorTest extends WeldTestBase {
+
+    private Path path;
+
+    @Before
+    public void createFile() throws IOException {
+        path = Files.createTempDirectory("ipc-").resolve("ring");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        releaseConfig();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(path.getParent());
+    }
+
+    private void install(String codec) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("mp.messaging.outgoing.to-ring.connector", IpcConnector.CONNECTOR_NAME);
+        conf.put("mp.messaging.outgoing.to-ring.path", path.toString());
+        // Small ring, so the producer is blocked by the occupancy
+        conf.put("mp.messaging.outgoing.to-ring.capacity", 1024);
+        conf.put("mp.messaging.incoming.from-ring.connector", IpcConnector.CONNECTOR_NAME);
+        conf.put("mp.messaging.incoming.from-ring.path", path.toString());
+        if (codec != null) {
+            conf.put("mp.messaging.outgoing.to-ring.codec", codec);
+            conf.put("mp.messaging.incoming.from-ring.codec", codec);
+        }
+        installConfig(new MapBasedConfig(conf));
+    }
+
+    @Test
+    public void testExchangeThroughTheRingBuffer() {
+        install(null);
+        addBeanClass(Producer.class, Consumer.class);
+        initialize();
+        Consumer consumer = get(Consumer.class);
+        await().until(() -> consumer.received().size() == 1000);
+        assertThat(consumer.received()).startsWith("message-0").endsWith("message-999");
+    }
+
+    @Test
+    public void testWithCustomCodec() {
+        install("upper");
+        addBeanClass(Producer.class, Consumer.class, UpperCaseCodec.class);
+        initialize();
+        Consumer consumer = get(Consumer.class);
+        await().until(() -> consumer.received().size() == 1000);
+        assertThat(consumer.received()).startsWith("MESSAGE-0").endsWith("MESSAGE-999");
+    }
+
+    @Test
+    public void testThatAnEncodingFailureStopsTheSink() {
+        install("failing");
+        addBeanClass(TrackedProducer.class, Consumer.class, FailingCodec.class);
+        initialize();
+        TrackedProducer producer = get(TrackedProducer.class);
+        Consumer consumer = get(Consumer.class);
+        await().until(producer::isCancelled);
+        await().until(() -> consumer.received().size() == 500);
+        // Nothing is written after the failure, so the stream does not have a gap
+        assertThat(consumer.received()).startsWith("message-0").endsWith("message-499");
+    }
+
+    @ApplicationScoped
+    public static class Producer {
+        @Outgoing("to-ring")
+        public Publisher<String> produce() {
+            return Flowable.range(0, 1000).map(i -> "message-" + i);
+        }
+    }
+
+    @ApplicationScoped
+    public static class TrackedProducer {
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        @Outgoing("to-ring")
+        public Publisher<String> produce() {
+            return Flowable.range(0, 1000).map(i -> "message-" + i).doOnCancel(() -> cancelled.set(true));
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Consumer {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Incoming("from-ring")
+        public void consume(String payload) {
+            received.add(payload);
+        }
+
+        public List<String> received() {
+            return received;
+        }
+    }
+
+    @ApplicationScoped
+    @Named("upper")
+    public static class UpperCaseCodec implements IpcCodec {
+        @Override
+        public byte[] encode(Object payload) {
+            return payload.toString().toUpperCase().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] data) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+
+    @ApplicationScoped
+    @Named("failing")
+    public static class FailingCodec implements IpcCodec {
+        @Override
+        public byte[] encode(Object payload) {
+            if (payload.equals("message-500")) {
+                throw new IllegalArgumentException("Cannot encode " + payload);
+            }
+            return payload.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] data) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.smallrye.reactive.messaging.ipc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RingBufferTest {
+
+    private Path path;
+
+    @Before
+    public void createFile() throws IOException {
+        path = Files.createTempDirectory("ipc-").resolve("ring");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(path.getParent());
+    }
+
+    @Test
+    public void testFullRingAndWrapAround() throws IOException {
+        try (RingBuffer producer = RingBuffer.open(path, 128);
+                RingBuffer consumer = RingBuffer.open(path, 4096)) {
+            // The capacity of the existing file is used
+            assertThat(consumer.getCapacity()).isEqualTo(128);
+
+            byte[] record = new byte[20];
+            int written = 0;
+            while (producer.offer(record)) {
+                written++;
+            }
+            // 24 bytes per record
+            assertThat(written).isEqualTo(5);
+            assertThat(consumer.getOccupancy()).isEqualTo(120);
+
+            for (int i = 0; i < written; i++) {
+                assertThat(consumer.poll()).hasSize(20);
+            }
+            assertThat(consumer.poll()).isNull();
+
+            // Records of various sizes wrapping around the end of the ring
+            List<String> received = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                assertThat(producer.offer(("record-" + i).getBytes(StandardCharsets.UTF_8))).isTrue();
+                if (i % 3 == 2) {
+                    byte[] data;
+                    while ((data = consumer.poll()) != null) {
+                        received.add(new String(data, StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            byte[] data;
+            while ((data = consumer.poll()) != null) {
+                received.add(new String(data, StandardCharsets.UTF_8));
+            }
+            assertThat(received).hasSize(100).startsWith("record-0").endsWith("record-99");
+            assertThat(consumer.getOccupancy()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testConcurrentProducerAndConsumer() throws Exception {
+        int count = 100_000;
+        try (RingBuffer producer = RingBuffer.open(path, 1024);
+                RingBuffer consumer = RingBuffer.open(path, 1024)) {
+            Thread thread = new Thread(() -> {
+                IdleStrategy idle = new IdleStrategy(1000);
+                for (int i = 0; i < count; i++) {
+                    byte[] data = DefaultIpcCodec.INSTANCE.encode("message-" + i);
+                    while (!producer.offer(data)) {
+                        idle.idle();
+                    }
+                }
+            });
+            thread.start();
+            IdleStrategy idle = new IdleStrategy(1000);
+            for (int i = 0; i < count; i++) {
+                byte[] data;
+                while ((data = consumer.poll()) == null) {
+                    idle.idle();
+                }
+                assertThat(DefaultIpcCodec.INSTANCE.decode(data)).isEqualTo("message-" + i);
+            }
+            thread.join();
+            assertThat(consumer.getOccupancy()).isEqualTo(0);
+        }
+    }
+}
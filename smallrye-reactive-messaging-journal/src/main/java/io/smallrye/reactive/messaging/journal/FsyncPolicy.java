@@ -0,0 +1,32 @@
+package io.smallrye.reactive.messaging.journal;
+
+/**
+ * When the journal files are forced to the storage device.
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Never forced explicitly, the operating system writes the pages back when it sees fit.
+     */
+    NEVER,
+
+    /**
+     * Forced periodically, the last records are lost if the machine crashes.
+     */
+    INTERVAL,
+
+    /**
+     * Forced on each append and offset commit, the slowest but safest policy.
+     */
+    ALWAYS;
+
+    static FsyncPolicy from(String value) {
+        for (FsyncPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(value.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Invalid fsync policy `" + value + "`, supported values are: never, "
+                + "interval and always");
+    }
+}
@@ -0,0 +1,261 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log stored in a directory as a sequence of memory-mapped {@link Segment segments}.
+ * <p>
+ * Each record gets an offset, starting at {@code 0} and incremented by 1 for each record. A segment file is named
+ * after the offset of its first record. When a record does not fit in the active segment, a new segment is created,
+ * and the oldest segments are deleted when there are more than {@code maxSegments} segments.
+ * <p>
+ * The committed offsets of the consumer groups are stored in the same directory ({@code group.offset} files).
+ */
+public class Journal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Journal.class);
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String OFFSET_SUFFIX = ".offset";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final FsyncPolicy fsync;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, OffsetStore> offsets = new ConcurrentHashMap<>();
+    private final Set<Runnable> listeners = new CopyOnWriteArraySet<>();
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this
+    private Segment active;
+    private boolean dirty;
+    private boolean closed;
+
+    /**
+     * Opens (or creates) a journal.
+     *
+     * @param directory the directory storing the segments and offsets
+     * @param segmentSize the size of each segment file, in bytes
+     * @param maxSegments the maximum number of segments to keep, {@code 0} to keep all of them
+     * @param fsync the fsync policy
+     * @param fsyncInterval with the {@link FsyncPolicy#INTERVAL} policy, the period in milliseconds
+     * @throws IOException if the journal cannot be opened
+     */
+    public Journal(Path directory, int segmentSize, int maxSegments, FsyncPolicy fsync, long fsyncInterval)
+            throws IOException {
+        if (segmentSize <= Segment.RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("The segment size must be greater than " + Segment.RECORD_HEADER_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                files.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), path);
+            }
+        }
+        for (Map.Entry<Long, Path> entry : files.entrySet()) {
+            segments.add(Segment.open(entry.getValue(), entry.getKey(), segmentSize));
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(segmentPath(0), 0, segmentSize));
+        }
+        this.active = segments.get(segments.size() - 1);
+        LOGGER.info("Journal {} opened, offsets from {} to {}", directory, getStartOffset(), getEndOffset());
+
+        if (fsync == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "journal-flusher-" + directory.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleAtFixedRate(this::flush, fsyncInterval, fsyncInterval, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param data the record
+     * @return the offset of the record
+     * @throws IOException if a new segment cannot be created
+     */
+    public long append(byte[] data) throws IOException {
+        long offset;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The journal " + directory + " is closed");
+            }
+            if (!Segment.fits(segmentSize, data)) {
+                throw new IllegalArgumentException("The record (" + data.length + " bytes) does not fit in a segment ("
+                        + segmentSize + " bytes)");
+            }
+            if (!active.append(data)) {
+                roll();
+                active.append(data);
+            }
+            offset = active.getEndOffset() - 1;
+            if (fsync == FsyncPolicy.ALWAYS) {
+                active.force();
+            } else {
+                dirty = true;
+            }
+        }
+        listeners.forEach(Runnable::run);
+        return offset;
+    }
+
+    private void roll() throws IOException {
+        if (fsync != FsyncPolicy.NEVER) {
+            active.force();
+        }
+        long base = active.getEndOffset();
+        Segment next = Segment.open(segmentPath(base), base, segmentSize);
+        segments.add(next);
+        active = next;
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            // The mapping stays valid for the readers still reading the segment.
+            Segment oldest = segments.remove(0);
+            oldest.close();
+            Files.deleteIfExists(oldest.getPath());
+        }
+    }
+
+    /**
+     * Creates a cursor reading the records from the given offset. If the offset is not in the journal anymore, the
+     * cursor starts from the first record still available.
+     *
+     * @param offset the offset of the first record to read
+     * @return the cursor
+     */
+    public JournalCursor cursor(long offset) {
+        Segment segment = segments.get(0);
+        for (Segment candidate : segments) {
+            if (candidate.getBaseOffset() <= offset) {
+                segment = candidate;
+            }
+        }
+        return new JournalCursor(this, segment, offset);
+    }
+
+    /**
+     * @return the segment following the given one, {@code null} if none
+     */
+    Segment next(Segment segment) {
+        for (Segment candidate : segments) {
+            if (candidate.getBaseOffset() > segment.getBaseOffset()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the offset of the first record still available
+     */
+    public long getStartOffset() {
+        return segments.get(0).getBaseOffset();
+    }
+
+    /**
+     * @return the offset of the next record to be appended
+     */
+    public synchronized long getEndOffset() {
+        return active.getEndOffset();
+    }
+
+    OffsetStore offsets(String group) {
+        return offsets.computeIfAbsent(group, g -> {
+            try {
+                return new OffsetStore(g, directory.resolve(g + OFFSET_SUFFIX), fsync == FsyncPolicy.ALWAYS);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open the offsets of the group " + g, e);
+            }
+        });
+    }
+
+    /**
+     * Registers a listener called after each append, on the appending thread.
+     */
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void flush() {
+        try {
+            synchronized (this) {
+                if (dirty && !closed) {
+                    active.force();
+                    dirty = false;
+                }
+            }
+            offsets.values().forEach(OffsetStore::force);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to flush the journal {}", directory, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        List<Segment> toClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (fsync != FsyncPolicy.NEVER && dirty) {
+                active.force();
+            }
+            toClose = new ArrayList<>(segments);
+        }
+        listeners.clear();
+        for (OffsetStore store : offsets.values()) {
+            store.close();
+        }
+        for (Segment segment : toClose) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes the payloads written to the journal. The first byte indicates the type of payload, so the payloads are
+ * restored with their original type: {@code byte[]}, {@code String}, or any other {@link Serializable} object.
+ */
+final class JournalCodec {
+
+    private static final byte BYTES = 0;
+    private static final byte STRING = 1;
+    private static final byte SERIALIZED = 2;
+
+    private JournalCodec() {
+        // Avoid direct instantiation
+    }
+
+    static byte[] encode(Object payload) {
+        if (payload instanceof byte[]) {
+            return tag(BYTES, (byte[]) payload);
+        }
+        if (payload instanceof String) {
+            return tag(STRING, ((String) payload).getBytes(StandardCharsets.UTF_8));
+        }
+        if (payload instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            bytes.write(SERIALIZED);
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to serialize the payload", e);
+            }
+            return bytes.toByteArray();
+        }
+        throw new IllegalArgumentException("Unsupported payload type " + (payload == null ? null : payload.getClass())
+                + ", the payload must be a byte array, a String or a Serializable object");
+    }
+
+    private static byte[] tag(byte type, byte[] data) {
+        byte[] result = new byte[data.length + 1];
+        result[0] = type;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    static Object decode(byte[] record) {
+        switch (record[0]) {
+            case BYTES:
+                return Arrays.copyOfRange(record, 1, record.length);
+            case STRING:
+                return new String(record, 1, record.length - 1, StandardCharsets.UTF_8);
+            case SERIALIZED:
+                try (ObjectInputStream in = new ObjectInputStream(
+                        new ByteArrayInputStream(record, 1, record.length - 1))) {
+                    return in.readObject();
+                } catch (IOException | ClassNotFoundException e) {
+                    throw new IllegalStateException("Unable to deserialize a journal record", e);
+                }
+            default:
+                throw new IllegalStateException("Invalid journal record type: " + record[0]);
+        }
+    }
+}
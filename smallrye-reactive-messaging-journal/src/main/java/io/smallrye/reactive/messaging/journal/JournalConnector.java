@@ -0,0 +1,109 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.event.Observes;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.reactive.messaging.spi.IncomingConnectorFactory;
+import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connector reading and writing a local, durable, append-only {@link Journal}.
+ * <p>
+ * The channels configured with the same {@code directory} share the same journal, so an outgoing channel can buffer
+ * the messages on disk for an incoming channel, including across restarts.
+ */
+@ApplicationScoped
+@Connector(JournalConnector.CONNECTOR_NAME)
+public class JournalConnector implements IncomingConnectorFactory, OutgoingConnectorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalConnector.class);
+
+    public static final String CONNECTOR_NAME = "smallrye-journal";
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    static final long DEFAULT_FSYNC_INTERVAL = 1000;
+
+    private final Map<Path, Journal> journals = new ConcurrentHashMap<>();
+    private final List<JournalSource> sources = new CopyOnWriteArrayList<>();
+    private final List<JournalSink> sinks = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "journal-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Stops the sinks and the sources before closing the journals, and only then shuts down the delivery executor, so
+     * that an append never schedules a delivery on a terminated executor.
+     */
+    public void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        sinks.forEach(JournalSink::close);
+        sinks.clear();
+        sources.forEach(JournalSource::close);
+        sources.clear();
+        journals.values().forEach(journal -> {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close the journal {}", journal.getDirectory(), e);
+            }
+        });
+        journals.clear();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public PublisherBuilder<? extends Message<?>> getPublisherBuilder(Config config) {
+        JournalSource source = new JournalSource(getJournal(config), executor, config);
+        sources.add(source);
+        return source.source();
+    }
+
+    @Override
+    public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
+        JournalSink sink = new JournalSink(getJournal(config));
+        sinks.add(sink);
+        return sink.sink();
+    }
+
+    /**
+     * Gets the journal stored in the configured directory, opening it if needed. The other attributes are only used
+     * when the journal is opened.
+     */
+    private Journal getJournal(Config config) {
+        Path directory = Paths.get(config.getOptionalValue("directory", String.class)
+                .orElseThrow(() -> new IllegalArgumentException("`directory` must be set")))
+                .toAbsolutePath().normalize();
+        return journals.computeIfAbsent(directory, dir -> {
+            int segmentSize = config.getOptionalValue("segment-size", Integer.class).orElse(DEFAULT_SEGMENT_SIZE);
+            int maxSegments = config.getOptionalValue("max-segments", Integer.class).orElse(0);
+            FsyncPolicy fsync = config.getOptionalValue("fsync", String.class).map(FsyncPolicy::from)
+                    .orElse(FsyncPolicy.INTERVAL);
+            long interval = config.getOptionalValue("fsync.interval", Long.class).orElse(DEFAULT_FSYNC_INTERVAL);
+            try {
+                return new Journal(dir, segmentSize, maxSegments, fsync, interval);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open the journal " + dir, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package io.smallrye.reactive.messaging.journal;
+
+/**
+ * Sequential reader of a {@link Journal}. A cursor is not thread-safe.
+ */
+public class JournalCursor {
+
+    private final Journal journal;
+    private Segment segment;
+    private int position;
+    private long offset;
+
+    JournalCursor(Journal journal, Segment segment, long offset) {
+        this.journal = journal;
+        this.segment = segment;
+        this.offset = segment.getBaseOffset();
+        // Skip the records preceding the requested offset.
+        while (this.offset < offset && position < segment.getCommitted()) {
+            position += Segment.RECORD_HEADER_SIZE + segment.readLength(position);
+            this.offset++;
+        }
+    }
+
+    /**
+     * @return the next record, {@code null} if all the records appended so far have been read
+     */
+    public byte[] poll() {
+        while (true) {
+            if (position < segment.getCommitted()) {
+                byte[] data = segment.read(position);
+                position += Segment.RECORD_HEADER_SIZE + data.length;
+                offset++;
+                return data;
+            }
+            Segment next = journal.next(segment);
+            if (next == null) {
+                return null;
+            }
+            if (position < segment.getCommitted()) {
+                // Records appended before the creation of the next segment.
+                continue;
+            }
+            segment = next;
+            position = 0;
+            offset = next.getBaseOffset();
+        }
+    }
+
+    /**
+     * @return the offset of the next record to be read
+     */
+    public long getOffset() {
+        return offset;
+    }
+}
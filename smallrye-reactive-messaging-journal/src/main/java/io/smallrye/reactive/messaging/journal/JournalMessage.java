@@ -0,0 +1,42 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * Message read from a journal. Acknowledging the message commits its offset for the consumer group.
+ *
+ * @param <T> the type of payload
+ */
+public class JournalMessage<T> implements Message<T> {
+
+    private final T payload;
+    private final long offset;
+    private final OffsetStore offsets;
+
+    JournalMessage(T payload, long offset, OffsetStore offsets) {
+        this.payload = payload;
+        this.offset = offset;
+        this.offsets = offsets;
+    }
+
+    @Override
+    public T getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the offset of the record in the journal
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public CompletionStage<Void> ack() {
+        offsets.acknowledge(offset);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,59 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class JournalSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalSink.class);
+
+    private final Journal journal;
+    private volatile boolean closed;
+
+    JournalSink(Journal journal) {
+        this.journal = Objects.requireNonNull(journal);
+    }
+
+    SubscriberBuilder<? extends Message<?>, Void> sink() {
+        return ReactiveStreams.<Message<?>> builder()
+                .flatMapCompletionStage(this::append)
+                .onError(t -> LOGGER.error("Unable to write to the journal {}", journal.getDirectory(), t))
+                .ignore();
+    }
+
+    /**
+     * Stops appending the received messages, they are not acknowledged anymore.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Appends the payload and acknowledges the message. With the {@code always} fsync policy, the record is on disk
+     * when the message is acknowledged.
+     */
+    private CompletionStage<Message<?>> append(Message<?> message) {
+        if (closed) {
+            CompletableFuture<Message<?>> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("The journal sink " + journal.getDirectory()
+                    + " is closed"));
+            return future;
+        }
+        try {
+            journal.append(JournalCodec.encode(message.getPayload()));
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<Message<?>> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return message.ack().thenApply(x -> message);
+    }
+}
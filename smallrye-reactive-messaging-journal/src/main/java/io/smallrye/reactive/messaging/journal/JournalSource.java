@@ -0,0 +1,202 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class JournalSource implements Publisher<Message<?>> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalSource.class);
+
+    private final Journal journal;
+    private final Executor executor;
+    private final String group;
+    private final String offset;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile JournalSubscription subscription;
+
+    JournalSource(Journal journal, Executor executor, Config config) {
+        this.journal = Objects.requireNonNull(journal);
+        this.executor = Objects.requireNonNull(executor);
+        this.group = config.getOptionalValue("group", String.class)
+                .orElseGet(() -> config.getOptionalValue("channel-name", String.class)
+                        .orElseThrow(() -> new IllegalArgumentException("`group` must be set")));
+        this.offset = config.getOptionalValue("offset", String.class).orElse("committed").trim();
+    }
+
+    PublisherBuilder<? extends Message<?>> source() {
+        return ReactiveStreams.fromPublisher(this);
+    }
+
+    /**
+     * Cancels the subscription, if any, and unregisters its journal listener. No record is delivered anymore.
+     */
+    void close() {
+        JournalSubscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Message<?>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored.
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored.
+                }
+            });
+            subscriber.onError(new IllegalStateException("The journal source of the group " + group
+                    + " only supports a single subscriber"));
+            return;
+        }
+        OffsetStore offsets = journal.offsets(group);
+        long start = resolveStartOffset(offsets);
+        LOGGER.info("Reading journal {} from offset {} (group {})", journal.getDirectory(), start, group);
+        JournalSubscription subscription = new JournalSubscription(subscriber, journal.cursor(start), offsets);
+        this.subscription = subscription;
+        journal.addListener(subscription.listener);
+        subscriber.onSubscribe(subscription);
+        subscription.schedule();
+    }
+
+    private long resolveStartOffset(OffsetStore offsets) {
+        long start;
+        switch (offset.toLowerCase()) {
+            case "committed":
+                start = offsets.getCommitted();
+                if (start < journal.getStartOffset() || start > journal.getEndOffset()) {
+                    start = journal.getStartOffset();
+                    offsets.reset(start);
+                }
+                return start;
+            case "earliest":
+                start = journal.getStartOffset();
+                break;
+            case "latest":
+                start = journal.getEndOffset();
+                break;
+            default:
+                try {
+                    start = Math.max(journal.getStartOffset(), Long.parseLong(offset));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid `offset` value: " + offset + ", supported values are "
+                            + "committed, earliest, latest or a numeric offset");
+                }
+        }
+        offsets.reset(start);
+        return start;
+    }
+
+    private class JournalSubscription implements Subscription {
+
+        private final Subscriber<? super Message<?>> downstream;
+        private final JournalCursor cursor;
+        private final OffsetStore offsets;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private final Runnable listener = this::schedule;
+
+        private JournalSubscription(Subscriber<? super Message<?>> downstream, JournalCursor cursor,
+                OffsetStore offsets) {
+            this.downstream = downstream;
+            this.cursor = cursor;
+            this.offsets = offsets;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(
+                        new IllegalArgumentException("Invalid request: " + n + ", the number of items must be positive"));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            journal.removeListener(listener);
+        }
+
+        /**
+         * Called on each append and request. The records are delivered from the executor, so the appending threads
+         * are never blocked by the processing.
+         */
+        private void schedule() {
+            if (!cancelled && wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // The connector is terminating, an append raced with the removal of the listener.
+                    cancel();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    byte[] record = cursor.poll();
+                    if (record == null) {
+                        break;
+                    }
+                    long position = cursor.getOffset() - 1;
+                    Object payload;
+                    try {
+                        payload = JournalCodec.decode(record);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        downstream.onError(e);
+                        return;
+                    }
+                    downstream.onNext(new JournalMessage<>(payload, position, offsets));
+                    emitted++;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
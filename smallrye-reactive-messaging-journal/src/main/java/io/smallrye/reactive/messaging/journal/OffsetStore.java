@@ -0,0 +1,89 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeSet;
+
+/**
+ * The committed offset of a consumer group, stored in a small memory-mapped file.
+ * <p>
+ * The messages can be acknowledged out of order, so the committed offset only moves past an offset when all the
+ * previous offsets have been acknowledged. On restart, the consumption resumes from the committed offset, so the
+ * messages not acknowledged yet are redelivered (at-least-once).
+ */
+final class OffsetStore {
+
+    private final String group;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean fsync;
+    private final TreeSet<Long> acknowledged = new TreeSet<>();
+    private long committed;
+    private boolean dirty;
+
+    OffsetStore(String group, Path path, boolean fsync) throws IOException {
+        this.group = group;
+        this.fsync = fsync;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        this.committed = buffer.getLong(0);
+    }
+
+    synchronized long getCommitted() {
+        return committed;
+    }
+
+    /**
+     * Restarts the tracking from the given offset, used when the consumption does not start from the committed
+     * offset.
+     */
+    synchronized void reset(long offset) {
+        acknowledged.clear();
+        write(offset);
+    }
+
+    synchronized void acknowledge(long offset) {
+        if (offset < committed) {
+            return;
+        }
+        acknowledged.add(offset);
+        long next = committed;
+        while (!acknowledged.isEmpty() && acknowledged.first() == next) {
+            acknowledged.pollFirst();
+            next++;
+        }
+        if (next != committed) {
+            write(next);
+        }
+    }
+
+    private void write(long offset) {
+        committed = offset;
+        buffer.putLong(0, offset);
+        if (fsync) {
+            buffer.force();
+        } else {
+            dirty = true;
+        }
+    }
+
+    synchronized void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    String getGroup() {
+        return group;
+    }
+
+    synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
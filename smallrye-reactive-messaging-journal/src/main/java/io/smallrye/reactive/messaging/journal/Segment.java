@@ -0,0 +1,158 @@
+package io.smallrye.reactive.messaging.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped file of the journal, containing the records from {@link #baseOffset}.
+ * <p>
+ * Each record is written as: length (int), CRC32 of the data (int), data. A length of {@code 0} marks the end of the
+ * segment. The data is written before the length, and on reload, the records are read until the first invalid one, so
+ * a partially written record is discarded.
+ * <p>
+ * Only the journal (under its lock) writes, readers only access the bytes before {@link #committed}.
+ */
+final class Segment {
+
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer writer;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The end of the last complete record, published to the readers.
+     */
+    private volatile int committed;
+    private int count;
+
+    private Segment(long baseOffset, Path path, int size) throws IOException {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        this.writer = buffer.duplicate();
+        recover();
+    }
+
+    static Segment open(Path path, long baseOffset, int size) throws IOException {
+        return new Segment(baseOffset, path, size);
+    }
+
+    private void recover() {
+        ByteBuffer reader = buffer.duplicate();
+        int position = 0;
+        while (true) {
+            int length = readLength(position);
+            if (length <= 0) {
+                break;
+            }
+            byte[] data = new byte[length];
+            reader.position(position + RECORD_HEADER_SIZE);
+            reader.get(data);
+            crc.reset();
+            crc.update(data, 0, length);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            count++;
+        }
+        committed = position;
+        if (position + 4 <= buffer.capacity()) {
+            // Discard a partially written record.
+            buffer.putInt(position, 0);
+        }
+    }
+
+    /**
+     * @return the length of the record at the given position, {@code 0} if there is no (valid) record
+     */
+    int readLength(int position) {
+        if (position + RECORD_HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+            return 0;
+        }
+        return length;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @return {@code false} if the record does not fit in the segment
+     */
+    boolean append(byte[] data) {
+        int position = committed;
+        if (position + RECORD_HEADER_SIZE + data.length > buffer.capacity()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(data, 0, data.length);
+        writer.position(position + RECORD_HEADER_SIZE);
+        writer.put(data);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        int end = position + RECORD_HEADER_SIZE + data.length;
+        if (end + 4 <= buffer.capacity()) {
+            buffer.putInt(end, 0);
+        }
+        buffer.putInt(position, data.length);
+        count++;
+        committed = end;
+        return true;
+    }
+
+    /**
+     * Copies the data of the record at the given position, which must be before {@link #getCommitted()}.
+     */
+    byte[] read(int position) {
+        int length = buffer.getInt(position);
+        byte[] data = new byte[length];
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(position + RECORD_HEADER_SIZE);
+        reader.get(data);
+        return data;
+    }
+
+    static boolean fits(int segmentSize, byte[] data) {
+        return RECORD_HEADER_SIZE + data.length <= segmentSize;
+    }
+
+    int getCommitted() {
+        return committed;
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    /**
+     * @return the offset following the last record of the segment
+     */
+    long getEndOffset() {
+        return baseOffset + count;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,149 @@
+package io.smallrye.reactive.messaging.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+
+public class JournalConnectorTest extends WeldTestBase {
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal-");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        releaseConfig();
+        Files.list(directory).forEach(path -> path.toFile().delete());
+        Files.deleteIfExists(directory);
+    }
+
+    private void install(String offset) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("mp.messaging.outgoing.to-journal.connector", JournalConnector.CONNECTOR_NAME);
+        conf.put("mp.messaging.outgoing.to-journal.directory", directory.toString());
+        conf.put("mp.messaging.outgoing.to-journal.segment-size", 1024);
+        conf.put("mp.messaging.outgoing.to-journal.fsync", "always");
+        conf.put("mp.messaging.incoming.from-journal.connector", JournalConnector.CONNECTOR_NAME);
+        conf.put("mp.messaging.incoming.from-journal.directory", directory.toString());
+        conf.put("mp.messaging.incoming.from-journal.group", "consumers");
+        if (offset != null) {
+            conf.put("mp.messaging.incoming.from-journal.offset", offset);
+        }
+        installConfig(new MapBasedConfig(conf));
+    }
+
+    @Test
+    public void testWriteReadAndResume() {
+        install(null);
+        addBeanClass(Producer.class, Consumer.class);
+        initialize();
+        Consumer consumer = get(Consumer.class);
+        await().until(() -> consumer.received().size() == 100);
+        assertThat(consumer.received()).startsWith("message-0").endsWith("message-99");
+        tearDown();
+
+        // Restart: the acknowledged records are not redelivered
+        setUp();
+        install(null);
+        addBeanClass(Consumer.class);
+        initialize();
+        Consumer resumed = get(Consumer.class);
+        await().pollDelay(200, TimeUnit.MILLISECONDS).until(() -> resumed.received().isEmpty());
+
+        // Replay from an offset
+        tearDown();
+        setUp();
+        install("90");
+        addBeanClass(Consumer.class);
+        initialize();
+        Consumer replayed = get(Consumer.class);
+        await().until(() -> replayed.received().size() == 10);
+        assertThat(replayed.received()).startsWith("message-90").endsWith("message-99");
+    }
+
+    @Test
+    public void testThatTerminateStopsTheSinksBeforeTheExecutor() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("directory", directory.toString());
+        conf.put("group", "consumers");
+        conf.put("channel-name", "journal");
+        MapBasedConfig config = new MapBasedConfig(conf);
+        JournalConnector connector = new JournalConnector();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        connector.getPublisherBuilder(config)
+                .forEach(m -> {
+                    received.add((String) m.getPayload());
+                    m.ack();
+                })
+                .run();
+        List<String> acked = new CopyOnWriteArrayList<>();
+        UnicastProcessor<Message<String>> processor = UnicastProcessor.create();
+        processor.subscribe(connector.getSubscriberBuilder(config).build());
+        for (int i = 0; i < 10; i++) {
+            processor.onNext(message("message-" + i, acked));
+        }
+        await().until(() -> received.size() == 10);
+
+        connector.terminate(null);
+        // Written after the termination: neither appended nor acknowledged, and never delivered by the terminated
+        // executor.
+        processor.onNext(message("message-10", acked));
+        await().pollDelay(100, TimeUnit.MILLISECONDS).until(() -> received.size() == 10);
+        assertThat(acked).hasSize(10);
+    }
+
+    private static Message<String> message(String payload, List<String> acked) {
+        return Message.of(payload, () -> {
+            acked.add(payload);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @ApplicationScoped
+    public static class Producer {
+        @Outgoing("to-journal")
+        public Publisher<String> produce() {
+            return Flowable.range(0, 100).map(i -> "message-" + i);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Consumer {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Incoming("from-journal")
+        public void consume(String payload) {
+            received.add(payload);
+        }
+
+        public List<String> received() {
+            return received;
+        }
+    }
+}
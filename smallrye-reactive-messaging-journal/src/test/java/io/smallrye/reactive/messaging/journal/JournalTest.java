@@ -0,0 +1,108 @@
+package io.smallrye.reactive.messaging.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournalTest {
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal-");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        Files.list(directory).forEach(path -> path.toFile().delete());
+        Files.deleteIfExists(directory);
+    }
+
+    private static List<Object> readAll(JournalCursor cursor) {
+        List<Object> list = new ArrayList<>();
+        byte[] record;
+        while ((record = cursor.poll()) != null) {
+            list.add(JournalCodec.decode(record));
+        }
+        return list;
+    }
+
+    @Test
+    public void testAppendAndReadAcrossSegments() throws IOException {
+        try (Journal journal = new Journal(directory, 128, 0, FsyncPolicy.NEVER, 0)) {
+            JournalCursor cursor = journal.cursor(0);
+            for (int i = 0; i < 20; i++) {
+                assertThat(journal.append(JournalCodec.encode("message-" + i))).isEqualTo(i);
+            }
+            List<Object> records = readAll(cursor);
+            assertThat(records).hasSize(20).startsWith("message-0").endsWith("message-19");
+            assertThat(cursor.getOffset()).isEqualTo(20);
+            assertThat(Files.list(directory).count()).isGreaterThan(1);
+
+            // Replay from an offset
+            assertThat(readAll(journal.cursor(15))).containsExactly("message-15", "message-16", "message-17",
+                    "message-18", "message-19");
+        }
+    }
+
+    @Test
+    public void testRetentionAndRestart() throws IOException {
+        try (Journal journal = new Journal(directory, 128, 2, FsyncPolicy.ALWAYS, 0)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(JournalCodec.encode(i));
+            }
+            assertThat(journal.getStartOffset()).isGreaterThan(0);
+        }
+        try (Journal journal = new Journal(directory, 128, 2, FsyncPolicy.ALWAYS, 0)) {
+            assertThat(journal.getEndOffset()).isEqualTo(20);
+            List<Object> records = readAll(journal.cursor(0));
+            assertThat(records).isNotEmpty().endsWith(19);
+            assertThat(records.get(0)).isEqualTo((int) journal.getStartOffset());
+        }
+    }
+
+    @Test
+    public void testThatAPartiallyWrittenRecordIsDiscarded() throws IOException {
+        try (Journal journal = new Journal(directory, 1024, 0, FsyncPolicy.ALWAYS, 0)) {
+            journal.append(JournalCodec.encode("a"));
+            journal.append(JournalCodec.encode("b"));
+        }
+        // Corrupt the data of the second record, as if the process crashed during the write.
+        Path segment = Files.list(directory).filter(p -> p.toString().endsWith(".segment")).findFirst().get();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), Segment.RECORD_HEADER_SIZE * 2 + 2 + 1);
+        }
+        try (Journal journal = new Journal(directory, 1024, 0, FsyncPolicy.ALWAYS, 0)) {
+            assertThat(journal.getEndOffset()).isEqualTo(1);
+            journal.append(JournalCodec.encode("c"));
+            assertThat(readAll(journal.cursor(0))).containsExactly("a", "c");
+        }
+    }
+
+    @Test
+    public void testThatOffsetsAreCommittedInOrder() throws IOException {
+        try (Journal journal = new Journal(directory, 1024, 0, FsyncPolicy.INTERVAL, 10)) {
+            OffsetStore offsets = journal.offsets("group");
+            offsets.acknowledge(2);
+            offsets.acknowledge(1);
+            assertThat(offsets.getCommitted()).isEqualTo(0);
+            offsets.acknowledge(0);
+            assertThat(offsets.getCommitted()).isEqualTo(3);
+        }
+        try (Journal journal = new Journal(directory, 1024, 0, FsyncPolicy.INTERVAL, 10)) {
+            assertThat(journal.offsets("group").getCommitted()).isEqualTo(3);
+        }
+    }
+}
@@ -1,64 +1,103 @@
 package io.smallrye.reactive.messaging.kafka;
 
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Headers;
 import org.eclipse.microprofile.reactive.messaging.Metadata;
 
+import io.smallrye.reactive.messaging.kafka.commit.KafkaCommitHandler;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaLatestCommit;
 import io.vertx.reactivex.kafka.client.consumer.KafkaConsumer;
 import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecord;
 
+/**
+ * Message wrapping a record received from Kafka. The accessors read the underlying {@link ConsumerRecord}, and the
+ * {@link IncomingKafkaRecordMetadata} is only created when the metadata are requested, so a record in flight only
+ * retains this object, the consumer record and its Vert.x wrapper.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of the value
+ */
 public class IncomingKafkaRecord<K, T> implements KafkaRecord<K, T> {
 
-    private final KafkaConsumer<K, T> consumer;
-    private final Metadata metadata;
-    private final IncomingKafkaRecordMetadata<K, T> kafkaMetadata;
+    private final KafkaConsumerRecord<K, T> record;
+    private final ConsumerRecord<K, T> delegate;
+    private final KafkaCommitHandler commitHandler;
+    private final String groupId;
+    private volatile Metadata metadata;
 
     public IncomingKafkaRecord(KafkaConsumer<K, T> consumer, KafkaConsumerRecord<K, T> record) {
-        this.consumer = consumer;
-        this.kafkaMetadata = new IncomingKafkaRecordMetadata<>(record);
-        this.metadata = Metadata.of(this.kafkaMetadata);
+        this(record, new KafkaLatestCommit(consumer));
+    }
+
+    public IncomingKafkaRecord(KafkaConsumerRecord<K, T> record, KafkaCommitHandler commitHandler) {
+        this(record, commitHandler, null);
+    }
+
+    /**
+     * @param record the received record
+     * @param commitHandler the handler called on acknowledgement
+     * @param groupId the group id of the consumer having received the record, {@code null} if unknown
+     */
+    public IncomingKafkaRecord(KafkaConsumerRecord<K, T> record, KafkaCommitHandler commitHandler, String groupId) {
+        this.record = record;
+        this.delegate = record.getDelegate().record();
+        this.commitHandler = commitHandler;
+        this.groupId = groupId;
     }
 
     @Override
     public T getPayload() {
-        return kafkaMetadata.getRecord().value();
+        return delegate.value();
     }
 
     @Override
     public K getKey() {
-        return kafkaMetadata.getKey();
+        return delegate.key();
     }
 
     @Override
     public String getTopic() {
-        return kafkaMetadata.getTopic();
+        return delegate.topic();
     }
 
     @Override
     public int getPartition() {
-        return kafkaMetadata.getPartition();
+        return delegate.partition();
     }
 
     @Override
     public long getTimestamp() {
-        return kafkaMetadata.getTimestamp();
+        return delegate.timestamp();
     }
 
     @Override
     public Headers getHeaders() {
-        return kafkaMetadata.getHeaders();
+        return delegate.headers();
     }
 
     public long getOffset() {
-        return kafkaMetadata.getOffset();
+        return delegate.offset();
+    }
+
+    /**
+     * @return the group id of the consumer having received the record, {@code null} if unknown
+     */
+    public String getConsumerGroupId() {
+        return groupId;
     }
 
     @Override
     public Metadata getMetadata() {
-        return metadata;
+        // Racy single-check: concurrent callers may create distinct, but equivalent, instances.
+        Metadata result = metadata;
+        if (result == null) {
+            result = Metadata.of(new IncomingKafkaRecordMetadata<>(record, groupId));
+            metadata = result;
+        }
+        return result;
     }
 
     @Override
@@ -68,7 +107,6 @@ public class IncomingKafkaRecord<K, T> implements KafkaRecord<K, T> {
 
     @Override
     public CompletionStage<Void> ack() {
-        consumer.commit();
-        return CompletableFuture.completedFuture(null);
+        return commitHandler.handle(this);
     }
 }
@@ -1,73 +1,76 @@
 package io.smallrye.reactive.messaging.kafka;
 
-import java.util.stream.Collectors;
-
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Headers;
-import org.apache.kafka.common.header.internals.RecordHeader;
-import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.record.TimestampType;
 
 import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecord;
 
+/**
+ * Metadata of the records received from Kafka. The values are read from the underlying {@link ConsumerRecord}, nothing
+ * is copied.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of the value
+ */
 public class IncomingKafkaRecordMetadata<K, T> implements KafkaMessageMetadata<K> {
 
-    private final K recordKey;
-    private final String topic;
-    private final int partition;
-    private final long timestamp;
-    private final TimestampType timestampType;
-    private final long offset;
-    private final RecordHeaders headers;
     private final KafkaConsumerRecord<K, T> record;
+    private final ConsumerRecord<K, T> delegate;
+    private final String groupId;
 
     public IncomingKafkaRecordMetadata(KafkaConsumerRecord<K, T> record) {
+        this(record, null);
+    }
+
+    public IncomingKafkaRecordMetadata(KafkaConsumerRecord<K, T> record, String groupId) {
         this.record = record;
-        this.recordKey = record.key();
-        this.topic = record.topic();
-        this.partition = record.partition();
-        this.timestamp = record.timestamp();
-        this.timestampType = record.timestampType();
-        this.offset = record.offset();
-        if (record.headers() == null) {
-            this.headers = new RecordHeaders();
-        } else {
-            this.headers = new RecordHeaders(record.headers().stream()
-                    .map(kh -> new RecordHeader(kh.key(), kh.value().getBytes())).collect(
-                            Collectors.toList()));
-        }
+        this.delegate = record.getDelegate().record();
+        this.groupId = groupId;
     }
 
     @Override
     public String getTopic() {
-        return topic;
+        return delegate.topic();
     }
 
     @Override
     public K getKey() {
-        return recordKey;
+        return delegate.key();
     }
 
     @Override
     public int getPartition() {
-        return partition;
+        return delegate.partition();
     }
 
     @Override
     public long getTimestamp() {
-        return timestamp;
+        return delegate.timestamp();
     }
 
     public TimestampType getTimestampType() {
-        return timestampType;
+        return delegate.timestampType();
     }
 
     public long getOffset() {
-        return offset;
+        return delegate.offset();
+    }
+
+    /**
+     * @return the group id of the consumer having received the record, {@code null} if unknown. Used to commit the
+     *         offset of the record in a transaction.
+     */
+    public String getConsumerGroupId() {
+        return groupId;
     }
 
+    /**
+     * @return the headers of the underlying record, not a copy
+     */
     @Override
     public Headers getHeaders() {
-        return headers;
+        return delegate.headers();
     }
 
     public KafkaConsumerRecord<K, T> getRecord() {
@@ -1,7 +1,10 @@
 package io.smallrye.reactive.messaging.kafka;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -19,8 +22,10 @@ import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 
+import io.smallrye.reactive.messaging.kafka.impl.KafkaProducerPool;
 import io.smallrye.reactive.messaging.kafka.impl.KafkaSink;
 import io.smallrye.reactive.messaging.kafka.impl.KafkaSource;
+import io.smallrye.reactive.messaging.metrics.MetricDecorator;
 import io.vertx.reactivex.core.Vertx;
 
 @ApplicationScoped
@@ -32,6 +37,9 @@ public class KafkaConnector implements IncomingConnectorFactory, OutgoingConnect
     @Inject
     private Instance<Vertx> instanceOfVertx;
 
+    @Inject
+    private Instance<MetricDecorator> metricsInstance;
+
     @Inject
     @ConfigProperty(name = "kafka.bootstrap.servers", defaultValue = "localhost:9092")
     private String servers;
@@ -41,6 +49,7 @@ public class KafkaConnector implements IncomingConnectorFactory, OutgoingConnect
 
     private boolean internalVertxInstance = false;
     private Vertx vertx;
+    private KafkaProducerPool producers;
 
     public void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
         sources.forEach(KafkaSource::closeQuietly);
@@ -59,6 +68,7 @@ public class KafkaConnector implements IncomingConnectorFactory, OutgoingConnect
         } else {
             this.vertx = instanceOfVertx.get();
         }
+        this.producers = new KafkaProducerPool(vertx);
     }
 
     @Override
@@ -66,14 +76,34 @@ public class KafkaConnector implements IncomingConnectorFactory, OutgoingConnect
         String s = servers;
         KafkaSource<Object, Object> source = new KafkaSource<>(vertx, config, s);
         sources.add(source);
+        Optional<String> channel = config.getOptionalValue("channel-name", String.class);
+        if (channel.isPresent() && metricsInstance.isResolvable()) {
+            MetricDecorator metrics = metricsInstance.get();
+            registerClientMetrics(metrics, channel.get(), source.getClientMetrics());
+            if (source.isPrefetching()) {
+                metrics.registerGauge("mp.messaging.kafka.prefetch.records", channel.get(),
+                        source::getPrefetchedRecords);
+                metrics.registerGauge("mp.messaging.kafka.prefetch.bytes", channel.get(), source::getPrefetchedBytes);
+                metrics.registerGauge("mp.messaging.kafka.paused-partitions", channel.get(),
+                        source::getPausedPartitions);
+            }
+        }
         return source.getSource();
     }
 
     @Override
     public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
         String s = servers;
-        KafkaSink sink = new KafkaSink(vertx, config, s);
+        KafkaSink sink = new KafkaSink(vertx, config, s, producers);
         sinks.add(sink);
+        Optional<String> channel = config.getOptionalValue("channel-name", String.class);
+        if (channel.isPresent() && metricsInstance.isResolvable()) {
+            registerClientMetrics(metricsInstance.get(), channel.get(), sink.getClientMetrics());
+        }
         return sink.getSink();
     }
+
+    private void registerClientMetrics(MetricDecorator metrics, String channel, Map<String, Supplier<Number>> gauges) {
+        gauges.forEach((name, gauge) -> metrics.registerGauge("mp.messaging.kafka." + name, channel, gauge));
+    }
 }
@@ -0,0 +1,84 @@
+package io.smallrye.reactive.messaging.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.apache.kafka.common.TopicPartition;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.reactive.messaging.kafka.commit.KafkaCommitHandler;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecords;
+
+/**
+ * Message containing the records returned by a single poll of the Kafka consumer. The payload is the list of the
+ * record values, in order. Each record, with its metadata, is available using {@link #getRecords()}.
+ * <p>
+ * Acknowledging the batch acknowledges all its records, so the last offset of each partition can be committed.
+ *
+ * @param <K> the type of the record keys
+ * @param <T> the type of the record values
+ */
+public class KafkaRecordBatch<K, T> implements Message<List<T>> {
+
+    private final List<IncomingKafkaRecord<K, T>> records;
+    private final List<T> payload;
+    private final KafkaCommitHandler commitHandler;
+
+    public KafkaRecordBatch(KafkaConsumerRecords<K, T> records, KafkaCommitHandler commitHandler) {
+        this(records, commitHandler, null);
+    }
+
+    public KafkaRecordBatch(KafkaConsumerRecords<K, T> records, KafkaCommitHandler commitHandler, String groupId) {
+        this.commitHandler = commitHandler;
+        int size = records.size();
+        List<IncomingKafkaRecord<K, T>> list = new ArrayList<>(size);
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            IncomingKafkaRecord<K, T> record = new IncomingKafkaRecord<>(records.recordAt(i), commitHandler,
+                    groupId);
+            list.add(record);
+            values.add(record.getPayload());
+        }
+        this.records = Collections.unmodifiableList(list);
+        this.payload = Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public List<T> getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the records of the batch, in the order they have been polled
+     */
+    public List<IncomingKafkaRecord<K, T>> getRecords() {
+        return records;
+    }
+
+    /**
+     * @return the record with the highest offset of each partition contained in the batch
+     */
+    public Map<TopicPartition, IncomingKafkaRecord<K, T>> getLatestOffsetRecords() {
+        Map<TopicPartition, IncomingKafkaRecord<K, T>> latest = new LinkedHashMap<>();
+        for (IncomingKafkaRecord<K, T> record : records) {
+            latest.merge(new TopicPartition(record.getTopic(), record.getPartition()), record,
+                    (a, b) -> a.getOffset() > b.getOffset() ? a : b);
+        }
+        return latest;
+    }
+
+    @Override
+    public Supplier<CompletionStage<Void>> getAck() {
+        return this::ack;
+    }
+
+    @Override
+    public CompletionStage<Void> ack() {
+        return commitHandler.handle(this);
+    }
+}
@@ -0,0 +1,130 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+import io.vertx.kafka.client.common.TopicPartition;
+
+/**
+ * Commits the offsets of the records received by a Kafka source when they are acknowledged.
+ */
+public interface KafkaCommitHandler {
+
+    /**
+     * The supported commit strategies, configured using the {@code commit-strategy} attribute.
+     */
+    enum Strategy {
+
+        /**
+         * Commits the current position of the consumer on each acknowledgement.
+         */
+        LATEST,
+
+        /**
+         * Tracks the acknowledged offsets per partition and periodically commits the highest contiguous one.
+         */
+        THROTTLED,
+
+        /**
+         * Never commits, the offsets are committed by a transactional Kafka sink.
+         */
+        IGNORE;
+
+        public static Strategy from(String value) {
+            for (Strategy strategy : values()) {
+                if (strategy.name().equalsIgnoreCase(value.trim())) {
+                    return strategy;
+                }
+            }
+            throw new IllegalArgumentException("Invalid commit strategy `" + value + "`, supported values are: latest, "
+                    + "throttled and ignore");
+        }
+    }
+
+    /**
+     * Called when a record is received, before it is dispatched.
+     *
+     * @param record the record
+     */
+    default <K, V> void received(IncomingKafkaRecord<K, V> record) {
+        // Nothing by default
+    }
+
+    /**
+     * Called when a record is acknowledged.
+     *
+     * @param record the record
+     * @return the completion stage returned by the acknowledgement
+     */
+    <K, V> CompletionStage<Void> handle(IncomingKafkaRecord<K, V> record);
+
+    /**
+     * Called when a batch is received, before it is dispatched. By default, calls
+     * {@link #received(IncomingKafkaRecord)} for each record.
+     *
+     * @param batch the batch
+     */
+    default <K, V> void received(KafkaRecordBatch<K, V> batch) {
+        for (IncomingKafkaRecord<K, V> record : batch.getRecords()) {
+            received(record);
+        }
+    }
+
+    /**
+     * Called when a batch is acknowledged. By default, calls {@link #handle(IncomingKafkaRecord)} for each record.
+     *
+     * @param batch the batch
+     * @return the completion stage returned by the acknowledgement
+     */
+    default <K, V> CompletionStage<Void> handle(KafkaRecordBatch<K, V> batch) {
+        CompletionStage<Void> result = CompletableFuture.completedFuture(null);
+        for (IncomingKafkaRecord<K, V> record : batch.getRecords()) {
+            result = result.thenCombine(handle(record), (a, b) -> null);
+        }
+        return result;
+    }
+
+    /**
+     * Called when partitions are assigned to the consumer. Called synchronously by the polling thread of the consumer,
+     * before the records of these partitions are fetched.
+     *
+     * @param partitions the assigned partitions
+     */
+    default void partitionsAssigned(Set<TopicPartition> partitions) {
+        // Nothing by default
+    }
+
+    /**
+     * Called when partitions are revoked from the consumer. Called synchronously by the polling thread of the
+     * consumer, before the partitions are released, so the offsets committed synchronously here are read by the new
+     * owner of the partitions.
+     *
+     * @param partitions the revoked partitions
+     */
+    default void partitionsRevoked(Set<TopicPartition> partitions) {
+        // Nothing by default
+    }
+
+    /**
+     * Called when partitions have been lost by the consumer, without being revoked first (the consumer has been
+     * evicted from the group, for example). These partitions may already be owned by another consumer, so their
+     * offsets must not be committed. Called synchronously by the polling thread of the consumer.
+     *
+     * @param partitions the lost partitions
+     */
+    default void partitionsLost(Set<TopicPartition> partitions) {
+        // Nothing by default
+    }
+
+    /**
+     * Called before the consumer is closed.
+     *
+     * @return a completion stage completed once the pending offsets are committed
+     */
+    default CompletionStage<Void> terminate() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,24 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+
+/**
+ * Never commits the offsets. Used when the offsets of the received records are committed by a transactional Kafka
+ * sink, as part of the transaction containing the records written while processing them.
+ */
+public class KafkaIgnoreCommit implements KafkaCommitHandler {
+
+    @Override
+    public <K, V> CompletionStage<Void> handle(IncomingKafkaRecord<K, V> record) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public <K, V> CompletionStage<Void> handle(KafkaRecordBatch<K, V> batch) {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,52 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.OffsetAndMetadata;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumer;
+
+/**
+ * Commits the current position of the consumer on each acknowledgement. The offsets of the records received but not
+ * acknowledged yet are committed too.
+ * <p>
+ * Batches commit explicitly the offset following their last record of each partition, and the acknowledgement
+ * completes once the commit has completed.
+ */
+public class KafkaLatestCommit implements KafkaCommitHandler {
+
+    private final KafkaConsumer<?, ?> consumer;
+
+    public KafkaLatestCommit(KafkaConsumer<?, ?> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public <K, V> CompletionStage<Void> handle(IncomingKafkaRecord<K, V> record) {
+        consumer.commit();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public <K, V> CompletionStage<Void> handle(KafkaRecordBatch<K, V> batch) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        batch.getLatestOffsetRecords().forEach((partition, record) -> offsets.put(
+                new TopicPartition(partition.topic(), partition.partition()),
+                new OffsetAndMetadata(record.getOffset() + 1, null)));
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        consumer.getDelegate().commit(offsets, ar -> {
+            if (ar.succeeded()) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(ar.cause());
+            }
+        });
+        return future;
+    }
+}
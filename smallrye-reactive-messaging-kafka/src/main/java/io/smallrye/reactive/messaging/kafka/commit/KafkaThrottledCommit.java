@@ -0,0 +1,239 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.common.KafkaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.OffsetAndMetadata;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumer;
+
+/**
+ * Tracks the acknowledged offsets of each partition, and commits asynchronously the highest contiguous acknowledged
+ * offset of each partition:
+ * <ul>
+ * <li>periodically, every {@code commit-interval} milliseconds,</li>
+ * <li>every {@code commit-count} acknowledgements, if set,</li>
+ * <li>when partitions are revoked,</li>
+ * <li>when the source is closed.</li>
+ * </ul>
+ * The acknowledgement completes immediately, it does not wait for the commit. So, on failure, the records
+ * acknowledged since the last commit are received again (at-least-once).
+ * <p>
+ * When partitions are revoked, only these partitions are committed, synchronously and before the partitions are
+ * released, the other ones are not affected (so, with the cooperative rebalancing protocol, the partitions kept by the
+ * consumer are not interrupted). If {@code drainTimeout} is set, the polling thread waits, at most this delay, for the
+ * records of the revoked partitions still being processed to be acknowledged before this last commit, so the
+ * rebalance is delayed meanwhile. The acknowledgements received after the last commit are ignored.
+ */
+public class KafkaThrottledCommit implements KafkaCommitHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaThrottledCommit.class);
+    private static final long DRAIN_CHECK_PERIOD = 20;
+
+    private final KafkaConsumer<?, ?> consumer;
+    private final Vertx vertx;
+    private final int commitCount;
+    private final long timerId;
+    private final long drainTimeout;
+    private final Map<TopicPartition, OffsetTracker> trackers = new ConcurrentHashMap<>();
+    // The partitions revoked and not assigned again, their records dispatched concurrently are not tracked anymore.
+    private final Set<TopicPartition> released = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger acknowledged = new AtomicInteger();
+
+    /**
+     * @param vertx the Vert.x instance used for the periodic commits
+     * @param consumer the consumer
+     * @param commitInterval the commit period in milliseconds, {@code 0} to disable the periodic commits
+     * @param commitCount the number of acknowledgements triggering a commit, {@code 0} to disable
+     */
+    public KafkaThrottledCommit(Vertx vertx, KafkaConsumer<?, ?> consumer, long commitInterval, int commitCount) {
+        this(vertx, consumer, commitInterval, commitCount, 0);
+    }
+
+    /**
+     * @param vertx the Vert.x instance used for the periodic commits
+     * @param consumer the consumer
+     * @param commitInterval the commit period in milliseconds, {@code 0} to disable the periodic commits
+     * @param commitCount the number of acknowledgements triggering a commit, {@code 0} to disable
+     * @param drainTimeout the delay in milliseconds given to the records of revoked partitions to be acknowledged
+     *        before the last commit of these partitions, {@code 0} to commit immediately. Must be lower than the
+     *        {@code max.poll.interval.ms} of the consumer, as the polling thread is blocked meanwhile
+     */
+    public KafkaThrottledCommit(Vertx vertx, KafkaConsumer<?, ?> consumer, long commitInterval, int commitCount,
+            long drainTimeout) {
+        this.vertx = vertx;
+        this.consumer = consumer;
+        this.commitCount = commitCount;
+        this.drainTimeout = drainTimeout;
+        this.timerId = commitInterval > 0 ? vertx.setPeriodic(commitInterval, x -> commit()) : -1;
+    }
+
+    @Override
+    public <K, V> void received(IncomingKafkaRecord<K, V> record) {
+        TopicPartition partition = partition(record);
+        if (!released.contains(partition)) {
+            trackers.computeIfAbsent(partition, tp -> new OffsetTracker()).received(record.getOffset());
+        }
+    }
+
+    @Override
+    public <K, V> CompletionStage<Void> handle(IncomingKafkaRecord<K, V> record) {
+        OffsetTracker tracker = trackers.get(partition(record));
+        if (tracker == null) {
+            // The partition has been revoked, the record is going to be received by another consumer.
+            LOGGER.debug("Ignoring the acknowledgement of the offset {} of {}-{}, the partition has been revoked",
+                    record.getOffset(), record.getTopic(), record.getPartition());
+            return CompletableFuture.completedFuture(null);
+        }
+        tracker.acknowledged(record.getOffset());
+        if (commitCount > 0 && acknowledged.incrementAndGet() >= commitCount) {
+            acknowledged.set(0);
+            commit();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void partitionsAssigned(Set<TopicPartition> partitions) {
+        released.removeAll(partitions);
+    }
+
+    @Override
+    public void partitionsRevoked(Set<TopicPartition> partitions) {
+        released.addAll(partitions);
+        Map<TopicPartition, OffsetTracker> revoked = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetTracker tracker = trackers.get(partition);
+            if (tracker != null) {
+                revoked.put(partition, tracker);
+            }
+        }
+        if (drainTimeout > 0) {
+            // Still tracked, so the acknowledgements received meanwhile are taken into account.
+            drain(revoked);
+        }
+        revoked.keySet().forEach(trackers::remove);
+        commitSync(revoked);
+    }
+
+    @Override
+    public void partitionsLost(Set<TopicPartition> partitions) {
+        released.addAll(partitions);
+        partitions.forEach(trackers::remove);
+    }
+
+    /**
+     * Waits for the dispatched records of the revoked partitions to be acknowledged, at most {@code drainTimeout}
+     * milliseconds. Called from the rebalance listener, so the partitions are not released meanwhile.
+     */
+    private void drain(Map<TopicPartition, OffsetTracker> revoked) {
+        long deadline = System.currentTimeMillis() + drainTimeout;
+        while (revoked.values().stream().anyMatch(tracker -> tracker.pending() > 0)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                LOGGER.debug("Drain timeout reached, records of the revoked partitions {} are still being processed",
+                        revoked.keySet());
+                return;
+            }
+            try {
+                Thread.sleep(Math.min(DRAIN_CHECK_PERIOD, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> terminate() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+        }
+        return commit(trackers);
+    }
+
+    /**
+     * Commits the committable offsets of all the tracked partitions.
+     *
+     * @return a completion stage completed once the commit has completed, successfully or not
+     */
+    public CompletionStage<Void> commit() {
+        return commit(trackers);
+    }
+
+    private CompletionStage<Void> commit(Map<TopicPartition, OffsetTracker> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        Map<TopicPartition, OffsetTracker> committing = new HashMap<>();
+        for (Map.Entry<TopicPartition, OffsetTracker> entry : partitions.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            OffsetTracker tracker = entry.getValue();
+            long offset = tracker.committable();
+            if (offset >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(offset, null));
+                committing.put(partition, tracker);
+            }
+        }
+        if (offsets.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        consumer.getDelegate().commit(offsets, ar -> {
+            if (ar.succeeded()) {
+                LOGGER.debug("Offsets committed: {}", offsets);
+                offsets.forEach((partition, offset) -> committing.get(partition).committed(offset.getOffset()));
+            } else {
+                // The offsets are committed again on the next attempt.
+                LOGGER.warn("Unable to commit the offsets {}", offsets, ar.cause());
+            }
+            future.complete(null);
+        });
+        return future;
+    }
+
+    /**
+     * Commits the committable offsets of the given partitions using the native consumer. Must be called from the
+     * polling thread, from the rebalance listener.
+     */
+    private void commitSync(Map<TopicPartition, OffsetTracker> partitions) {
+        Map<org.apache.kafka.common.TopicPartition, org.apache.kafka.clients.consumer.OffsetAndMetadata> offsets;
+        offsets = new HashMap<>();
+        Map<TopicPartition, OffsetTracker> committing = new HashMap<>();
+        for (Map.Entry<TopicPartition, OffsetTracker> entry : partitions.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            long offset = entry.getValue().committable();
+            if (offset >= 0) {
+                offsets.put(new org.apache.kafka.common.TopicPartition(partition.getTopic(), partition.getPartition()),
+                        new org.apache.kafka.clients.consumer.OffsetAndMetadata(offset));
+                committing.put(partition, entry.getValue());
+            }
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.getDelegate().unwrap().commitSync(offsets);
+            LOGGER.debug("Offsets of the revoked partitions committed: {}", offsets);
+            offsets.forEach((partition, offset) -> committing
+                    .get(new TopicPartition(partition.topic(), partition.partition())).committed(offset.offset()));
+        } catch (KafkaException e) {
+            // The records acknowledged since the last commit are received again by the new owner.
+            LOGGER.warn("Unable to commit the offsets {} of the revoked partitions", offsets, e);
+        }
+    }
+
+    private static TopicPartition partition(IncomingKafkaRecord<?, ?> record) {
+        return new TopicPartition(record.getTopic(), record.getPartition());
+    }
+}
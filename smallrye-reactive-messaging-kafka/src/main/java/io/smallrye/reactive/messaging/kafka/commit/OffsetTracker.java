@@ -0,0 +1,108 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+/**
+ * Tracks the offsets received from a partition, and computes the offset to commit: the one following the highest
+ * offset such as this record and all the records received before it have been acknowledged.
+ * <p>
+ * The received offsets are stored in a ring buffer, in reception order (so, increasing). The acknowledged offset is
+ * found using a binary search, and the head of the buffer is released while acknowledged. Kafka offsets are not
+ * necessarily contiguous (compacted topics, transaction markers), so only the received offsets are considered.
+ */
+class OffsetTracker {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private boolean[] acked = new boolean[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    private long committable = -1;
+    private long committed = -1;
+
+    synchronized void received(long offset) {
+        if (size > 0 && offset <= offsets[index(size - 1)]) {
+            // The consumer has been rewound, the records received before are going to be received again.
+            head = 0;
+            size = 0;
+        }
+        if (size == offsets.length) {
+            grow();
+        }
+        int index = index(size);
+        offsets[index] = offset;
+        acked[index] = false;
+        size++;
+    }
+
+    /**
+     * Marks the given offset as acknowledged.
+     *
+     * @return {@code true} if the committable offset has moved forward
+     */
+    synchronized boolean acknowledged(long offset) {
+        int found = find(offset);
+        if (found < 0) {
+            // Not received by this tracker, or already released.
+            return false;
+        }
+        acked[found] = true;
+        boolean advanced = false;
+        while (size > 0 && acked[head]) {
+            committable = offsets[head] + 1;
+            acked[head] = false;
+            head = index(1);
+            size--;
+            advanced = true;
+        }
+        return advanced;
+    }
+
+    /**
+     * @return the offset to commit, {@code -1} if there is nothing new to commit
+     */
+    synchronized long committable() {
+        return committable > committed ? committable : -1;
+    }
+
+    synchronized void committed(long offset) {
+        committed = Math.max(committed, offset);
+    }
+
+    synchronized int pending() {
+        return size;
+    }
+
+    private int find(long offset) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = offsets[index(mid)];
+            if (value < offset) {
+                low = mid + 1;
+            } else if (value > offset) {
+                high = mid - 1;
+            } else {
+                return index(mid);
+            }
+        }
+        return -1;
+    }
+
+    private int index(int position) {
+        return (head + position) & (offsets.length - 1);
+    }
+
+    private void grow() {
+        long[] newOffsets = new long[offsets.length * 2];
+        boolean[] newAcked = new boolean[offsets.length * 2];
+        for (int i = 0; i < size; i++) {
+            newOffsets[i] = offsets[index(i)];
+            newAcked[i] = acked[index(i)];
+        }
+        offsets = newOffsets;
+        acked = newAcked;
+        head = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package io.smallrye.reactive.messaging.kafka.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * Gauges reading the metrics of the Kafka clients (consumers or producer) of a channel.
+ * <p>
+ * Only the client-level metrics are exposed, the per-topic, per-partition and per-node metrics are ignored, except the
+ * metrics of the default topic of the producers. The values are read from the
+ * clients when the gauges are sampled, so nothing is collected between two samplings. When a channel uses several
+ * clients, the rates and totals are summed, and the other values are the maximum among the clients.
+ */
+final class KafkaClientMetrics {
+
+    private static final Definition[] CONSUMER = {
+            new Definition("consumer-fetch-manager-metrics", "records-lag-max", false),
+            new Definition("consumer-fetch-manager-metrics", "fetch-rate", true),
+            new Definition("consumer-fetch-manager-metrics", "fetch-latency-avg", false),
+            new Definition("consumer-fetch-manager-metrics", "fetch-size-avg", false),
+            new Definition("consumer-fetch-manager-metrics", "records-per-request-avg", false),
+            new Definition("consumer-fetch-manager-metrics", "records-consumed-rate", true),
+            new Definition("consumer-fetch-manager-metrics", "bytes-consumed-rate", true),
+            new Definition("consumer-coordinator-metrics", "commit-rate", true),
+            new Definition("consumer-coordinator-metrics", "commit-latency-avg", false),
+            new Definition("consumer-coordinator-metrics", "assigned-partitions", true),
+            new Definition("consumer-metrics", "request-latency-avg", false)
+    };
+
+    private static final Definition[] PRODUCER = {
+            new Definition("producer-metrics", "record-send-rate", true),
+            new Definition("producer-metrics", "record-error-rate", true),
+            new Definition("producer-metrics", "record-retry-rate", true),
+            new Definition("producer-metrics", "batch-size-avg", false),
+            new Definition("producer-metrics", "records-per-request-avg", false),
+            new Definition("producer-metrics", "record-queue-time-avg", false),
+            new Definition("producer-metrics", "request-latency-avg", false),
+            new Definition("producer-metrics", "compression-rate-avg", false),
+            new Definition("producer-metrics", "buffer-available-bytes", true),
+            new Definition("producer-metrics", "outgoing-byte-rate", true)
+    };
+
+    private static final Definition[] PRODUCER_TOPIC = {
+            new Definition("producer-topic-metrics", "record-send-rate", true),
+            new Definition("producer-topic-metrics", "record-error-rate", true),
+            new Definition("producer-topic-metrics", "record-retry-rate", true),
+            new Definition("producer-topic-metrics", "byte-rate", true),
+            new Definition("producer-topic-metrics", "compression-rate", false)
+    };
+
+    private KafkaClientMetrics() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * @param clients the metrics of each consumer of the channel
+     * @return the gauges, indexed by their name ({@code consumer.} followed by the Kafka metric name)
+     */
+    static Map<String, Supplier<Number>> consumer(List<Supplier<Map<MetricName, ? extends Metric>>> clients) {
+        return gauges("consumer.", CONSUMER, clients, null);
+    }
+
+    /**
+     * @param clients the metrics of each producer of the channel
+     * @return the gauges, indexed by their name ({@code producer.} followed by the Kafka metric name)
+     */
+    static Map<String, Supplier<Number>> producer(List<Supplier<Map<MetricName, ? extends Metric>>> clients) {
+        return gauges("producer.", PRODUCER, clients, null);
+    }
+
+    /**
+     * @param clients the metrics of each producer of the channel
+     * @param topic the topic written by the channel
+     * @return the gauges reading the metrics of the given topic, indexed by their name ({@code producer.topic.}
+     *         followed by the Kafka metric name)
+     */
+    static Map<String, Supplier<Number>> producerTopic(List<Supplier<Map<MetricName, ? extends Metric>>> clients,
+            String topic) {
+        return gauges("producer.topic.", PRODUCER_TOPIC, clients, topic);
+    }
+
+    private static Map<String, Supplier<Number>> gauges(String prefix, Definition[] definitions,
+            List<Supplier<Map<MetricName, ? extends Metric>>> clients, String topic) {
+        Map<String, Supplier<Number>> gauges = new LinkedHashMap<>();
+        for (Definition definition : definitions) {
+            gauges.put(prefix + definition.name, () -> definition.read(clients, topic));
+        }
+        return gauges;
+    }
+
+    private static class Definition {
+        private final String group;
+        private final String name;
+        private final boolean sum;
+
+        private Definition(String group, String name, boolean sum) {
+            this.group = group;
+            this.name = name;
+            this.sum = sum;
+        }
+
+        private Number read(List<Supplier<Map<MetricName, ? extends Metric>>> clients, String topic) {
+            double result = Double.NaN;
+            for (Supplier<Map<MetricName, ? extends Metric>> client : clients) {
+                double value = value(client.get(), topic);
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                if (Double.isNaN(result)) {
+                    result = value;
+                } else {
+                    result = sum ? result + value : Math.max(result, value);
+                }
+            }
+            return result;
+        }
+
+        private double value(Map<MetricName, ? extends Metric> metrics, String topic) {
+            for (Map.Entry<MetricName, ? extends Metric> entry : metrics.entrySet()) {
+                MetricName metric = entry.getKey();
+                if (name.equals(metric.name()) && group.equals(metric.group()) && matches(metric, topic)) {
+                    Object value = entry.getValue().metricValue();
+                    if (value instanceof Number && !Double.isInfinite(((Number) value).doubleValue())) {
+                        return ((Number) value).doubleValue();
+                    }
+                    return Double.NaN;
+                }
+            }
+            return Double.NaN;
+        }
+
+        private static boolean matches(MetricName metric, String topic) {
+            Map<String, String> tags = metric.tags();
+            if (tags.containsKey("partition") || tags.containsKey("node-id")) {
+                return false;
+            }
+            if (topic == null) {
+                return !tags.containsKey("topic");
+            }
+            // Older clients replace the dots of the topic names.
+            String value = tags.get("topic");
+            return topic.equals(value) || topic.replace('.', '_').equals(value);
+        }
+    }
+}
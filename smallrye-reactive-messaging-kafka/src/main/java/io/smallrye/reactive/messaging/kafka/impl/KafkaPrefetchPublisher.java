@@ -0,0 +1,299 @@
+package io.smallrye.reactive.messaging.kafka.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumer;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Publishes the records of a consumer, buffering at most {@code maxRecords} records and {@code maxBytes} bytes
+ * (serialized key and value) not requested yet.
+ * <p>
+ * Unlike the Vert.x {@code toFlowable()} adapter, the consumer itself is never paused, so it keeps polling and stays in
+ * the group. Instead, when a record is received while the buffer is full, the partition of this record is paused.
+ * The paused partitions are resumed once the buffer is half empty. The records already returned by a poll are
+ * buffered anyway, so the buffer can exceed the limits by up to {@code max.poll.records}.
+ * <p>
+ * A single subscriber at a time is supported. Once the subscription is terminated, a new subscriber can subscribe (to
+ * retry). On termination, each partition with records not emitted is sought back to the first of them and paused, as
+ * are the partitions of the records received afterwards, so these records are received again by the next subscriber.
+ */
+class KafkaPrefetchPublisher<K, V> implements Publisher<KafkaConsumerRecord<K, V>> {
+
+    private final KafkaConsumer<K, V> consumer;
+    private final int maxRecords;
+    private final long maxBytes;
+
+    private final Queue<KafkaConsumerRecord<K, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedRecords = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    // Guarded by itself, the pause and resume calls are issued while holding the lock, so they are ordered.
+    private final Set<TopicPartition> paused = new HashSet<>();
+    // Guarded by paused, as the terminated flag, the partitions sought back since the termination of the subscription.
+    private final Set<TopicPartition> rewound = new HashSet<>();
+    private boolean terminated;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Subscriber<? super KafkaConsumerRecord<K, V>> downstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable failure;
+
+    /**
+     * @param consumer the consumer
+     * @param maxRecords the maximum number of buffered records, {@code 0} for no limit
+     * @param maxBytes the maximum number of buffered bytes, {@code 0} for no limit
+     */
+    KafkaPrefetchPublisher(KafkaConsumer<K, V> consumer, int maxRecords, long maxBytes) {
+        this.consumer = consumer;
+        this.maxRecords = maxRecords <= 0 ? Integer.MAX_VALUE : maxRecords;
+        this.maxBytes = maxBytes <= 0 ? Long.MAX_VALUE : maxBytes;
+    }
+
+    @Override
+    public synchronized void subscribe(Subscriber<? super KafkaConsumerRecord<K, V>> subscriber) {
+        if (downstream != null) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored
+                }
+            });
+            subscriber.onError(new IllegalStateException("The Kafka consumer already has a subscriber"));
+            return;
+        }
+        synchronized (paused) {
+            if (!rewound.isEmpty()) {
+                consumer.resume(new HashSet<>(rewound));
+                rewound.clear();
+            }
+            terminated = false;
+        }
+        requested.set(0);
+        wip.set(0);
+        cancelled = false;
+        done = false;
+        failure = null;
+        downstream = subscriber;
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Invalid request: " + n + ", must be greater than 0");
+                    done = true;
+                } else {
+                    requested.accumulateAndGet(n, (current, r) -> current + r < 0 ? Long.MAX_VALUE : current + r);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+
+        consumer.exceptionHandler(t -> {
+            failure = t;
+            done = true;
+            drain();
+        });
+        consumer.endHandler(v -> {
+            done = true;
+            drain();
+        });
+        consumer.handler(this::onRecord);
+    }
+
+    private void onRecord(KafkaConsumerRecord<K, V> record) {
+        // Under the lock, so a record is either rewound by the termination or rewound on reception.
+        synchronized (paused) {
+            if (terminated) {
+                rewind(record);
+                return;
+            }
+            queue.offer(record);
+            int records = bufferedRecords.incrementAndGet();
+            long bytes = bufferedBytes.addAndGet(size(record));
+            if (records > maxRecords || bytes > maxBytes) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (paused.add(partition)) {
+                    consumer.pause(partition);
+                }
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Subscriber<? super KafkaConsumerRecord<K, V>> subscriber = downstream;
+            if (subscriber != null && !emit(subscriber)) {
+                // Terminated, the next subscriber resets the state.
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the subscription has been terminated
+     */
+    private boolean emit(Subscriber<? super KafkaConsumerRecord<K, V>> subscriber) {
+        long r = requested.get();
+        long emitted = 0;
+        while (true) {
+            if (cancelled) {
+                terminate();
+                return false;
+            }
+            if (failure != null) {
+                terminate();
+                subscriber.onError(failure);
+                return false;
+            }
+            KafkaConsumerRecord<K, V> record = emitted == r ? null : queue.poll();
+            if (record == null) {
+                if (done && queue.isEmpty()) {
+                    terminate();
+                    subscriber.onComplete();
+                    return false;
+                }
+                break;
+            }
+            bufferedRecords.decrementAndGet();
+            bufferedBytes.addAndGet(-size(record));
+            subscriber.onNext(record);
+            emitted++;
+        }
+        if (emitted != 0 && r != Long.MAX_VALUE) {
+            requested.addAndGet(-emitted);
+        }
+        resumeIfPossible();
+        return true;
+    }
+
+    private void resumeIfPossible() {
+        if (bufferedRecords.get() > maxRecords / 2 || bufferedBytes.get() > maxBytes / 2) {
+            return;
+        }
+        synchronized (paused) {
+            if (!paused.isEmpty()) {
+                consumer.resume(new HashSet<>(paused));
+                paused.clear();
+            }
+        }
+    }
+
+    private void terminate() {
+        synchronized (paused) {
+            // The queue is ordered, so each partition is sought back to its first record not emitted.
+            KafkaConsumerRecord<K, V> record;
+            while ((record = queue.poll()) != null) {
+                rewind(record);
+            }
+            bufferedRecords.set(0);
+            bufferedBytes.set(0);
+            terminated = true;
+        }
+        // Resumes the paused partitions without records to rewind
+        resumeIfPossible();
+        synchronized (this) {
+            downstream = null;
+        }
+    }
+
+    /**
+     * Seeks the partition of a record not emitted back to this record, unless it has already been sought back to an
+     * earlier record, and pauses it until the next subscription. Called while holding the lock of {@code paused}.
+     */
+    private void rewind(KafkaConsumerRecord<K, V> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        if (rewound.add(partition)) {
+            // The records of the partition already fetched are discarded by the seek.
+            consumer.seek(partition, record.offset());
+            consumer.pause(partition);
+            paused.remove(partition);
+        }
+    }
+
+    /**
+     * Forgets the paused state of the revoked partitions, Kafka resets it on reassignment. The records of these
+     * partitions not emitted yet can be dropped, as they are going to be received by the new owner of the partitions.
+     *
+     * @param partitions the revoked partitions
+     * @param drop whether the buffered records of these partitions must be dropped
+     */
+    void partitionsRevoked(Set<TopicPartition> partitions, boolean drop) {
+        synchronized (paused) {
+            paused.removeAll(partitions);
+            rewound.removeAll(partitions);
+        }
+        if (!drop) {
+            return;
+        }
+        List<KafkaConsumerRecord<K, V>> dropped = new ArrayList<>();
+        for (KafkaConsumerRecord<K, V> record : queue) {
+            if (partitions.contains(new TopicPartition(record.topic(), record.partition()))) {
+                dropped.add(record);
+            }
+        }
+        for (KafkaConsumerRecord<K, V> record : dropped) {
+            // The record may have been emitted concurrently.
+            if (queue.remove(record)) {
+                bufferedRecords.decrementAndGet();
+                bufferedBytes.addAndGet(-size(record));
+            }
+        }
+        if (!dropped.isEmpty()) {
+            resumeIfPossible();
+        }
+    }
+
+    int getBufferedRecords() {
+        return bufferedRecords.get();
+    }
+
+    long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    int getPausedPartitions() {
+        synchronized (paused) {
+            return paused.size();
+        }
+    }
+
+    private static long size(KafkaConsumerRecord<?, ?> record) {
+        ConsumerRecord<?, ?> delegate = record.getDelegate().record();
+        return Math.max(0, delegate.serializedKeySize()) + Math.max(0, delegate.serializedValueSize());
+    }
+}
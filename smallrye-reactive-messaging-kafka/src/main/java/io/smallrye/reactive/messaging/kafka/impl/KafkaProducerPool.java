@@ -0,0 +1,100 @@
+package io.smallrye.reactive.messaging.kafka.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.kafka.client.producer.KafkaWriteStream;
+import io.vertx.reactivex.core.Vertx;
+
+/**
+ * Shares the Kafka producers among the sinks using the same producer configuration, so these sinks share the
+ * producer buffers, sender thread, broker connections and batches.
+ * <p>
+ * The producers are reference counted: a producer is created by the first sink acquiring it, and closed when the
+ * last sink using it releases it.
+ */
+public class KafkaProducerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProducerPool.class);
+
+    private final Vertx vertx;
+    private final Map<Map<String, String>, SharedProducer> producers = new HashMap<>();
+
+    public KafkaProducerPool(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * Gets the producer for the given configuration, creating it if needed.
+     *
+     * @param configuration the producer configuration, without the connector attributes
+     * @return the producer, to be released using {@link #release(KafkaWriteStream, Handler)}
+     */
+    public synchronized KafkaWriteStream<?, ?> acquire(Map<String, Object> configuration) {
+        // The values can be set as strings or numbers, compare their string representations.
+        Map<String, String> key = new TreeMap<>();
+        configuration.forEach((k, v) -> key.put(k, String.valueOf(v)));
+        SharedProducer producer = producers.get(key);
+        if (producer == null) {
+            KafkaWriteStream<?, ?> stream = KafkaWriteStream.create(vertx.getDelegate(), configuration);
+            stream.exceptionHandler(t -> LOGGER.error("Unable to write to Kafka", t));
+            producer = new SharedProducer(key, stream);
+            producers.put(key, producer);
+        } else {
+            LOGGER.debug("Sharing the Kafka producer configured with {}", key);
+        }
+        producer.references++;
+        return producer.stream;
+    }
+
+    /**
+     * Releases a producer acquired with {@link #acquire(Map)}. The producer is closed when it is not used anymore.
+     *
+     * @param stream the producer
+     * @param handler called once the producer is closed, or immediately if it is still used
+     */
+    public void release(KafkaWriteStream<?, ?> stream, Handler<AsyncResult<Void>> handler) {
+        SharedProducer released = null;
+        synchronized (this) {
+            for (SharedProducer producer : producers.values()) {
+                if (producer.stream == stream && --producer.references == 0) {
+                    released = producer;
+                    break;
+                }
+            }
+            if (released != null) {
+                producers.remove(released.key);
+            }
+        }
+        if (released != null) {
+            released.stream.close(handler);
+        } else {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    /**
+     * @return the number of producers currently open
+     */
+    public synchronized int size() {
+        return producers.size();
+    }
+
+    private static class SharedProducer {
+        private final Map<String, String> key;
+        private final KafkaWriteStream<?, ?> stream;
+        private int references;
+
+        private SharedProducer(Map<String, String> key, KafkaWriteStream<?, ?> stream) {
+            this.key = key;
+            this.stream = stream;
+        }
+    }
+}
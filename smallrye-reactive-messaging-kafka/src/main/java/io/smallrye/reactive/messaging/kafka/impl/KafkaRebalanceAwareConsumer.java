@@ -0,0 +1,65 @@
+package io.smallrye.reactive.messaging.kafka.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Kafka consumer invoking a rebalance listener synchronously, from the polling thread, before the listener registered
+ * by the Vert.x client.
+ * <p>
+ * The Vert.x client dispatches the rebalance events to the consumer context, once the partitions have been released,
+ * so they cannot be used to commit the offsets of the revoked partitions before the new owner reads them. The listener
+ * set here is called by {@code poll} before the partitions are released, where the consumer can still commit
+ * synchronously.
+ */
+class KafkaRebalanceAwareConsumer<K, V> extends KafkaConsumer<K, V> {
+
+    private final ConsumerRebalanceListener listener;
+
+    KafkaRebalanceAwareConsumer(Map<String, Object> configuration, ConsumerRebalanceListener listener) {
+        super(configuration);
+        this.listener = listener;
+    }
+
+    @Override
+    public void subscribe(Collection<String> topics, ConsumerRebalanceListener callback) {
+        super.subscribe(topics, new Chained(callback));
+    }
+
+    @Override
+    public void subscribe(Pattern pattern, ConsumerRebalanceListener callback) {
+        super.subscribe(pattern, new Chained(callback));
+    }
+
+    private class Chained implements ConsumerRebalanceListener {
+
+        private final ConsumerRebalanceListener next;
+
+        private Chained(ConsumerRebalanceListener next) {
+            this.next = next;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            listener.onPartitionsRevoked(partitions);
+            next.onPartitionsRevoked(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            listener.onPartitionsAssigned(partitions);
+            next.onPartitionsAssigned(partitions);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            listener.onPartitionsLost(partitions);
+            next.onPartitionsLost(partitions);
+        }
+    }
+}
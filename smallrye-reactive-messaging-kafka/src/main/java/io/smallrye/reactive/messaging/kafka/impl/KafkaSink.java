@@ -1,21 +1,33 @@
 package io.smallrye.reactive.messaging.kafka.impl;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 import org.slf4j.Logger;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.reactive.messaging.ack.OrderedAckWindow;
 import io.smallrye.reactive.messaging.kafka.OutgoingKafkaRecordMetadata;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -26,28 +38,69 @@ import io.vertx.reactivex.core.Vertx;
 public class KafkaSink {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaSink.class);
     private final KafkaWriteStream<?, ?> stream;
+    private final KafkaTransactions transactions;
+    private final KafkaProducerPool pool;
     private final int partition;
     private final String key;
     private final String topic;
     private final boolean waitForWriteCompletion;
+    private final OrderedAckWindow window;
+    // Counted by the sink, as the producer metrics include the records of the other sinks sharing the producer.
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
     private final SubscriberBuilder<? extends Message<?>, Void> subscriber;
 
-    @SuppressWarnings("rawtypes")
     public KafkaSink(Vertx vertx, Config config, String servers) {
+        this(vertx, config, servers, null);
+    }
+
+    /**
+     * @param vertx the Vert.x instance
+     * @param config the channel configuration
+     * @param servers the default bootstrap servers
+     * @param pool the pool used to share the producer with the other sinks having the same producer configuration,
+     *        {@code null} to use a dedicated producer
+     */
+    @SuppressWarnings("rawtypes")
+    public KafkaSink(Vertx vertx, Config config, String servers, KafkaProducerPool pool) {
         JsonObject kafkaConfiguration = extractProducerConfiguration(config, servers);
+        boolean shared = config.getOptionalValue("shared-producer", Boolean.class).orElse(false);
 
-        stream = KafkaWriteStream.create(vertx.getDelegate(), kafkaConfiguration.getMap());
-        stream.exceptionHandler(t -> LOGGER.error("Unable to write to Kafka", t));
+        topic = getTopicOrNull(config);
+        if (kafkaConfiguration.containsKey(ProducerConfig.TRANSACTIONAL_ID_CONFIG)) {
+            // A transactional producer cannot be shared, the transactions would contain the records of all the sinks.
+            this.pool = null;
+            stream = null;
+            transactions = new KafkaTransactions(kafkaConfiguration.getMap(),
+                    kafkaConfiguration.getString(ProducerConfig.TRANSACTIONAL_ID_CONFIG),
+                    config.getOptionalValue("transaction-records", Integer.class).orElse(500),
+                    config.getOptionalValue("transaction-interval", Long.class).orElse(100L));
+        } else if (pool != null && shared) {
+            transactions = null;
+            this.pool = pool;
+            stream = pool.acquire(kafkaConfiguration.getMap());
+        } else {
+            this.pool = null;
+            transactions = null;
+            stream = KafkaWriteStream.create(vertx.getDelegate(), kafkaConfiguration.getMap());
+            stream.exceptionHandler(t -> LOGGER.error("Unable to write to Kafka", t));
+        }
 
         partition = config.getOptionalValue("partition", Integer.class).orElse(-1);
         key = config.getOptionalValue("key", String.class).orElse(null);
-        topic = getTopicOrNull(config);
         waitForWriteCompletion = config.getOptionalValue("waitForWriteCompletion", Boolean.class).orElse(true);
+        int maxInflightMessages = config.getOptionalValue("max-inflight-messages", Integer.class).orElse(1);
+        if (maxInflightMessages <= 0) {
+            throw new IllegalArgumentException("`max-inflight-messages` must be greater than 0");
+        }
+        // The messages are acknowledged in order, and a failed write fails the stream, as with a single in-flight
+        // message, so an upstream Kafka source never commits past a lost record.
+        window = waitForWriteCompletion && maxInflightMessages > 1 ? new OrderedAckWindow(maxInflightMessages) : null;
         if (topic == null) {
             LOGGER.warn("No default topic configured, only sending messages with an explicit topic set");
         }
 
-        subscriber = ReactiveStreams.<Message<?>> builder()
+        ProcessorBuilder<Message<?>, ?> processor = ReactiveStreams.<Message<?>> builder()
                 .flatMapCompletionStage(message -> {
                     try {
                         Optional<OutgoingKafkaRecordMetadata> om = message.getMetadata(OutgoingKafkaRecordMetadata.class);
@@ -61,17 +114,32 @@ public class KafkaSink {
                         ProducerRecord record = getProducerRecord(message, metadata, actualTopic);
                         LOGGER.debug("Sending message {} to Kafka topic '{}'", message, record.topic());
 
+                        if (transactions != null) {
+                            // A failed transaction fails the stream, so no record is written after the lost ones.
+                            return transactions.write(record, message)
+                                    .whenComplete((x, f) -> (f == null ? sent : failed).increment())
+                                    .thenApply(x -> message);
+                        }
+
                         CompletableFuture<Message> future = new CompletableFuture<>();
                         Handler<AsyncResult<Void>> handler = ar -> {
                             if (ar.succeeded()) {
+                                sent.increment();
                                 LOGGER.debug("Message {} sent successfully to Kafka topic '{}'", message, record.topic());
                                 future.complete(message);
                             } else {
+                                failed.increment();
                                 LOGGER.error("Message {} was not sent to Kafka topic '{}'", message, record.topic(),
                                         ar.cause());
                                 future.completeExceptionally(ar.cause());
                             }
                         };
+                        if (window != null) {
+                            return window.send(message, () -> {
+                                stream.write(record, handler);
+                                return future;
+                            });
+                        }
                         CompletableFuture<? extends Message<?>> result = future.thenCompose(x -> message.ack())
                                 .thenApply(x -> message);
                         stream.write(record, handler);
@@ -85,8 +153,47 @@ public class KafkaSink {
                         return CompletableFuture.completedFuture(message);
                     }
                 })
-                .onError(t -> LOGGER.error("Unable to dispatch message to Kafka", t))
-                .ignore();
+                .onError(t -> LOGGER.error("Unable to dispatch message to Kafka", t));
+        subscriber = transactions == null ? processor.ignore()
+                : processor.to(new TransactionFailureSubscriber(transactions.failure()));
+    }
+
+    /**
+     * Consumes the written messages, and cancels the upstream once a transaction has failed. A transaction committed
+     * by the {@code transaction-interval} timer may fail while no message is written, the channel must stop anyway.
+     */
+    private static class TransactionFailureSubscriber implements Subscriber<Object> {
+
+        private final CompletionStage<Throwable> failure;
+
+        private TransactionFailureSubscriber(CompletionStage<Throwable> failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+            // Called once, after the request, so the subscription is never accessed concurrently.
+            failure.thenAccept(t -> {
+                LOGGER.error("A Kafka transaction has failed, stopping the channel", t);
+                subscription.cancel();
+            });
+        }
+
+        @Override
+        public void onNext(Object message) {
+            // Nothing to do, the message has been written.
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Already reported.
+        }
+
+        @Override
+        public void onComplete() {
+            // Nothing to do.
+        }
     }
 
     @SuppressWarnings("rawtypes")
@@ -129,6 +236,11 @@ public class KafkaSink {
         kafkaConfiguration.remove("connector");
         kafkaConfiguration.remove("partition");
         kafkaConfiguration.remove("key");
+        kafkaConfiguration.remove("max-inflight-messages");
+        kafkaConfiguration.remove("transaction-records");
+        kafkaConfiguration.remove("transaction-interval");
+        kafkaConfiguration.remove("waitForWriteCompletion");
+        kafkaConfiguration.remove("shared-producer");
         return kafkaConfiguration;
     }
 
@@ -136,15 +248,46 @@ public class KafkaSink {
         return subscriber;
     }
 
+    /**
+     * @return the gauges counting the records written by the channel, and, if the producer is not shared with other
+     *         channels, the gauges reading the metrics of the Kafka producer and of its default topic, indexed by name
+     */
+    public Map<String, Supplier<Number>> getClientMetrics() {
+        Map<String, Supplier<Number>> gauges = new LinkedHashMap<>();
+        gauges.put("sink.records-sent", () -> sent.sum());
+        gauges.put("sink.records-failed", () -> failed.sum());
+        if (pool != null) {
+            // The metrics of a shared producer include the records of the other channels.
+            return gauges;
+        }
+        Supplier<Map<MetricName, ? extends Metric>> metrics = transactions != null ? transactions::metrics
+                : () -> stream.unwrap().metrics();
+        List<Supplier<Map<MetricName, ? extends Metric>>> clients = Collections.singletonList(metrics);
+        gauges.putAll(KafkaClientMetrics.producer(clients));
+        if (topic != null) {
+            gauges.putAll(KafkaClientMetrics.producerTopic(clients, topic));
+        }
+        return gauges;
+    }
+
     public void closeQuietly() {
+        if (transactions != null) {
+            transactions.close();
+            return;
+        }
         CountDownLatch latch = new CountDownLatch(1);
+        Handler<AsyncResult<Void>> closed = ar -> {
+            if (ar.failed()) {
+                LOGGER.debug("An error has been caught while closing the Kafka Write Stream", ar.cause());
+            }
+            latch.countDown();
+        };
         try {
-            this.stream.close(ar -> {
-                if (ar.failed()) {
-                    LOGGER.debug("An error has been caught while closing the Kafka Write Stream", ar.cause());
-                }
-                latch.countDown();
-            });
+            if (pool != null) {
+                pool.release(this.stream, closed);
+            } else {
+                this.stream.close(closed);
+            }
         } catch (Throwable e) {
             LOGGER.debug("An error has been caught while closing the Kafka Write Stream", e);
             latch.countDown();
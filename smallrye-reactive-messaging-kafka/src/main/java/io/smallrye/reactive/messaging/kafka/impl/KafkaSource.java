@@ -1,13 +1,26 @@
 package io.smallrye.reactive.messaging.kafka.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.reactive.messaging.Message;
@@ -16,16 +29,27 @@ import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecord;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaCommitHandler;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaIgnoreCommit;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaLatestCommit;
+import io.smallrye.reactive.messaging.kafka.commit.KafkaThrottledCommit;
+import io.vertx.kafka.client.common.TopicPartition;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.kafka.client.consumer.KafkaConsumer;
 import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.reactivex.kafka.client.consumer.KafkaConsumerRecords;
 
 public class KafkaSource<K, V> {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaSource.class);
     private final PublisherBuilder<? extends Message<?>> source;
-    private final KafkaConsumer<K, V> consumer;
+    private final List<KafkaConsumer<K, V>> consumers = new ArrayList<>();
+    private final List<KafkaCommitHandler> commitHandlers = new ArrayList<>();
+    private final List<KafkaPrefetchPublisher<K, V>> prefetchers = new ArrayList<>();
+    private final String groupId;
 
     public KafkaSource(Vertx vertx, Config config, String servers) {
         Map<String, String> kafkaConfiguration = new HashMap<>();
@@ -38,6 +62,7 @@ public class KafkaSource<K, V> {
 
         JsonHelper.asJsonObject(config).forEach(e -> kafkaConfiguration.put(e.getKey(), e.getValue().toString()));
         kafkaConfiguration.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+        this.groupId = group;
 
         if (!kafkaConfiguration.containsKey(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG)) {
             LOGGER.info("Setting {} to {}", ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
@@ -55,23 +80,113 @@ public class KafkaSource<K, V> {
         kafkaConfiguration.remove("retry");
         kafkaConfiguration.remove("retry-attempts");
         kafkaConfiguration.remove("broadcast");
+        kafkaConfiguration.remove("commit-strategy");
+        kafkaConfiguration.remove("commit-interval");
+        kafkaConfiguration.remove("commit-count");
+        kafkaConfiguration.remove("batch");
+        kafkaConfiguration.remove("partitions");
+        kafkaConfiguration.remove("prefetch-records");
+        kafkaConfiguration.remove("prefetch-bytes");
+        kafkaConfiguration.remove("drain-timeout");
+
+        KafkaCommitHandler.Strategy strategy = KafkaCommitHandler.Strategy
+                .from(config.getOptionalValue("commit-strategy", String.class).orElse("latest"));
+        if (strategy != KafkaCommitHandler.Strategy.LATEST) {
+            if (Boolean.parseBoolean(kafkaConfiguration.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG))) {
+                LOGGER.warn("Disabling {}, the offsets are committed by the `{}` commit strategy",
+                        ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, strategy.name().toLowerCase());
+            }
+            kafkaConfiguration.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
 
-        this.consumer = KafkaConsumer.create(vertx, kafkaConfiguration);
         String topic = getTopicOrFail(config);
 
         Objects.requireNonNull(topic, "The topic must be set, or the name must be set");
 
-        Flowable<KafkaConsumerRecord<K, V>> flowable = consumer.toFlowable()
-                .doOnError(t -> LOGGER.error("Unable to read a record from Kafka topic '{}'", topic, t));
+        int partitions = config.getOptionalValue("partitions", Integer.class).orElse(1);
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("`partitions` must be greater than 0");
+        }
+        boolean batchMode = config.getOptionalValue("batch", Boolean.class).orElse(false);
+        int prefetchRecords = config.getOptionalValue("prefetch-records", Integer.class).orElse(0);
+        long prefetchBytes = config.getOptionalValue("prefetch-bytes", Long.class).orElse(0L);
+        boolean prefetch = !batchMode && (prefetchRecords > 0 || prefetchBytes > 0);
+
+        List<Flowable<Message<?>>> streams = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            Map<String, String> consumerConfiguration = kafkaConfiguration;
+            if (partitions > 1 && kafkaConfiguration.containsKey(ConsumerConfig.CLIENT_ID_CONFIG)) {
+                // The client ids must be unique, they identify the consumers (and their metrics).
+                consumerConfiguration = new HashMap<>(kafkaConfiguration);
+                consumerConfiguration.put(ConsumerConfig.CLIENT_ID_CONFIG,
+                        kafkaConfiguration.get(ConsumerConfig.CLIENT_ID_CONFIG) + "-" + i);
+            }
+            // Records of revoked partitions not dispatched yet are dropped, they are going to be received by the
+            // new owner. With the `latest` strategy, the position is committed, so they are dispatched anyway.
+            boolean dropRevoked = strategy != KafkaCommitHandler.Strategy.LATEST;
+            Set<TopicPartition> revoked = ConcurrentHashMap.newKeySet();
+            RebalanceListener listener = new RebalanceListener(topic, dropRevoked, revoked);
+
+            // Each consumer gets its own context, so the consumers poll in parallel.
+            Map<String, Object> nativeConfiguration = new HashMap<>(consumerConfiguration);
+            KafkaConsumer<K, V> consumer = KafkaConsumer.create(vertx,
+                    new KafkaRebalanceAwareConsumer<K, V>(nativeConfiguration, listener));
+            KafkaCommitHandler commitHandler;
+            if (strategy == KafkaCommitHandler.Strategy.THROTTLED) {
+                commitHandler = new KafkaThrottledCommit(vertx, consumer,
+                        config.getOptionalValue("commit-interval", Long.class).orElse(5000L),
+                        config.getOptionalValue("commit-count", Integer.class).orElse(0),
+                        config.getOptionalValue("drain-timeout", Long.class).orElse(0L));
+            } else if (strategy == KafkaCommitHandler.Strategy.IGNORE) {
+                commitHandler = new KafkaIgnoreCommit();
+            } else {
+                commitHandler = new KafkaLatestCommit(consumer);
+            }
+            listener.commitHandler = commitHandler;
+            consumers.add(consumer);
+            commitHandlers.add(commitHandler);
+
+            KafkaPrefetchPublisher<K, V> prefetcher = prefetch
+                    ? new KafkaPrefetchPublisher<>(consumer, prefetchRecords, prefetchBytes)
+                    : null;
+            if (prefetcher != null) {
+                // Notified on the consumer context, as the paused partitions are managed from there.
+                consumer.partitionsRevokedHandler(lost -> prefetcher.partitionsRevoked(lost, dropRevoked));
+            }
 
-        if (config.getOptionalValue("retry", Boolean.class).orElse(true)) {
-            Integer max = config.getOptionalValue("retry-attempts", Integer.class).orElse(5);
-            flowable = flowable
-                    .retryWhen(attempts -> attempts
-                            .zipWith(Flowable.range(1, max), (n, i) -> i)
-                            .flatMap(i -> Flowable.timer(i, TimeUnit.SECONDS)));
+            Flowable<Message<?>> stream;
+            if (batchMode) {
+                stream = batches(consumer).map(records -> batch(records, commitHandler));
+            } else {
+                Flowable<KafkaConsumerRecord<K, V>> records;
+                if (prefetcher != null) {
+                    prefetchers.add(prefetcher);
+                    records = Flowable.fromPublisher(prefetcher);
+                } else {
+                    records = consumer.toFlowable();
+                }
+                stream = records
+                        .filter(rec -> revoked.isEmpty()
+                                || !revoked.contains(new TopicPartition(rec.topic(), rec.partition())))
+                        .map(rec -> record(rec, commitHandler));
+            }
+            stream = stream
+                    .doOnError(t -> LOGGER.error("Unable to read a record from Kafka topic '{}'", topic, t));
+
+            if (config.getOptionalValue("retry", Boolean.class).orElse(true)) {
+                Integer max = config.getOptionalValue("retry-attempts", Integer.class).orElse(5);
+                stream = stream
+                        .retryWhen(attempts -> attempts
+                                .zipWith(Flowable.range(1, max), (n, a) -> a)
+                                .flatMap(a -> Flowable.timer(a, TimeUnit.SECONDS)));
+            }
+            streams.add(stream);
         }
 
+        // Each partition is consumed by a single consumer, so the records of a partition stay in order. The merge
+        // requests records from each consumer independently, so a consumer is paused without pausing the others.
+        Flowable<Message<?>> flowable = streams.size() == 1 ? streams.get(0) : Flowable.merge(streams);
+
         if (config.getOptionalValue("broadcast", Boolean.class).orElse(false)) {
             flowable = flowable.publish().autoConnect();
         }
@@ -80,19 +195,170 @@ public class KafkaSource<K, V> {
                 flowable
                         .doOnSubscribe(s -> {
                             // The Kafka subscription must happen on the subscription.
-                            this.consumer.subscribe(topic);
-                        }))
-                .map(rec -> new IncomingKafkaRecord<>(consumer, rec));
+                            this.consumers.forEach(c -> c.subscribe(topic));
+                        }));
+    }
+
+    /**
+     * Called synchronously by the polling thread of a consumer, before the revoked partitions are released, so the
+     * offsets of these partitions are committed before the new owner reads them.
+     */
+    private static class RebalanceListener implements ConsumerRebalanceListener {
+
+        private final String topic;
+        private final boolean dropRevoked;
+        private final Set<TopicPartition> revoked;
+        private volatile KafkaCommitHandler commitHandler;
+
+        private RebalanceListener(String topic, boolean dropRevoked, Set<TopicPartition> revoked) {
+            this.topic = topic;
+            this.dropRevoked = dropRevoked;
+            this.revoked = revoked;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<org.apache.kafka.common.TopicPartition> partitions) {
+            // Only contains the partitions moving to another consumer with the cooperative protocol.
+            Set<TopicPartition> released = convert(partitions);
+            LOGGER.debug("Partitions revoked from the consumer of topic '{}': {}", topic, released);
+            if (dropRevoked) {
+                revoked.addAll(released);
+            }
+            commitHandler.partitionsRevoked(released);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<org.apache.kafka.common.TopicPartition> partitions) {
+            // Already owned by another consumer, their offsets cannot be committed anymore.
+            Set<TopicPartition> lost = convert(partitions);
+            LOGGER.debug("Partitions lost by the consumer of topic '{}': {}", topic, lost);
+            if (dropRevoked) {
+                revoked.addAll(lost);
+            }
+            commitHandler.partitionsLost(lost);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<org.apache.kafka.common.TopicPartition> partitions) {
+            Set<TopicPartition> assigned = convert(partitions);
+            revoked.removeAll(assigned);
+            commitHandler.partitionsAssigned(assigned);
+        }
+
+        private static Set<TopicPartition> convert(Collection<org.apache.kafka.common.TopicPartition> partitions) {
+            return partitions.stream()
+                    .map(tp -> new TopicPartition(tp.topic(), tp.partition()))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private Message<?> record(KafkaConsumerRecord<K, V> rec, KafkaCommitHandler commitHandler) {
+        IncomingKafkaRecord<K, V> record = new IncomingKafkaRecord<>(rec, commitHandler, groupId);
+        commitHandler.received(record);
+        return record;
+    }
+
+    private Message<?> batch(KafkaConsumerRecords<K, V> records, KafkaCommitHandler commitHandler) {
+        KafkaRecordBatch<K, V> batch = new KafkaRecordBatch<>(records, commitHandler, groupId);
+        commitHandler.received(batch);
+        return batch;
+    }
+
+    /**
+     * Emits the records returned by each poll. The consumer is paused when there are no outstanding requests, so at
+     * most one batch is buffered.
+     */
+    private Flowable<KafkaConsumerRecords<K, V>> batches(KafkaConsumer<K, V> consumer) {
+        return Flowable.defer(() -> {
+            AtomicLong requested = new AtomicLong();
+            return Flowable.<KafkaConsumerRecords<K, V>> create(emitter -> {
+                consumer.exceptionHandler(emitter::onError);
+                consumer.batchHandler(records -> {
+                    if (records.isEmpty()) {
+                        return;
+                    }
+                    emitter.onNext(records);
+                    if (requested.get() != Long.MAX_VALUE && requested.decrementAndGet() <= 0) {
+                        consumer.pause();
+                        // A request may have been received while pausing.
+                        if (requested.get() > 0) {
+                            consumer.resume();
+                        }
+                    }
+                });
+                // The records are dispatched by the batch handler, but the polling only starts once a handler is set.
+                consumer.handler(record -> {
+                });
+            }, BackpressureStrategy.BUFFER)
+                    .doOnRequest(n -> {
+                        requested.accumulateAndGet(n, (current, r) -> current + r < 0 ? Long.MAX_VALUE : current + r);
+                        consumer.resume();
+                    });
+        });
     }
 
     public PublisherBuilder<? extends Message<?>> getSource() {
         return source;
     }
 
+    /**
+     * @return whether the records are buffered by a {@link KafkaPrefetchPublisher}, configured with the
+     *         {@code prefetch-records} or {@code prefetch-bytes} attributes
+     */
+    public boolean isPrefetching() {
+        return !prefetchers.isEmpty();
+    }
+
+    /**
+     * @return the number of records received and not requested yet, when prefetching
+     */
+    public int getPrefetchedRecords() {
+        return prefetchers.stream().mapToInt(KafkaPrefetchPublisher::getBufferedRecords).sum();
+    }
+
+    /**
+     * @return the size (serialized key and value) of the records received and not requested yet, when prefetching
+     */
+    public long getPrefetchedBytes() {
+        return prefetchers.stream().mapToLong(KafkaPrefetchPublisher::getBufferedBytes).sum();
+    }
+
+    /**
+     * @return the number of partitions paused because the prefetch buffer is full
+     */
+    public int getPausedPartitions() {
+        return prefetchers.stream().mapToInt(KafkaPrefetchPublisher::getPausedPartitions).sum();
+    }
+
+    /**
+     * @return the gauges reading the metrics of the Kafka consumers of the channel, indexed by name
+     */
+    public Map<String, Supplier<Number>> getClientMetrics() {
+        List<Supplier<Map<MetricName, ? extends Metric>>> clients = new ArrayList<>();
+        for (KafkaConsumer<K, V> consumer : consumers) {
+            clients.add(() -> consumer.getDelegate().unwrap().metrics());
+        }
+        return KafkaClientMetrics.consumer(clients);
+    }
+
     public void closeQuietly() {
+        for (int i = 0; i < consumers.size(); i++) {
+            closeQuietly(consumers.get(i), commitHandlers.get(i));
+        }
+    }
+
+    private void closeQuietly(KafkaConsumer<K, V> consumer, KafkaCommitHandler commitHandler) {
+        try {
+            commitHandler.terminate().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.debug("Unable to commit the pending offsets before closing the Kafka consumer", e);
+        }
+
         CountDownLatch latch = new CountDownLatch(1);
         try {
-            this.consumer.close(ar -> {
+            consumer.close(ar -> {
                 if (ar.failed()) {
                     LOGGER.debug("An exception has been caught while closing the Kafka consumer", ar.cause());
                 }
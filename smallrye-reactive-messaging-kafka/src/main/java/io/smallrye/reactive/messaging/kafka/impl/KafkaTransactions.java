@@ -0,0 +1,218 @@
+package io.smallrye.reactive.messaging.kafka.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.UnsupportedVersionException;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.reactive.messaging.kafka.IncomingKafkaRecordMetadata;
+
+/**
+ * Writes records in Kafka transactions, each transaction containing several records.
+ * <p>
+ * A transaction is started by the first written record, and committed once it contains {@code maxRecords} records,
+ * or {@code interval} milliseconds after it has been started. When the written messages have been created from
+ * records received from Kafka (so they carry an {@link IncomingKafkaRecordMetadata}), the offsets following these
+ * records are sent to the transaction, so they are committed atomically with the written records. The messages are
+ * acknowledged once the transaction is committed.
+ * <p>
+ * The producer is not thread-safe in transactional mode, so all the operations run on a single thread.
+ * Once a transaction has failed, all the subsequent writes fail, and the {@link #failure()} stage is completed, so the
+ * sink stops even if the failed transaction was committed by the timer and no message is written anymore.
+ */
+class KafkaTransactions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaTransactions.class);
+
+    private final Producer<Object, Object> producer;
+    private final ScheduledExecutorService executor;
+    private final int maxRecords;
+    private final long interval;
+
+    // Only accessed from the executor thread.
+    private final List<Message<?>> pending = new ArrayList<>();
+    private final Map<String, Map<TopicPartition, OffsetAndMetadata>> offsets = new HashMap<>();
+    private boolean initialized;
+    private ScheduledFuture<?> timer;
+    private final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+
+    KafkaTransactions(Map<String, Object> configuration, String name, int maxRecords, long interval) {
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("`transaction-records` must be greater than 0");
+        }
+        this.maxRecords = maxRecords;
+        this.interval = interval;
+        this.producer = new KafkaProducer<>(configuration);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-transactions-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Writes the record in the current transaction, starting one if needed.
+     *
+     * @param record the record to write
+     * @param message the message from which the record has been created, acknowledged once the transaction is
+     *        committed
+     * @return a completion stage completed once the record has been added to the transaction, or once the transaction
+     *         has been committed when the record completes it. Completed exceptionally if the transaction fails.
+     */
+    CompletionStage<Void> write(ProducerRecord<?, ?> record, Message<?> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (failure.isDone()) {
+                result.completeExceptionally(failure.join());
+                return;
+            }
+            try {
+                if (!initialized) {
+                    producer.initTransactions();
+                    initialized = true;
+                }
+                if (pending.isEmpty()) {
+                    producer.beginTransaction();
+                    if (interval > 0) {
+                        timer = executor.schedule(this::commitQuietly, interval, TimeUnit.MILLISECONDS);
+                    }
+                }
+                // The failures of the sends are reported by commitTransaction.
+                producer.send(cast(record));
+                track(message);
+                if (pending.size() >= maxRecords) {
+                    commit();
+                }
+                result.complete(null);
+            } catch (RuntimeException e) {
+                failed(e);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProducerRecord<Object, Object> cast(ProducerRecord<?, ?> record) {
+        return (ProducerRecord<Object, Object>) record;
+    }
+
+    private void track(Message<?> message) {
+        pending.add(message);
+        message.getMetadata(IncomingKafkaRecordMetadata.class).ifPresent(metadata -> {
+            IncomingKafkaRecordMetadata<?, ?> incoming = (IncomingKafkaRecordMetadata<?, ?>) metadata;
+            if (incoming.getConsumerGroupId() == null) {
+                return;
+            }
+            offsets.computeIfAbsent(incoming.getConsumerGroupId(), g -> new HashMap<>())
+                    .merge(new TopicPartition(incoming.getTopic(), incoming.getPartition()),
+                            new OffsetAndMetadata(incoming.getOffset() + 1),
+                            (a, b) -> a.offset() >= b.offset() ? a : b);
+        });
+    }
+
+    private void commit() {
+        if (timer != null) {
+            // Runs on the executor thread, so the timer is not running.
+            timer.cancel(false);
+            timer = null;
+        }
+        List<Message<?>> committed = new ArrayList<>(pending);
+        pending.clear();
+        try {
+            for (Map.Entry<String, Map<TopicPartition, OffsetAndMetadata>> entry : offsets.entrySet()) {
+                producer.sendOffsetsToTransaction(entry.getValue(), entry.getKey());
+            }
+            producer.commitTransaction();
+        } finally {
+            offsets.clear();
+        }
+        LOGGER.debug("Transaction committed, {} records written", committed.size());
+        committed.forEach(Message::ack);
+    }
+
+    private void commitQuietly() {
+        if (pending.isEmpty() || failure.isDone()) {
+            return;
+        }
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        pending.clear();
+        offsets.clear();
+        if (e instanceof ProducerFencedException || e instanceof OutOfOrderSequenceException
+                || e instanceof AuthorizationException || e instanceof UnsupportedVersionException) {
+            LOGGER.error("Unable to write in a Kafka transaction, the producer cannot be used anymore", e);
+        } else {
+            LOGGER.error("Unable to write in a Kafka transaction, aborting the transaction", e);
+            try {
+                producer.abortTransaction();
+            } catch (KafkaException ae) {
+                LOGGER.debug("Unable to abort the Kafka transaction", ae);
+            }
+        }
+        failure.complete(e);
+    }
+
+    /**
+     * @return a stage completed with the failure of the first failed transaction, never completed if no transaction
+     *         fails. Its callbacks run on the producer thread.
+     */
+    CompletionStage<Throwable> failure() {
+        return failure;
+    }
+
+    /**
+     * @return the metrics of the producer, can be called from any thread
+     */
+    Map<MetricName, ? extends Metric> metrics() {
+        return producer.metrics();
+    }
+
+    /**
+     * Commits the current transaction, if any, and closes the producer.
+     */
+    void close() {
+        try {
+            executor.submit(() -> {
+                commitQuietly();
+                producer.close();
+            }).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.debug("An error has been caught while closing the transactional Kafka producer", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package io.smallrye.reactive.messaging.kafka;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.IntegerDeserializer;
 import org.apache.kafka.common.serialization.IntegerSerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -21,7 +33,9 @@ import org.reactivestreams.Subscriber;
 
 import io.reactivex.Flowable;
 import io.smallrye.config.SmallRyeConfigProviderResolver;
+import io.smallrye.reactive.messaging.kafka.impl.KafkaProducerPool;
 import io.smallrye.reactive.messaging.kafka.impl.KafkaSink;
+import io.smallrye.reactive.messaging.kafka.impl.KafkaSource;
 
 public class KafkaSinkTest extends KafkaTestBase {
 
@@ -112,6 +126,228 @@ public class KafkaSinkTest extends KafkaTestBase {
         assertThat(expected).hasValue(10);
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testSinkWithInflightMessages() throws InterruptedException {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        usage.consumeIntegers(topic, 1000, 1, TimeUnit.MINUTES,
+                latch::countDown,
+                (k, v) -> received.add(v));
+
+        Map<String, Object> config = getConfig();
+        config.put("topic", topic);
+        config.put("value.serializer", IntegerSerializer.class.getName());
+        config.put("partition", 0);
+        config.put("max-inflight-messages", 64);
+        config.put("linger.ms", 10);
+        KafkaSink sink = new KafkaSink(vertx, new MapBasedConfig(config), SERVERS);
+
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        Flowable.range(0, 1000)
+                .map(i -> Message.of(i, () -> {
+                    acked.add(i);
+                    return CompletableFuture.completedFuture(null);
+                }))
+                .subscribe((Subscriber) sink.getSink().build());
+
+        assertThat(latch.await(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(received).hasSize(1000).isSorted();
+        await().atMost(1, TimeUnit.MINUTES).until(() -> acked.size() == 1000);
+        assertThat(acked).isSorted();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testSinkWithInflightMessagesAndAFailedWrite() {
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = getConfig();
+        config.put("topic", topic);
+        config.put("value.serializer", StringSerializer.class.getName());
+        config.put("partition", 0);
+        config.put("max-inflight-messages", 64);
+        config.put("max.request.size", 1024);
+        KafkaSink sink = new KafkaSink(vertx, new MapBasedConfig(config), SERVERS);
+
+        // The record 50 is too large to be written
+        char[] large = new char[2048];
+        Arrays.fill(large, 'x');
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flowable.range(0, 200)
+                .map(i -> Message.of(i == 50 ? new String(large) : Integer.toString(i), () -> {
+                    acked.add(i);
+                    return CompletableFuture.completedFuture(null);
+                }))
+                .doOnCancel(() -> cancelled.set(true))
+                .subscribe((Subscriber) sink.getSink().build());
+
+        await().atMost(1, TimeUnit.MINUTES).untilTrue(cancelled);
+        // Only the messages written before the failed one are acknowledged
+        assertThat(acked).hasSize(50).isSorted();
+        sink.closeQuietly();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testTransactionalSink() {
+        KafkaUsage usage = new KafkaUsage();
+        String input = UUID.randomUUID().toString();
+        String output = UUID.randomUUID().toString();
+        String group = UUID.randomUUID().toString();
+
+        Map<String, Object> sourceConfig = new HashMap<>();
+        sourceConfig.put("bootstrap.servers", "localhost:9092");
+        sourceConfig.put("topic", input);
+        sourceConfig.put("group.id", group);
+        sourceConfig.put("key.deserializer", StringDeserializer.class.getName());
+        sourceConfig.put("value.deserializer", IntegerDeserializer.class.getName());
+        sourceConfig.put("auto.offset.reset", "earliest");
+        sourceConfig.put("commit-strategy", "ignore");
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(sourceConfig), SERVERS);
+
+        Map<String, Object> config = getConfig();
+        config.put("topic", output);
+        config.put("value.serializer", IntegerSerializer.class.getName());
+        config.put("acks", "all");
+        config.put("transactional.id", UUID.randomUUID().toString());
+        config.put("transaction-records", 10);
+        KafkaSink sink = new KafkaSink(vertx, new MapBasedConfig(config), SERVERS);
+
+        Flowable.fromPublisher(source.getSource().buildRs())
+                .map(m -> m.withPayload((Integer) m.getPayload() + 1))
+                .subscribe((Subscriber) sink.getSink().build());
+
+        AtomicInteger counter = new AtomicInteger();
+        usage.produceIntegers(55, null, () -> new ProducerRecord<>(input, counter.getAndIncrement()));
+
+        List<Integer> received = new ArrayList<>();
+        Properties properties = usage.getConsumerProperties(UUID.randomUUID().toString(), null,
+                OffsetResetStrategy.EARLIEST);
+        properties.put("isolation.level", "read_committed");
+        try (KafkaConsumer<String, Integer> consumer = new KafkaConsumer<>(properties, new StringDeserializer(),
+                new IntegerDeserializer())) {
+            consumer.subscribe(Collections.singletonList(output));
+            await().atMost(2, TimeUnit.MINUTES).until(() -> {
+                consumer.poll(Duration.ofMillis(100)).forEach(r -> received.add(r.value()));
+                return received.size() >= 55;
+            });
+        }
+        assertThat(received).hasSize(55).isSorted().startsWith(1, 2, 3).endsWith(55);
+
+        // The offsets are committed by the transactions, not by the source
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(
+                usage.getConsumerProperties(group, null, OffsetResetStrategy.EARLIEST),
+                new StringDeserializer(), new StringDeserializer())) {
+            await().atMost(1, TimeUnit.MINUTES).until(() -> {
+                OffsetAndMetadata committed = consumer.committed(new TopicPartition(input, 0));
+                return committed != null && committed.offset() == 55;
+            });
+        }
+
+        sink.closeQuietly();
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testTransactionalSinkStopsWhenATimerCommitFails() {
+        String topic = UUID.randomUUID().toString();
+        String transactionalId = UUID.randomUUID().toString();
+        Map<String, Object> config = getConfig();
+        config.put("topic", topic);
+        config.put("value.serializer", IntegerSerializer.class.getName());
+        config.put("acks", "all");
+        config.put("transactional.id", transactionalId);
+        config.put("transaction-records", 1000);
+        config.put("transaction-interval", 5000);
+        KafkaSink sink = new KafkaSink(vertx, new MapBasedConfig(config), SERVERS);
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        Flowable.range(0, 5)
+                .map(i -> Message.of(i, () -> {
+                    acked.add(i);
+                    return CompletableFuture.completedFuture(null);
+                }))
+                // No message is written after the first ones, only the timer commits the transaction
+                .concatWith(Flowable.never())
+                .doOnCancel(() -> cancelled.set(true))
+                .subscribe((Subscriber) sink.getSink().build());
+        await().atMost(1, TimeUnit.MINUTES)
+                .until(() -> sink.getClientMetrics().get("sink.records-sent").get().longValue() == 5);
+
+        // Fences the producer of the sink, so the commit fired by the timer fails
+        Properties properties = new Properties();
+        properties.put("bootstrap.servers", "localhost:9092");
+        properties.put("transactional.id", transactionalId);
+        try (KafkaProducer<String, Integer> fencing = new KafkaProducer<>(properties, new StringSerializer(),
+                new IntegerSerializer())) {
+            fencing.initTransactions();
+        }
+
+        await().atMost(1, TimeUnit.MINUTES).untilTrue(cancelled);
+        assertThat(acked).isEmpty();
+
+        sink.closeQuietly();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testSinksSharingTheProducer() throws InterruptedException {
+        KafkaUsage usage = new KafkaUsage();
+        String topic1 = UUID.randomUUID().toString();
+        String topic2 = UUID.randomUUID().toString();
+        CountDownLatch latch = new CountDownLatch(2);
+        usage.consumeIntegers(topic1, 10, 1, TimeUnit.MINUTES, latch::countDown, (k, v) -> {
+        });
+        usage.consumeIntegers(topic2, 10, 1, TimeUnit.MINUTES, latch::countDown, (k, v) -> {
+        });
+
+        KafkaProducerPool pool = new KafkaProducerPool(vertx);
+        Map<String, Object> config = getConfig();
+        config.put("value.serializer", IntegerSerializer.class.getName());
+        config.put("shared-producer", true);
+        config.put("topic", topic1);
+        KafkaSink sink1 = new KafkaSink(vertx, new MapBasedConfig(new HashMap<>(config)), SERVERS, pool);
+        config.put("topic", topic2);
+        KafkaSink sink2 = new KafkaSink(vertx, new MapBasedConfig(new HashMap<>(config)), SERVERS, pool);
+        // Only the channel attributes differ, the producer is shared
+        assertThat(pool.size()).isEqualTo(1);
+
+        config.put("linger.ms", 5);
+        KafkaSink sink3 = new KafkaSink(vertx, new MapBasedConfig(new HashMap<>(config)), SERVERS, pool);
+        assertThat(pool.size()).isEqualTo(2);
+        sink3.closeQuietly();
+        assertThat(pool.size()).isEqualTo(1);
+
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        for (KafkaSink sink : Arrays.asList(sink1, sink2)) {
+            Flowable.range(0, 10)
+                    .map(i -> Message.of(i, () -> {
+                        acked.add(i);
+                        return CompletableFuture.completedFuture(null);
+                    }))
+                    .subscribe((Subscriber) sink.getSink().build());
+        }
+
+        assertThat(latch.await(1, TimeUnit.MINUTES)).isTrue();
+        await().atMost(1, TimeUnit.MINUTES).until(() -> acked.size() == 20);
+
+        // Only the records of the channel are counted, the producer-wide metrics are not exposed
+        Map<String, Supplier<Number>> metrics = sink1.getClientMetrics();
+        assertThat(metrics.get("sink.records-sent").get().longValue()).isEqualTo(10);
+        assertThat(metrics.get("sink.records-failed").get().longValue()).isEqualTo(0);
+        assertThat(metrics).doesNotContainKeys("producer.record-send-rate", "producer.topic.record-send-rate");
+
+        sink1.closeQuietly();
+        assertThat(pool.size()).isEqualTo(1);
+        sink2.closeQuietly();
+        assertThat(pool.size()).isEqualTo(0);
+    }
+
     private Map<String, Object> getConfig() {
         Map<String, Object> config = new HashMap<>();
         config.put("bootstrap.servers", "localhost:9092");
@@ -5,11 +5,18 @@ import static org.awaitility.Awaitility.await;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.IntegerDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.eclipse.microprofile.config.ConfigProvider;
@@ -19,6 +26,8 @@ import org.jboss.weld.environment.se.WeldContainer;
 import org.junit.After;
 import org.junit.Test;
 
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
 import io.smallrye.config.SmallRyeConfigProviderResolver;
 import io.smallrye.reactive.messaging.kafka.impl.KafkaSource;
 
@@ -139,6 +148,327 @@ public class KafkaSourceTest extends KafkaTestBase {
         assertThat(messages1.size()).isGreaterThanOrEqualTo(20);
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testThrottledCommit() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("commit-strategy", "throttled");
+        config.put("commit-interval", 100);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+
+        List<KafkaRecord> messages = new CopyOnWriteArrayList<>();
+        source.getSource().forEach(m -> messages.add((KafkaRecord) m)).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(10, null,
+                () -> new ProducerRecord<>(topic, counter.getAndIncrement()))).start();
+
+        await().atMost(2, TimeUnit.MINUTES).until(() -> messages.size() >= 10);
+
+        // Acknowledge 0 to 4, and 6: only the offsets up to 4 can be committed.
+        messages.subList(0, 5).forEach(Message::ack);
+        messages.get(6).ack();
+        String group = (String) config.get("group.id");
+        await().atMost(1, TimeUnit.MINUTES).until(() -> committed(usage, group, topic) == 5);
+
+        messages.get(5).ack();
+        messages.subList(7, 10).forEach(Message::ack);
+        await().atMost(1, TimeUnit.MINUTES).until(() -> committed(usage, group, topic) == 10);
+
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchSource() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("batch", true);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+
+        List<KafkaRecordBatch<String, Integer>> batches = new CopyOnWriteArrayList<>();
+        source.getSource().forEach(m -> batches.add((KafkaRecordBatch<String, Integer>) m)).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(100, null,
+                () -> new ProducerRecord<>(topic, counter.getAndIncrement()))).start();
+
+        await().atMost(2, TimeUnit.MINUTES)
+                .until(() -> batches.stream().mapToInt(b -> b.getPayload().size()).sum() >= 100);
+        List<Integer> values = batches.stream().flatMap(b -> b.getPayload().stream()).collect(Collectors.toList());
+        assertThat(values).hasSize(100).isSorted();
+        batches.forEach(batch -> {
+            assertThat(batch.getRecords()).hasSameSizeAs(batch.getPayload());
+            assertThat(batch.getRecords()).allSatisfy(record -> {
+                assertThat(record.getTopic()).isEqualTo(topic);
+                assertThat(record.getOffset()).isEqualTo(record.getPayload().longValue());
+            });
+            assertThat(batch.getLatestOffsetRecords()).containsOnlyKeys(new TopicPartition(topic, 0));
+        });
+
+        batches.forEach(b -> b.ack().toCompletableFuture().join());
+        String group = (String) config.get("group.id");
+        assertThat(committed(usage, group, topic)).isEqualTo(100);
+
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSourceWithSeveralConsumers() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        createTopic(topic, 3);
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("partitions", 3);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+
+        List<KafkaRecord<String, Integer>> messages = new CopyOnWriteArrayList<>();
+        source.getSource().forEach(m -> messages.add((KafkaRecord<String, Integer>) m)).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(30, null, () -> {
+            int value = counter.getAndIncrement();
+            return new ProducerRecord<>(topic, value % 3, null, value);
+        })).start();
+
+        await().atMost(2, TimeUnit.MINUTES).until(() -> messages.size() >= 30);
+        Map<Integer, List<Integer>> byPartition = messages.stream().collect(Collectors.groupingBy(
+                KafkaRecord::getPartition, Collectors.mapping(KafkaRecord::getPayload, Collectors.toList())));
+        assertThat(byPartition).containsOnlyKeys(0, 1, 2);
+        byPartition.forEach((partition, values) -> assertThat(values).hasSize(10).isSorted()
+                .allSatisfy(v -> assertThat(v % 3).isEqualTo(partition)));
+
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSourceWithBoundedPrefetch() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("max.poll.records", 10);
+        config.put("prefetch-records", 20);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+        assertThat(source.isPrefetching()).isTrue();
+
+        TestSubscriber<Message<?>> subscriber = Flowable.fromPublisher(source.getSource().buildRs()).test(0);
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(200, null,
+                () -> new ProducerRecord<>(topic, counter.getAndIncrement()))).start();
+
+        // Nothing is requested, the partition gets paused once the buffer is full
+        await().atMost(2, TimeUnit.MINUTES).until(() -> source.getPausedPartitions() == 1);
+        // The buffer can exceed the limit by at most one poll
+        assertThat(source.getPrefetchedRecords()).isBetween(20, 30);
+        assertThat(source.getPrefetchedBytes()).isPositive();
+
+        subscriber.request(200);
+        await().atMost(2, TimeUnit.MINUTES).until(() -> subscriber.valueCount() >= 200);
+        assertThat(subscriber.values()).extracting(m -> ((KafkaRecord<String, Integer>) m).getPayload())
+                .hasSize(200).isSorted();
+        await().until(() -> source.getPausedPartitions() == 0);
+        assertThat(source.getPrefetchedRecords()).isZero();
+
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPrefetchedRecordsAreReceivedAgainAfterCancellation() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("max.poll.records", 10);
+        config.put("prefetch-records", 20);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+
+        TestSubscriber<Message<?>> first = Flowable.fromPublisher(source.getSource().buildRs()).test(5);
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(100, null,
+                () -> new ProducerRecord<>(topic, counter.getAndIncrement()))).start();
+
+        await().atMost(2, TimeUnit.MINUTES).until(() -> first.valueCount() == 5 && source.getPrefetchedRecords() > 0);
+        first.cancel();
+        await().until(() -> source.getPrefetchedRecords() == 0);
+
+        // The records buffered or received after the cancellation are not skipped
+        TestSubscriber<Message<?>> second = Flowable.fromPublisher(source.getSource().buildRs()).test(100);
+        await().atMost(2, TimeUnit.MINUTES).until(() -> second.valueCount() >= 95);
+        assertThat(second.values()).extracting(m -> ((KafkaRecord<String, Integer>) m).getPayload())
+                .containsExactlyElementsOf(IntStream.range(5, 100).boxed().collect(Collectors.toList()));
+
+        source.closeQuietly();
+    }
+
+    @Test
+    public void testClientMetrics() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("partitions", 2);
+        KafkaSource<String, Integer> source = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+
+        List<Message<?>> messages = new CopyOnWriteArrayList<>();
+        source.getSource().forEach(messages::add).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        new Thread(() -> usage.produceIntegers(10, null,
+                () -> new ProducerRecord<>(topic, counter.getAndIncrement()))).start();
+
+        await().atMost(2, TimeUnit.MINUTES).until(() -> messages.size() >= 10);
+        Map<String, Supplier<Number>> metrics = source.getClientMetrics();
+        assertThat(metrics).containsKeys("consumer.records-lag-max", "consumer.fetch-rate",
+                "consumer.records-consumed-rate", "consumer.assigned-partitions");
+        // Summed over the 2 consumers, only one of them gets the partition
+        assertThat(metrics.get("consumer.assigned-partitions").get().intValue()).isEqualTo(1);
+        assertThat(metrics.get("consumer.fetch-rate").get().doubleValue()).isPositive();
+
+        source.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCooperativeRebalance() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        createTopic(topic, 2);
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("partition.assignment.strategy", "org.apache.kafka.clients.consumer.CooperativeStickyAssignor");
+        config.put("commit-strategy", "throttled");
+        config.put("commit-interval", 100);
+        config.put("drain-timeout", 1000);
+
+        List<KafkaRecord<String, Integer>> first = new CopyOnWriteArrayList<>();
+        KafkaSource<String, Integer> source1 = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+        source1.getSource().forEach(m -> {
+            first.add((KafkaRecord<String, Integer>) m);
+            m.ack();
+        }).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        usage.produceIntegers(20, null, () -> {
+            int value = counter.getAndIncrement();
+            return new ProducerRecord<>(topic, value % 2, null, value);
+        });
+        await().atMost(2, TimeUnit.MINUTES).until(() -> first.size() >= 20);
+
+        // Joining the group moves one of the partitions to the second consumer
+        List<KafkaRecord<String, Integer>> second = new CopyOnWriteArrayList<>();
+        KafkaSource<String, Integer> source2 = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+        source2.getSource().forEach(m -> {
+            second.add((KafkaRecord<String, Integer>) m);
+            m.ack();
+        }).run();
+        await().atMost(2, TimeUnit.MINUTES).until(() -> assigned(source1) == 1 && assigned(source2) == 1);
+
+        usage.produceIntegers(20, null, () -> {
+            int value = counter.getAndIncrement();
+            return new ProducerRecord<>(topic, value % 2, null, value);
+        });
+        await().atMost(2, TimeUnit.MINUTES).until(() -> first.size() + second.size() >= 40);
+
+        // The revoked partition is committed by the rebalance listener, before being released: no duplicates
+        List<Integer> all = new ArrayList<>();
+        first.forEach(r -> all.add(r.getPayload()));
+        second.forEach(r -> all.add(r.getPayload()));
+        assertThat(all).hasSize(40).doesNotHaveDuplicates();
+        assertThat(second).hasSize(10).allSatisfy(r -> assertThat(r.getPayload()).isGreaterThanOrEqualTo(20));
+        assertThat(second.stream().map(KafkaRecord::getPartition).distinct()).hasSize(1);
+
+        source2.closeQuietly();
+        source1.closeQuietly();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCooperativeRebalanceWithSlowAcknowledgements() {
+        KafkaUsage usage = new KafkaUsage();
+        String topic = UUID.randomUUID().toString();
+        createTopic(topic, 2);
+        Map<String, Object> config = newCommonConfig();
+        config.put("topic", topic);
+        config.put("value.deserializer", IntegerDeserializer.class.getName());
+        config.put("partition.assignment.strategy", "org.apache.kafka.clients.consumer.CooperativeStickyAssignor");
+        config.put("commit-strategy", "throttled");
+        // Only the commit of the revoked partition can prevent the duplicates
+        config.put("commit-interval", 0);
+        config.put("drain-timeout", 10000);
+
+        // Still being processed when the rebalance starts
+        List<KafkaRecord<String, Integer>> first = new CopyOnWriteArrayList<>();
+        KafkaSource<String, Integer> source1 = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+        source1.getSource().forEach(m -> {
+            first.add((KafkaRecord<String, Integer>) m);
+            vertx.setTimer(3000, x -> m.ack());
+        }).run();
+
+        AtomicInteger counter = new AtomicInteger();
+        usage.produceIntegers(20, null, () -> {
+            int value = counter.getAndIncrement();
+            return new ProducerRecord<>(topic, value % 2, null, value);
+        });
+        await().atMost(2, TimeUnit.MINUTES).until(() -> first.size() >= 20);
+
+        List<KafkaRecord<String, Integer>> second = new CopyOnWriteArrayList<>();
+        KafkaSource<String, Integer> source2 = new KafkaSource<>(vertx, new MapBasedConfig(config), SERVERS);
+        source2.getSource().forEach(m -> {
+            second.add((KafkaRecord<String, Integer>) m);
+            m.ack();
+        }).run();
+        await().atMost(2, TimeUnit.MINUTES).until(() -> assigned(source1) == 1 && assigned(source2) == 1);
+
+        usage.produceIntegers(20, null, () -> {
+            int value = counter.getAndIncrement();
+            return new ProducerRecord<>(topic, value % 2, null, value);
+        });
+        await().atMost(2, TimeUnit.MINUTES).until(() -> first.size() + second.size() >= 40);
+
+        // The revocation waited for the acknowledgements in flight before committing: no duplicates
+        List<Integer> all = new ArrayList<>();
+        first.forEach(r -> all.add(r.getPayload()));
+        second.forEach(r -> all.add(r.getPayload()));
+        assertThat(all).hasSize(40).doesNotHaveDuplicates();
+        assertThat(second).hasSize(10).allSatisfy(r -> assertThat(r.getPayload()).isGreaterThanOrEqualTo(20));
+
+        source2.closeQuietly();
+        source1.closeQuietly();
+    }
+
+    private int assigned(KafkaSource<?, ?> source) {
+        Number value = source.getClientMetrics().get("consumer.assigned-partitions").get();
+        return Double.isNaN(value.doubleValue()) ? 0 : value.intValue();
+    }
+
+    private long committed(KafkaUsage usage, String group, String topic) {
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(
+                usage.getConsumerProperties(group, null, OffsetResetStrategy.EARLIEST),
+                new StringDeserializer(), new StringDeserializer())) {
+            OffsetAndMetadata committed = consumer.committed(new TopicPartition(topic, 0));
+            return committed == null ? -1 : committed.offset();
+        }
+    }
+
     private Map<String, Object> newCommonConfig() {
         String randomId = UUID.randomUUID().toString();
         Map<String, Object> config = new HashMap<>();
@@ -32,6 +32,9 @@ public class KafkaTestBase {
     public static void startKafkaBroker() throws IOException {
         Properties props = new Properties();
         props.setProperty("zookeeper.connection.timeout.ms", "10000");
+        // Single broker, the transaction log cannot be replicated
+        props.setProperty("transaction.state.log.replication.factor", "1");
+        props.setProperty("transaction.state.log.min.isr", "1");
         File directory = Testing.Files.createTestingDirectory(System.getProperty("java.io.tmpdir"), true);
         kafka = new KafkaCluster().withPorts(2182, 9092).addBrokers(1)
                 .usingDirectory(directory)
@@ -70,6 +73,10 @@ public class KafkaTestBase {
         kafka.startup();
     }
 
+    public static void createTopic(String topic, int partitions) {
+        kafka.createTopic(topic, partitions, 1);
+    }
+
     public static Weld baseWeld() {
         Weld weld = new Weld();
 
@@ -0,0 +1,121 @@
+package io.smallrye.reactive.messaging.kafka.commit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OffsetTrackerTest {
+
+    @Test
+    public void testNothingToCommitWithoutAcknowledgement() {
+        OffsetTracker tracker = new OffsetTracker();
+        assertThat(tracker.committable()).isEqualTo(-1);
+        tracker.received(0);
+        tracker.received(1);
+        assertThat(tracker.committable()).isEqualTo(-1);
+        assertThat(tracker.pending()).isEqualTo(2);
+    }
+
+    @Test
+    public void testHighestContiguousAcknowledgedOffset() {
+        OffsetTracker tracker = new OffsetTracker();
+        for (long i = 10; i < 15; i++) {
+            tracker.received(i);
+        }
+
+        assertThat(tracker.acknowledged(11)).isFalse();
+        assertThat(tracker.committable()).isEqualTo(-1);
+
+        assertThat(tracker.acknowledged(10)).isTrue();
+        assertThat(tracker.committable()).isEqualTo(12);
+
+        assertThat(tracker.acknowledged(14)).isFalse();
+        assertThat(tracker.committable()).isEqualTo(12);
+
+        assertThat(tracker.acknowledged(13)).isFalse();
+        assertThat(tracker.acknowledged(12)).isTrue();
+        assertThat(tracker.committable()).isEqualTo(15);
+        assertThat(tracker.pending()).isEqualTo(0);
+    }
+
+    @Test
+    public void testOffsetsWithGaps() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.received(0);
+        tracker.received(2);
+        tracker.received(5);
+
+        tracker.acknowledged(0);
+        tracker.acknowledged(2);
+        assertThat(tracker.committable()).isEqualTo(3);
+        tracker.acknowledged(5);
+        assertThat(tracker.committable()).isEqualTo(6);
+    }
+
+    @Test
+    public void testCommittedOffsetIsNotReturnedAgain() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.received(0);
+        tracker.received(1);
+        tracker.acknowledged(0);
+        assertThat(tracker.committable()).isEqualTo(1);
+        tracker.committed(1);
+        assertThat(tracker.committable()).isEqualTo(-1);
+        tracker.acknowledged(1);
+        assertThat(tracker.committable()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUnknownAndDuplicateAcknowledgementsAreIgnored() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.received(5);
+        assertThat(tracker.acknowledged(4)).isFalse();
+        assertThat(tracker.acknowledged(5)).isTrue();
+        assertThat(tracker.acknowledged(5)).isFalse();
+        assertThat(tracker.committable()).isEqualTo(6);
+    }
+
+    @Test
+    public void testRewind() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.received(0);
+        tracker.received(1);
+        tracker.received(2);
+        tracker.acknowledged(0);
+        tracker.committed(1);
+
+        // Received again, for instance after a rebalance.
+        tracker.received(1);
+        assertThat(tracker.pending()).isEqualTo(1);
+        tracker.acknowledged(1);
+        assertThat(tracker.committable()).isEqualTo(2);
+    }
+
+    @Test
+    public void testOutOfOrderAcknowledgementsWithManyRecords() {
+        OffsetTracker tracker = new OffsetTracker();
+        List<Long> offsets = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            tracker.received(i);
+            offsets.add(i);
+        }
+        Collections.shuffle(offsets, new Random(42));
+        long expected = 0;
+        boolean[] acked = new boolean[offsets.size()];
+        for (Long offset : offsets) {
+            tracker.acknowledged(offset);
+            acked[offset.intValue()] = true;
+            while (expected < acked.length && acked[(int) expected]) {
+                expected++;
+            }
+            assertThat(tracker.committable()).isEqualTo(expected == 0 ? -1 : expected);
+        }
+        assertThat(tracker.committable()).isEqualTo(10_000);
+        assertThat(tracker.pending()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,80 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+
+import io.reactivex.Emitter;
+
+/**
+ * Generates the messages of a {@link LoadGeneratorConnector} channel, one subscription at a time.
+ * <p>
+ * When a rate is set, each message is scheduled at {@code start + sequence / rate} and its timestamp is the scheduled
+ * time, not the actual emission time. So when the pipeline cannot keep up, the delay accumulated before the emission
+ * is part of the measured latency, instead of being hidden by the slower pace of the generator.
+ */
+class LoadGenerator {
+
+    private static final byte[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final long count;
+    private final long period;
+    private final String[] keys;
+    private final byte[] bytes;
+    private final String string;
+
+    private long sequence;
+    private long start = -1;
+
+    /**
+     * @param payloadSize the size of the payloads in bytes
+     * @param stringPayloads whether the payloads are {@code String}s or {@code byte[]}s
+     * @param cardinality the number of distinct keys, 0 to not generate keys
+     * @param rate the number of messages per second, 0 to emit as fast as requested
+     * @param count the number of messages to emit before completing
+     */
+    LoadGenerator(int payloadSize, boolean stringPayloads, int cardinality, long rate, long count) {
+        this.count = count;
+        this.period = rate > 0 ? Math.max(1, 1_000_000_000L / rate) : 0;
+        this.keys = new String[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            keys[i] = "key-" + i;
+        }
+        byte[] template = new byte[payloadSize];
+        Random random = new Random(payloadSize);
+        for (int i = 0; i < payloadSize; i++) {
+            template[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        this.bytes = stringPayloads ? null : template;
+        this.string = stringPayloads ? new String(template, StandardCharsets.US_ASCII) : null;
+    }
+
+    void generate(Emitter<Message<Object>> emitter) {
+        if (sequence >= count) {
+            emitter.onComplete();
+            return;
+        }
+        long timestamp;
+        if (period > 0) {
+            if (start < 0) {
+                start = System.nanoTime();
+            }
+            timestamp = start + sequence * period;
+            long delay;
+            while ((delay = timestamp - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+        } else {
+            timestamp = System.nanoTime();
+        }
+        String key = keys.length == 0 ? null : keys[(int) (sequence % keys.length)];
+        // byte arrays are mutable, so each message gets its own copy
+        Object payload = string != null ? string : bytes.clone();
+        emitter.onNext(Message.of(payload, Metadata.of(new LoadGeneratorMetadata(sequence, key, timestamp))));
+        sequence++;
+    }
+}
@@ -0,0 +1,60 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.reactive.messaging.spi.IncomingConnectorFactory;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Incoming connector generating synthetic messages, used to benchmark applications without broker.
+ * <p>
+ * The messages carry a {@link LoadGeneratorMetadata} containing their sequence number, key and send timestamp. Each
+ * channel generates its messages from a dedicated thread, either as fast as the application requests them, or at a
+ * fixed rate.
+ */
+@ApplicationScoped
+@Connector(LoadGeneratorConnector.CONNECTOR_NAME)
+public class LoadGeneratorConnector implements IncomingConnectorFactory {
+
+    public static final String CONNECTOR_NAME = "smallrye-loadgen";
+
+    static final int DEFAULT_PAYLOAD_SIZE = 100;
+
+    @Override
+    public PublisherBuilder<? extends Message<?>> getPublisherBuilder(Config config) {
+        int payloadSize = config.getOptionalValue("payload-size", Integer.class).orElse(DEFAULT_PAYLOAD_SIZE);
+        String payloadType = config.getOptionalValue("payload-type", String.class).orElse("bytes");
+        int cardinality = config.getOptionalValue("key-cardinality", Integer.class).orElse(0);
+        long rate = config.getOptionalValue("rate", Long.class).orElse(0L);
+        long count = config.getOptionalValue("count", Long.class).orElse(Long.MAX_VALUE);
+        long startDelay = config.getOptionalValue("start-delay", Long.class).orElse(0L);
+
+        if (payloadSize < 0 || cardinality < 0 || rate < 0 || count < 0 || startDelay < 0) {
+            throw new IllegalArgumentException("Invalid load generator configuration, `payload-size`, "
+                    + "`key-cardinality`, `rate`, `count` and `start-delay` must be positive");
+        }
+        if (!"bytes".equalsIgnoreCase(payloadType) && !"string".equalsIgnoreCase(payloadType)) {
+            throw new IllegalArgumentException("Invalid load generator configuration, `payload-type` must be `bytes` "
+                    + "or `string`, found " + payloadType);
+        }
+        boolean strings = "string".equalsIgnoreCase(payloadType);
+
+        Flowable<Message<Object>> flowable = Flowable.defer(() -> {
+            LoadGenerator generator = new LoadGenerator(payloadSize, strings, cardinality, rate, count);
+            return Flowable.generate(generator::generate);
+        }).subscribeOn(Schedulers.newThread());
+        if (startDelay > 0) {
+            flowable = flowable.delaySubscription(startDelay, TimeUnit.MILLISECONDS);
+        }
+        return ReactiveStreams.fromPublisher(flowable);
+    }
+}
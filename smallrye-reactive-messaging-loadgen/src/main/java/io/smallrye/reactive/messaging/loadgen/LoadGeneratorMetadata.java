@@ -0,0 +1,39 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+/**
+ * Metadata attached to the messages emitted by the {@link LoadGeneratorConnector}.
+ */
+public class LoadGeneratorMetadata {
+
+    private final long sequence;
+    private final String key;
+    private final long timestamp;
+
+    public LoadGeneratorMetadata(long sequence, String key, long timestamp) {
+        this.sequence = sequence;
+        this.key = key;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the position of the message in the generated sequence, starting from 0
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the key of the message, {@code null} if the channel does not generate keys
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the time at which the message was scheduled to be sent, in nanoseconds as returned by
+     *         {@link System#nanoTime()}, so only comparable with values taken in the same JVM
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,70 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.event.Observes;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Outgoing connector discarding the messages. The messages are acknowledged immediately, and counted.
+ * <p>
+ * The statistics of a channel, including the end-to-end latency of the messages emitted by the
+ * {@link LoadGeneratorConnector}, are retrieved using {@link #statistics(String)}. They are also logged when the
+ * application stops.
+ */
+@ApplicationScoped
+@Connector(NullConnector.CONNECTOR_NAME)
+public class NullConnector implements OutgoingConnectorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NullConnector.class);
+
+    public static final String CONNECTOR_NAME = "smallrye-null";
+
+    private final Map<String, NullSinkStatistics> statistics = new ConcurrentHashMap<>();
+
+    public void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        statistics.values().forEach(stats -> LOGGER.info("{}", stats));
+    }
+
+    @Override
+    public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
+        String name = config.getOptionalValue("channel-name", String.class)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid outgoing configuration, `channel-name` is not set"));
+        NullSinkStatistics stats = statistics.computeIfAbsent(name, NullSinkStatistics::new);
+        return ReactiveStreams.<Message<?>> builder()
+                .forEach(message -> {
+                    stats.record(message);
+                    message.ack();
+                });
+    }
+
+    /**
+     * Retrieves the statistics of the channel named {@code channel}. This channel must use the null connector.
+     *
+     * @param channel the name of the channel, must not be {@code null}
+     * @return the statistics
+     * @throws IllegalArgumentException if the channel name is {@code null} or if the channel is not associated with the
+     *         null connector.
+     */
+    public NullSinkStatistics statistics(String channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("`channel` must not be `null`");
+        }
+        NullSinkStatistics stats = statistics.get(channel);
+        if (stats == null) {
+            throw new IllegalArgumentException("Unknown channel " + channel);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,75 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * Statistics of the messages received by a {@link NullConnector} channel.
+ * <p>
+ * The latency is computed for the messages carrying a {@link LoadGeneratorMetadata}, as the time elapsed between the
+ * scheduled send time and the reception by the sink.
+ */
+public class NullSinkStatistics {
+
+    private final String channel;
+    private final AtomicLong count = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile long first;
+    private volatile long last;
+
+    NullSinkStatistics(String channel) {
+        this.channel = channel;
+    }
+
+    void record(Message<?> message) {
+        long now = System.nanoTime();
+        if (count.getAndIncrement() == 0) {
+            first = now;
+        }
+        last = now;
+        message.getMetadata(LoadGeneratorMetadata.class)
+                .ifPresent(metadata -> latency.record(now - metadata.getTimestamp()));
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return the number of received messages
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the number of messages received per second, between the reception of the first and the last message
+     */
+    public double getThroughput() {
+        long received = count.get();
+        long elapsed = last - first;
+        if (received < 2 || elapsed <= 0) {
+            return 0;
+        }
+        return (received - 1) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * @return the end-to-end latency histogram, in nanoseconds
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public void reset() {
+        count.set(0);
+        latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d messages, %.0f msg/s, latency: %s", channel, getCount(), getThroughput(), latency);
+    }
+}
@@ -0,0 +1,52 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getMin()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(10_000_000);
+        assertThat(histogram.getMean()).isCloseTo(5_000_500, within(1.0));
+        assertThat(histogram.getValueAtPercentile(50)).isCloseTo(5_000_000, within(160_000L));
+        assertThat(histogram.getValueAtPercentile(99)).isCloseTo(9_900_000, within(320_000L));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        long[] values = { 0, 1, 63, 64, 65, 127, 128, 1000, 1_000_000, Long.MAX_VALUE };
+        int previous = -1;
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(index).isGreaterThanOrEqualTo(previous);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(index))).isEqualTo(index);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMin()).isZero();
+        histogram.record(42);
+        histogram.record(-5);
+        assertThat(histogram.getMin()).isZero();
+        assertThat(histogram.getMax()).isEqualTo(42);
+        histogram.reset();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getMean()).isZero();
+    }
+}
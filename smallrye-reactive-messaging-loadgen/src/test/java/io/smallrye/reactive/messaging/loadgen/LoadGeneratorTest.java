@@ -0,0 +1,119 @@
+package io.smallrye.reactive.messaging.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.eclipse.microprofile.reactive.messaging.spi.ConnectorLiteral;
+import org.junit.After;
+import org.junit.Test;
+
+public class LoadGeneratorTest extends WeldTestBase {
+
+    @After
+    public void cleanup() {
+        releaseConfig();
+    }
+
+    private void install(Map<String, Object> generator) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("mp.messaging.incoming.load.connector", LoadGeneratorConnector.CONNECTOR_NAME);
+        generator.forEach((k, v) -> conf.put("mp.messaging.incoming.load." + k, v));
+        conf.put("mp.messaging.outgoing.void.connector", NullConnector.CONNECTOR_NAME);
+        installConfig(new MapBasedConfig(conf));
+    }
+
+    private NullSinkStatistics statistics() {
+        return container.getBeanManager().createInstance()
+                .select(NullConnector.class, ConnectorLiteral.of(NullConnector.CONNECTOR_NAME)).get()
+                .statistics("void");
+    }
+
+    @Test
+    public void testGenerationAsFastAsRequested() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("count", 10_000);
+        conf.put("payload-size", 64);
+        conf.put("key-cardinality", 10);
+        install(conf);
+        addBeanClass(Passthrough.class);
+        initialize();
+
+        NullSinkStatistics statistics = statistics();
+        await().until(() -> statistics.getCount() == 10_000);
+        assertThat(statistics.getLatency().getCount()).isEqualTo(10_000);
+        assertThat(statistics.getThroughput()).isPositive();
+
+        Passthrough bean = get(Passthrough.class);
+        assertThat(bean.keys()).hasSize(10);
+        assertThat(bean.sizes()).containsOnly(64);
+    }
+
+    @Test
+    public void testGenerationAtFixedRate() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("count", 500);
+        conf.put("rate", 1000);
+        conf.put("payload-type", "string");
+        install(conf);
+        addBeanClass(StringProcessor.class);
+        initialize();
+
+        NullSinkStatistics statistics = statistics();
+        await().until(() -> statistics.getCount() == 500);
+        // 500 messages at 1000 msg/s take about 500 ms
+        assertThat(statistics.getThroughput()).isBetween(500.0, 1100.0);
+        assertThat(get(StringProcessor.class).sequences()).hasSize(500).startsWith(0L).endsWith(499L);
+    }
+
+    @ApplicationScoped
+    public static class Passthrough {
+
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> sizes = ConcurrentHashMap.newKeySet();
+
+        @Incoming("load")
+        @Outgoing("void")
+        public Message<byte[]> process(Message<byte[]> message) {
+            sizes.add(message.getPayload().length);
+            message.getMetadata(LoadGeneratorMetadata.class).ifPresent(m -> keys.add(m.getKey()));
+            return message;
+        }
+
+        public Set<String> keys() {
+            return keys;
+        }
+
+        public Set<Integer> sizes() {
+            return sizes;
+        }
+    }
+
+    @ApplicationScoped
+    public static class StringProcessor {
+
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+
+        @Incoming("load")
+        @Outgoing("void")
+        public Message<String> process(Message<String> message) {
+            message.getMetadata(LoadGeneratorMetadata.class).ifPresent(m -> sequences.add(m.getSequence()));
+            return message.withPayload(message.getPayload().toUpperCase());
+        }
+
+        public List<Long> sequences() {
+            return sequences;
+        }
+    }
+}
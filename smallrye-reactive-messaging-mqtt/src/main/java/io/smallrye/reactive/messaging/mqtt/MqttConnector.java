@@ -18,6 +18,8 @@ import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 
+import io.smallrye.reactive.messaging.compression.Compression;
+import io.smallrye.reactive.messaging.compression.ContentEncoding;
 import io.vertx.reactivex.core.Vertx;
 
 @ApplicationScoped
@@ -64,6 +66,21 @@ public class MqttConnector implements IncomingConnectorFactory, OutgoingConnecto
         return sink.getSink();
     }
 
+    /**
+     * MQTT 3 messages have no header to carry the content encoding, so only GZIP, detected using its magic number, is
+     * supported.
+     *
+     * @param config the channel configuration
+     * @return the compression, {@code null} if not enabled
+     */
+    static Compression getCompression(Config config) {
+        Compression compression = Compression.create(config).orElse(null);
+        if (compression != null && compression.getEncoding() != ContentEncoding.GZIP) {
+            throw new IllegalArgumentException("The MQTT connector only supports the `gzip` compression");
+        }
+        return compression;
+    }
+
     public boolean isReady() {
         boolean ready = true;
         for (MqttSource source : sources) {
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.handler.codec.mqtt.MqttQoS;
+import io.smallrye.reactive.messaging.compression.Compression;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -30,6 +31,7 @@ public class MqttSink {
     private final String server;
     private final String topic;
     private final int qos;
+    private final Compression compression;
 
     private final SubscriberBuilder<? extends Message<?>, Void> sink;
     private final AtomicBoolean connected = new AtomicBoolean();
@@ -65,6 +67,7 @@ public class MqttSink {
         topic = getTopicOrNull(config);
         client = MqttClient.create(vertx, options);
         qos = config.getOptionalValue("qos", Integer.class).orElse(0);
+        compression = MqttConnector.getCompression(config);
 
         sink = ReactiveStreams.<Message<?>> builder()
                 .flatMapCompletionStage(msg -> {
@@ -104,7 +107,7 @@ public class MqttSink {
                         return CompletableFuture.completedFuture(msg);
                     }
 
-                    client.publish(actualTopictoBeUsed, convert(msg.getPayload()), qos, false, isRetain, res -> {
+                    client.publish(actualTopictoBeUsed, compress(convert(msg.getPayload())), qos, false, isRetain, res -> {
                         if (res.failed()) {
                             done.completeExceptionally(res.cause());
                         } else {
@@ -142,6 +145,13 @@ public class MqttSink {
         return new Buffer(Json.encodeToBuffer(payload));
     }
 
+    private Buffer compress(Buffer buffer) {
+        if (compression == null || !compression.shouldCompress(buffer.length())) {
+            return buffer;
+        }
+        return Buffer.buffer(compression.compress(buffer.getBytes()));
+    }
+
     public SubscriberBuilder<? extends Message<?>, Void> getSink() {
         return sink;
     }
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Observable;
+import io.smallrye.reactive.messaging.compression.Compression;
 import io.vertx.mqtt.MqttClientOptions;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.mqtt.MqttClient;
@@ -58,12 +59,27 @@ public class MqttSource {
         MqttClient client = MqttClient.create(vertx, options);
         int qos = config.getOptionalValue("qos", Integer.class).orElse(0);
         boolean broadcast = config.getOptionalValue("broadcast", Boolean.class).orElse(false);
+        boolean decompress = MqttConnector.getCompression(config) != null;
+        int maxDecompressedSize = Compression.getMaxDecompressedSize(config);
 
         this.source = ReactiveStreams.fromPublisher(
                 client.rxConnect(port, host, server)
                         .flatMapObservable(a -> Observable.<MqttMessage<?>> create(emitter -> {
                             client.publishHandler(message -> {
-                                emitter.onNext(new ReceivingMqttMessage(message));
+                                ReceivingMqttMessage received = new ReceivingMqttMessage(message, decompress,
+                                        maxDecompressedSize);
+                                if (decompress) {
+                                    try {
+                                        // Decompressed once, before the message is dispatched
+                                        received.getPayload();
+                                    } catch (IllegalArgumentException e) {
+                                        // MQTT has no negative acknowledgement, the message is dropped
+                                        LOGGER.error("Unable to decompress the MQTT message received from `{}`, "
+                                                + "dropping it", message.topicName(), e);
+                                        return;
+                                    }
+                                }
+                                emitter.onNext(received);
                             });
                             client.subscribe(topic, qos, done -> {
                                 if (done.failed()) {
@@ -1,18 +1,43 @@
 package io.smallrye.reactive.messaging.mqtt;
 
 import io.netty.handler.codec.mqtt.MqttQoS;
+import io.smallrye.reactive.messaging.compression.Compression;
+import io.smallrye.reactive.messaging.compression.ContentEncoding;
 import io.vertx.reactivex.mqtt.messages.MqttPublishMessage;
 
 public class ReceivingMqttMessage implements MqttMessage<byte[]> {
     final MqttPublishMessage message;
+    private final boolean decompress;
+    private final int maxDecompressedSize;
+    private volatile byte[] payload;
 
     ReceivingMqttMessage(MqttPublishMessage message) {
+        this(message, false, Compression.DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    ReceivingMqttMessage(MqttPublishMessage message, boolean decompress, int maxDecompressedSize) {
         this.message = message;
+        this.decompress = decompress;
+        this.maxDecompressedSize = maxDecompressedSize;
     }
 
+    /**
+     * @return the payload, decompressed if needed
+     * @throws IllegalArgumentException if the payload cannot be decompressed, or exceeds the maximum size once
+     *         decompressed
+     */
     @Override
     public byte[] getPayload() {
-        return this.message.payload().getDelegate().getBytes();
+        if (!decompress) {
+            return this.message.payload().getDelegate().getBytes();
+        }
+        if (payload == null) {
+            byte[] bytes = this.message.payload().getDelegate().getBytes();
+            // MQTT messages have no header, compressed payloads are detected using the GZIP magic number
+            payload = Compression.isGzip(bytes) ? Compression.decompress(bytes, ContentEncoding.GZIP, maxDecompressedSize)
+                    : bytes;
+        }
+        return payload;
     }
 
     public int getMessageId() {
@@ -3,6 +3,7 @@ package io.smallrye.reactive.messaging;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import javax.enterprise.inject.Instance;
@@ -22,6 +23,14 @@ public abstract class AbstractMediator {
     private Invoker invoker;
     private Instance<PublisherDecorator> decorators;
 
+    /**
+     * Number of messages received by this mediator for which the acknowledgement is managed by the mediator
+     * ({@code PRE_PROCESSING} and {@code POST_PROCESSING}), and number of these messages acknowledged.
+     * The difference gives the number of in-flight acknowledgements.
+     */
+    private final LongAdder received = new LongAdder();
+    private final LongAdder acknowledged = new LongAdder();
+
     public AbstractMediator(MediatorConfiguration configuration) {
         this.configuration = configuration;
     }
@@ -74,7 +83,7 @@ public abstract class AbstractMediator {
     }
 
     protected CompletionStage<Message> getAckOrCompletion(Message<?> message) {
-        CompletionStage<Void> ack = message.ack();
+        CompletionStage<Void> ack = acknowledge(message);
         if (ack != null) {
             return ack.thenApply(x -> message);
         } else {
@@ -82,6 +91,31 @@ public abstract class AbstractMediator {
         }
     }
 
+    /**
+     * Acknowledges the given incoming message and records the acknowledgement.
+     *
+     * @param message the message to acknowledge
+     * @return the completion stage returned by {@link Message#ack()}, may be {@code null}
+     */
+    protected CompletionStage<Void> acknowledge(Message<?> message) {
+        CompletionStage<Void> ack = message.ack();
+        if (ack == null) {
+            acknowledged.increment();
+            return null;
+        }
+        return ack.whenComplete((x, f) -> acknowledged.increment());
+    }
+
+    /**
+     * @return the number of received messages for which the acknowledgement, managed by the mediator, has not been
+     *         completed yet. Messages acknowledged manually are not tracked.
+     */
+    public long getInFlightAcknowledgements() {
+        // Read acknowledged first, so a concurrent reception cannot make the result negative
+        long a = acknowledged.sum();
+        return Math.max(0, received.sum() - a);
+    }
+
     public PublisherBuilder<? extends Message> getStream() {
         return null;
     }
@@ -103,8 +137,12 @@ public abstract class AbstractMediator {
     protected Function<Message, ? extends CompletionStage<? extends Message>> managePreProcessingAck() {
         return message -> {
             if (configuration.getAcknowledgment() == Acknowledgment.Strategy.PRE_PROCESSING) {
+                received.increment();
                 return getAckOrCompletion(message);
             }
+            if (configuration.getAcknowledgment() == Acknowledgment.Strategy.POST_PROCESSING) {
+                received.increment();
+            }
             return CompletableFuture.completedFuture(message);
         };
     }
@@ -18,6 +18,8 @@ import org.eclipse.microprofile.reactive.messaging.Outgoing;
 import io.smallrye.reactive.messaging.annotations.Broadcast;
 import io.smallrye.reactive.messaging.annotations.Incomings;
 import io.smallrye.reactive.messaging.annotations.Merge;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+import io.smallrye.reactive.messaging.annotations.Window;
 import io.smallrye.reactive.messaging.helpers.TypeUtils;
 import io.smallrye.reactive.messaging.helpers.Validation;
 
@@ -41,6 +43,10 @@ public class DefaultMediatorConfiguration implements MediatorConfiguration {
 
     private Integer broadcastValue = null;
 
+    private Prioritized prioritized = null;
+
+    private Window window = null;
+
     /**
      * What does the mediator products and how is it produced
      */
@@ -98,7 +104,13 @@ public class DefaultMediatorConfiguration implements MediatorConfiguration {
             throw getOutgoingError("value is blank or null");
         }
 
-        this.shape = this.mediatorConfigurationSupport.determineShape(incomings, outgoing);
+        this.window = this.mediatorConfigurationSupport.processWindow(incomings, outgoing,
+                () -> method.getAnnotation(Window.class));
+        if (this.window != null) {
+            this.shape = Shape.WINDOW;
+        } else {
+            this.shape = this.mediatorConfigurationSupport.determineShape(incomings, outgoing);
+        }
 
         this.acknowledgment = this.mediatorConfigurationSupport.processSuppliedAcknowledgement(incomings, () -> {
             Acknowledgment annotation = method.getAnnotation(Acknowledgment.class);
@@ -126,6 +138,8 @@ public class DefaultMediatorConfiguration implements MediatorConfiguration {
             Merge annotation = method.getAnnotation(Merge.class);
             return annotation != null ? annotation.value() : null;
         });
+        this.prioritized = this.mediatorConfigurationSupport.processPrioritized(incomings,
+                () -> method.getAnnotation(Prioritized.class));
         this.broadcastValue = this.mediatorConfigurationSupport.processBroadcast(outgoing, () -> {
             Broadcast annotation = method.getAnnotation(Broadcast.class);
             return annotation != null ? annotation.value() : null;
@@ -217,6 +231,16 @@ public class DefaultMediatorConfiguration implements MediatorConfiguration {
         return broadcastValue != null;
     }
 
+    @Override
+    public Prioritized getPrioritized() {
+        return prioritized;
+    }
+
+    @Override
+    public Window getWindow() {
+        return window;
+    }
+
     @Override
     public Bean<?> getBean() {
         return mediatorBean;
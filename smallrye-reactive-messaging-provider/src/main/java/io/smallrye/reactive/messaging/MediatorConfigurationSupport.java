@@ -1,5 +1,6 @@
 package io.smallrye.reactive.messaging;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
@@ -14,6 +15,8 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
 import io.smallrye.reactive.messaging.annotations.Merge;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+import io.smallrye.reactive.messaging.annotations.Window;
 import io.smallrye.reactive.messaging.helpers.ClassUtils;
 
 public class MediatorConfigurationSupport {
@@ -83,6 +86,8 @@ public class MediatorConfigurationSupport {
                 return validateProcessor(acknowledgment);
             case STREAM_TRANSFORMER:
                 return validateStreamTransformer(acknowledgment);
+            case WINDOW:
+                return validateWindow(acknowledgment);
             default:
                 throw new IllegalStateException("Unknown shape: " + shape);
         }
@@ -397,6 +402,24 @@ public class MediatorConfigurationSupport {
         return new ValidationOutput(production, consumption, useBuilderTypes);
     }
 
+    private ValidationOutput validateWindow(Acknowledgment.Strategy acknowledgment) {
+        // Supported signature:
+        // 1. WindowAggregator<I, A, R> method()
+
+        if (parameterTypes.length != 0) {
+            throw getIncomingAndOutgoingError("the method annotated with @Window must not have parameters");
+        }
+        if (!ClassUtils.isAssignable(returnType, WindowAggregator.class)) {
+            throw getIncomingAndOutgoingError("the method annotated with @Window must return a WindowAggregator");
+        }
+        if (acknowledgment == Acknowledgment.Strategy.MANUAL) {
+            throw getIncomingAndOutgoingError("MANUAL acknowledgment is not supported with @Window, the incoming "
+                    + "messages are acknowledged when the results of their windows are acknowledged (POST_PROCESSING)");
+        }
+        return new ValidationOutput(MediatorConfiguration.Production.INDIVIDUAL_PAYLOAD,
+                MediatorConfiguration.Consumption.PAYLOAD);
+    }
+
     public Acknowledgment.Strategy processDefaultAcknowledgement(Shape shape, MediatorConfiguration.Consumption consumption) {
         if (shape == Shape.STREAM_TRANSFORMER) {
             return Acknowledgment.Strategy.PRE_PROCESSING;
@@ -422,6 +445,66 @@ public class MediatorConfigurationSupport {
         return null;
     }
 
+    public Prioritized processPrioritized(List<?> incomings, Supplier<Prioritized> supplier) {
+        Prioritized result = supplier.get();
+        if (result == null) {
+            return null;
+        }
+        if (incomings == null || incomings.isEmpty()) {
+            throw getOutgoingError(
+                    "The @Prioritized annotation is only supported for method annotated with @Incoming: " + methodAsString);
+        }
+        if (result.weights().length == 0 || Arrays.stream(result.weights()).anyMatch(w -> w <= 0)) {
+            throw getIncomingError("The @Prioritized weights must be strictly positive and at least one level must be "
+                    + "declared: " + Arrays.toString(result.weights()));
+        }
+        if (result.bufferSize() <= 0) {
+            throw getIncomingError("The @Prioritized buffer size must be strictly positive: " + result.bufferSize());
+        }
+        return result;
+    }
+
+    public Window processWindow(List<?> incomings, Object outgoing, Supplier<Window> supplier) {
+        Window result = supplier.get();
+        if (result == null) {
+            return null;
+        }
+        if (incomings == null || incomings.isEmpty() || outgoing == null) {
+            throw getIncomingAndOutgoingError(
+                    "The @Window annotation is only supported for method annotated with @Incoming and @Outgoing");
+        }
+        if (result.size() < 0 || result.duration() < 0 || result.advance() < 0 || result.gap() < 0) {
+            throw getIncomingAndOutgoingError("The @Window attributes must not be negative");
+        }
+        boolean countBased = result.size() > 0;
+        boolean timeBased = result.duration() > 0;
+        switch (result.value()) {
+            case SESSION:
+                if (result.gap() == 0 || countBased || timeBased || result.advance() > 0) {
+                    throw getIncomingAndOutgoingError("A session @Window requires a gap, and no size, duration or "
+                            + "advance");
+                }
+                break;
+            case HOPPING:
+                if (countBased == timeBased || result.gap() > 0) {
+                    throw getIncomingAndOutgoingError("A hopping @Window requires either a size or a duration, "
+                            + "and no gap");
+                }
+                long length = countBased ? result.size() : result.duration();
+                if (result.advance() == 0 || result.advance() > length) {
+                    throw getIncomingAndOutgoingError("A hopping @Window requires an advance between 1 and the "
+                            + (countBased ? "size" : "duration") + " of the window: " + result.advance());
+                }
+                break;
+            default:
+                if (countBased == timeBased || result.advance() > 0 || result.gap() > 0) {
+                    throw getIncomingAndOutgoingError("A tumbling @Window requires either a size or a duration, "
+                            + "and no advance or gap");
+                }
+        }
+        return result;
+    }
+
     public Integer processBroadcast(Object outgoing, Supplier<Integer> supplier) {
         Integer result = supplier.get();
         if (outgoing != null) {
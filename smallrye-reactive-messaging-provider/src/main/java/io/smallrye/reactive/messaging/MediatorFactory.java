@@ -15,6 +15,8 @@ public class MediatorFactory {
                 return new PublisherMediator(configuration);
             case STREAM_TRANSFORMER:
                 return new StreamTransformerMediator(configuration);
+            case WINDOW:
+                return new WindowMediator(configuration);
             default:
                 throw new IllegalArgumentException("Unsupported shape " + configuration.shape()
                         + " for method " + configuration.methodAsString());
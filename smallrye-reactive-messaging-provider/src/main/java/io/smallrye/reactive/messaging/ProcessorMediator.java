@@ -162,13 +162,7 @@ public class ProcessorMediator extends AbstractMediator {
         Processor<Message, Message> result = Objects.requireNonNull(invoke(),
                 "The method " + configuration.methodAsString() + " returned `null`");
         this.processor = ReactiveStreams.<Message> builder()
-                .<Message> flatMapCompletionStage(msg -> {
-                    if (configuration.getAcknowledgment() == Acknowledgment.Strategy.PRE_PROCESSING) {
-                        return msg.ack().thenApply((x -> msg));
-                    } else {
-                        return CompletableFuture.completedFuture(msg);
-                    }
-                })
+                .flatMapCompletionStage(managePreProcessingAck())
                 .via(result)
                 .buildRs();
     }
@@ -245,7 +239,7 @@ public class ProcessorMediator extends AbstractMediator {
                     .<Message> map(input -> {
                         Object result = invoke(input.getPayload());
                         if (configuration.getAcknowledgment() == Acknowledgment.Strategy.POST_PROCESSING) {
-                            return input.withPayload(result);
+                            return input.withPayload(result).withAck(() -> acknowledge(input));
                         } else {
                             return Message.of(result, input.getMetadata());
                         }
@@ -257,7 +251,7 @@ public class ProcessorMediator extends AbstractMediator {
                     .<Message> map(input -> {
                         Object result = invoke(input);
                         if (configuration.getAcknowledgment() == Acknowledgment.Strategy.POST_PROCESSING) {
-                            return Message.of(result, () -> input.ack());
+                            return Message.of(result, () -> acknowledge(input));
                         } else {
                             return Message.of(result);
                         }
@@ -284,7 +278,7 @@ public class ProcessorMediator extends AbstractMediator {
                     return cs
                             .thenApply(res -> Message.of(res, input.getMetadata(), () -> {
                                 if (configuration.getAcknowledgment() == Acknowledgment.Strategy.POST_PROCESSING) {
-                                    return input.ack();
+                                    return acknowledge(input);
                                 } else {
                                     return CompletableFuture.<Void> completedFuture(null);
                                 }
@@ -0,0 +1,146 @@
+package io.smallrye.reactive.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.annotations.Window;
+
+/**
+ * Mediator for the methods annotated with {@link Window}. The payloads are aggregated incrementally using the
+ * {@link WindowAggregator} returned by the method, and a message is emitted with the result of each non-empty window.
+ * <p>
+ * With the {@code POST_PROCESSING} acknowledgement, each incoming message is acknowledged once the results of all the
+ * windows containing it have been acknowledged (a message can belong to several hopping windows).
+ */
+public class WindowMediator extends AbstractMediator {
+
+    private WindowAggregator<Object, Object, Object> aggregator;
+    private PublisherBuilder<? extends Message> publisher;
+
+    public WindowMediator(MediatorConfiguration configuration) {
+        super(configuration);
+        if (configuration.shape() != Shape.WINDOW) {
+            throw new IllegalArgumentException("Expected a Window shape, received a " + configuration.shape());
+        }
+    }
+
+    @Override
+    public void initialize(Object bean) {
+        super.initialize(bean);
+        this.aggregator = Objects.requireNonNull(invoke(),
+                "The method " + configuration.methodAsString() + " has returned `null`");
+    }
+
+    @Override
+    public void connectToUpstream(PublisherBuilder<? extends Message> upstream) {
+        Objects.requireNonNull(aggregator);
+        boolean track = configuration.getAcknowledgment() == Acknowledgment.Strategy.POST_PROCESSING;
+        Flowable<Tracked> items = Flowable.fromPublisher(upstream
+                .flatMapCompletionStage(managePreProcessingAck())
+                .buildRs())
+                .map(Tracked::new);
+
+        Flowable<Message<?>> results = split(items, configuration.getWindow())
+                .flatMapMaybe(window -> window
+                        .collect(() -> new WindowState(track), WindowState::add)
+                        .filter(state -> state.count > 0))
+                .map(WindowState::toMessage);
+
+        this.publisher = decorate(ReactiveStreams.fromPublisher(results));
+    }
+
+    private static Flowable<Flowable<Tracked>> split(Flowable<Tracked> items, Window window) {
+        switch (window.value()) {
+            case SESSION:
+                return items.publish(shared -> shared.window(shared.debounce(window.gap(), TimeUnit.MILLISECONDS)));
+            case HOPPING:
+                if (window.size() > 0) {
+                    return items.window(window.size(), window.advance());
+                }
+                return items.window(window.duration(), window.advance(), TimeUnit.MILLISECONDS);
+            default:
+                if (window.size() > 0) {
+                    return items.window(window.size());
+                }
+                return items.window(window.duration(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public PublisherBuilder<? extends Message> getStream() {
+        return Objects.requireNonNull(publisher);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return publisher != null;
+    }
+
+    /**
+     * An incoming message, with the number of windows containing it whose result is not yet acknowledged.
+     */
+    private static final class Tracked {
+        private final Message<?> message;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Tracked(Message<?> message) {
+            this.message = message;
+        }
+    }
+
+    private final class WindowState {
+        private final List<Tracked> members;
+        private final AtomicBoolean acknowledged = new AtomicBoolean();
+        private Object accumulator = aggregator.initial();
+        private long count;
+
+        private WindowState(boolean track) {
+            this.members = track ? new ArrayList<>() : null;
+        }
+
+        private void add(Tracked item) {
+            accumulator = aggregator.accumulate(accumulator, item.message.getPayload());
+            count++;
+            if (members != null) {
+                item.pending.incrementAndGet();
+                members.add(item);
+            }
+        }
+
+        private Message<?> toMessage() {
+            Object result = aggregator.result(accumulator);
+            if (members == null) {
+                return Message.of(result);
+            }
+            return Message.of(result, this::ack);
+        }
+
+        private CompletionStage<Void> ack() {
+            if (!acknowledged.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            List<CompletableFuture<Void>> acks = new ArrayList<>();
+            for (Tracked member : members) {
+                if (member.pending.decrementAndGet() == 0) {
+                    CompletionStage<Void> ack = acknowledge(member.message);
+                    if (ack != null) {
+                        acks.add(ack.toCompletableFuture());
+                    }
+                }
+            }
+            return CompletableFuture.allOf(acks.toArray(new CompletableFuture[0]));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.smallrye.reactive.messaging.ack;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * Lets an outgoing connector send several messages without waiting for the previous deliveries to complete, while
+ * still acknowledging the messages in order.
+ * <p>
+ * A message is acknowledged once its delivery has completed and once the previous messages have been acknowledged.
+ * A failed delivery fails the acknowledgement of the next messages, and the stages returned for the next messages: the
+ * stream of the sink fails, as when each message waits for its delivery, and the messages sent after the failed one
+ * are never acknowledged. So, an upstream source never commits past a lost message.
+ * <p>
+ * Not thread-safe: must be called sequentially, by the {@code flatMapCompletionStage} stage of the sink.
+ */
+public class OrderedAckWindow {
+
+    private final int maxInflightMessages;
+    private final Deque<CompletableFuture<Void>> inflight = new ArrayDeque<>();
+    private CompletableFuture<Void> lastAck = CompletableFuture.completedFuture(null);
+
+    /**
+     * @param maxInflightMessages the maximum number of messages sent and not acknowledged yet, must be positive
+     */
+    public OrderedAckWindow(int maxInflightMessages) {
+        if (maxInflightMessages <= 0) {
+            throw new IllegalArgumentException("`max-inflight-messages` must be greater than 0");
+        }
+        this.maxInflightMessages = maxInflightMessages;
+    }
+
+    /**
+     * Sends the message, unless a previous delivery has failed, and acknowledges it in order.
+     *
+     * @param message the message
+     * @param delivery sends the message, the returned stage is completed once the message has been delivered, or
+     *        failed if it cannot be delivered
+     * @param <M> the type of message
+     * @return a stage completed immediately while less than {@code maxInflightMessages} messages are waiting for their
+     *         acknowledgement, otherwise when the oldest one is acknowledged, so the upstream is back-pressured while
+     *         the window is full. It fails if a delivery has failed, in which case the message is not sent if the
+     *         failure was already known.
+     */
+    public <M extends Message<?>> CompletionStage<M> send(M message, Supplier<? extends CompletionStage<?>> delivery) {
+        if (lastAck.isCompletedExceptionally()) {
+            // The failure is propagated along the acknowledgements, fail the stream without sending the message.
+            return lastAck.thenApply(x -> message);
+        }
+        CompletionStage<?> delivered = delivery.get();
+        CompletableFuture<Void> ack = lastAck
+                .thenCompose(x -> delivered)
+                .thenCompose(x -> message.ack());
+        lastAck = ack;
+        if (ack.isCompletedExceptionally()) {
+            return ack.thenApply(x -> message);
+        }
+
+        inflight.addLast(ack);
+        while (!inflight.isEmpty() && inflight.peekFirst().isDone()) {
+            inflight.pollFirst();
+        }
+        if (inflight.size() < maxInflightMessages) {
+            return CompletableFuture.completedFuture(message);
+        }
+        return inflight.peekFirst().thenApply(x -> message);
+    }
+}
@@ -0,0 +1,306 @@
+package io.smallrye.reactive.messaging.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.eclipse.microprofile.config.Config;
+
+/**
+ * Compresses outgoing payloads and decompresses incoming payloads.
+ * <p>
+ * The {@link Deflater} and {@link Inflater} instances, which hold native memory, are pooled and reused across
+ * messages. The GZIP header and trailer are written and parsed directly, so the pooled instances are used for both
+ * encodings.
+ * <p>
+ * Instances are created from the {@code compression} attributes of the channel configuration, and are thread-safe.
+ * <p>
+ * The decompressed size is bounded, as the incoming payloads may come from untrusted clients: a small compressed
+ * payload can expand to a huge one.
+ */
+public class Compression {
+
+    public static final int DEFAULT_THRESHOLD = 1024;
+    public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 10 * 1024 * 1024;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final byte[] GZIP_HEADER = {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private static final int MAX_POOLED = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    private static final Pool<Inflater> RAW_INFLATERS = new Pool<>();
+    private static final Pool<Inflater> ZLIB_INFLATERS = new Pool<>();
+
+    private final ContentEncoding encoding;
+    private final int threshold;
+    private final int level;
+    private final Pool<Deflater> deflaters = new Pool<>();
+
+    public Compression(ContentEncoding encoding, int threshold, int level) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The compression threshold must be positive or zero, was " + threshold);
+        }
+        if (level != Deflater.DEFAULT_COMPRESSION
+                && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("The compression level must be in [0, 9], was " + level);
+        }
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * Creates an instance of {@link Compression} from the {@code compression}, {@code compression.threshold} and
+     * {@code compression.level} attributes of the given channel configuration.
+     *
+     * @param config the channel configuration
+     * @return the compression, empty if the compression is not enabled
+     */
+    public static Optional<Compression> create(Config config) {
+        Optional<String> value = config.getOptionalValue("compression", String.class);
+        if (!value.isPresent() || value.get().equalsIgnoreCase("none")) {
+            return Optional.empty();
+        }
+        ContentEncoding encoding = ContentEncoding.from(value.get())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported compression: " + value.get()
+                        + ", supported values are `none`, `gzip` and `deflate`"));
+        return Optional.of(new Compression(encoding,
+                config.getOptionalValue("compression.threshold", Integer.class).orElse(DEFAULT_THRESHOLD),
+                config.getOptionalValue("compression.level", Integer.class).orElse(Deflater.DEFAULT_COMPRESSION)));
+    }
+
+    /**
+     * Reads the {@code compression.max-decompressed-size} attribute of the given channel configuration.
+     *
+     * @param config the channel configuration
+     * @return the maximum size in bytes of a decompressed payload
+     */
+    public static int getMaxDecompressedSize(Config config) {
+        int max = config.getOptionalValue("compression.max-decompressed-size", Integer.class)
+                .orElse(DEFAULT_MAX_DECOMPRESSED_SIZE);
+        if (max <= 0) {
+            throw new IllegalArgumentException("`compression.max-decompressed-size` must be greater than 0, was " + max);
+        }
+        return max;
+    }
+
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @param size the size of the payload in bytes
+     * @return whether a payload of the given size must be compressed
+     */
+    public boolean shouldCompress(int size) {
+        return size >= threshold;
+    }
+
+    /**
+     * Compresses the given bytes, whatever their size.
+     *
+     * @param bytes the bytes
+     * @return the compressed bytes
+     */
+    public byte[] compress(byte[] bytes) {
+        boolean gzip = encoding == ContentEncoding.GZIP;
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, gzip);
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+            if (gzip) {
+                out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            }
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] buffer = new byte[Math.min(8192, Math.max(64, bytes.length))];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            if (gzip) {
+                CRC32 crc = new CRC32();
+                crc.update(bytes, 0, bytes.length);
+                writeInt(out, (int) crc.getValue());
+                writeInt(out, bytes.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Decompresses the given bytes, up to {@link #DEFAULT_MAX_DECOMPRESSED_SIZE} bytes.
+     *
+     * @param bytes the compressed bytes
+     * @param encoding the encoding of the bytes
+     * @return the decompressed bytes
+     * @throws IllegalArgumentException if the bytes are not valid for the encoding
+     * @throws DecompressedSizeExceededException if the decompressed bytes exceed the maximum size
+     */
+    public static byte[] decompress(byte[] bytes, ContentEncoding encoding) {
+        return decompress(bytes, encoding, DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * Decompresses the given bytes. The decompression stops as soon as the maximum size is exceeded.
+     *
+     * @param bytes the compressed bytes
+     * @param encoding the encoding of the bytes
+     * @param maxSize the maximum size in bytes of the decompressed bytes
+     * @return the decompressed bytes
+     * @throws IllegalArgumentException if the bytes are not valid for the encoding
+     * @throws DecompressedSizeExceededException if the decompressed bytes exceed the maximum size
+     */
+    public static byte[] decompress(byte[] bytes, ContentEncoding encoding, int maxSize) {
+        boolean gzip = encoding == ContentEncoding.GZIP;
+        Pool<Inflater> pool = gzip ? RAW_INFLATERS : ZLIB_INFLATERS;
+        Inflater inflater = pool.poll();
+        if (inflater == null) {
+            inflater = new Inflater(gzip);
+        }
+        try {
+            int offset = gzip ? readGzipHeader(bytes) : 0;
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            int expected = (int) Math.min(maxSize, bytes.length * 2L);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(expected);
+            byte[] buffer = new byte[Math.min(8192, Math.max(64, expected))];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Truncated " + encoding.value() + " content");
+                }
+                if (out.size() + count > maxSize) {
+                    throw new DecompressedSizeExceededException("The decompressed " + encoding.value()
+                            + " content exceeds the maximum size of " + maxSize + " bytes");
+                }
+                out.write(buffer, 0, count);
+            }
+            byte[] result = out.toByteArray();
+            if (gzip) {
+                verifyGzipTrailer(bytes, bytes.length - inflater.getRemaining(), result);
+            }
+            return result;
+        } catch (DataFormatException | ZipException e) {
+            throw new IllegalArgumentException("Unable to decompress " + encoding.value() + " content", e);
+        } finally {
+            inflater.reset();
+            if (!pool.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * @param bytes the bytes
+     * @return whether the bytes start with the GZIP magic number
+     */
+    public static boolean isGzip(byte[] bytes) {
+        return bytes != null && bytes.length >= GZIP_HEADER.length
+                && (bytes[0] & 0xff) == (GZIP_MAGIC & 0xff) && (bytes[1] & 0xff) == (GZIP_MAGIC >> 8);
+    }
+
+    private static int readGzipHeader(byte[] bytes) throws ZipException {
+        if (!isGzip(bytes) || bytes[2] != Deflater.DEFLATED) {
+            throw new ZipException("Not in GZIP format");
+        }
+        int flags = bytes[3] & 0xff;
+        int offset = GZIP_HEADER.length;
+        if ((flags & FEXTRA) != 0) {
+            offset += 2 + readShort(bytes, offset);
+        }
+        if ((flags & FNAME) != 0) {
+            offset = skipZeroTerminated(bytes, offset);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            offset = skipZeroTerminated(bytes, offset);
+        }
+        if ((flags & FHCRC) != 0) {
+            offset += 2;
+        }
+        if (offset > bytes.length) {
+            throw new ZipException("Truncated GZIP header");
+        }
+        return offset;
+    }
+
+    private static void verifyGzipTrailer(byte[] bytes, int offset, byte[] content) throws ZipException {
+        if (offset + 8 > bytes.length) {
+            throw new ZipException("Truncated GZIP trailer");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        if (readInt(bytes, offset) != (int) crc.getValue() || readInt(bytes, offset + 4) != content.length) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private static int skipZeroTerminated(byte[] bytes, int offset) {
+        int index = offset;
+        while (index < bytes.length && bytes[index] != 0) {
+            index++;
+        }
+        return index + 1;
+    }
+
+    private static int readShort(byte[] bytes, int offset) throws ZipException {
+        if (offset + 2 > bytes.length) {
+            throw new ZipException("Truncated GZIP header");
+        }
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff) << 16
+                | (bytes[offset + 3] & 0xff) << 24;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    /**
+     * Bounded pool of reusable instances.
+     */
+    private static class Pool<T> {
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T item = queue.poll();
+            if (item != null) {
+                size.decrementAndGet();
+            }
+            return item;
+        }
+
+        boolean offer(T item) {
+            if (size.incrementAndGet() > MAX_POOLED) {
+                size.decrementAndGet();
+                return false;
+            }
+            return queue.offer(item);
+        }
+    }
+}
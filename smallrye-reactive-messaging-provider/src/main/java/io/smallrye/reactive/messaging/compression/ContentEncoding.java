@@ -0,0 +1,51 @@
+package io.smallrye.reactive.messaging.compression;
+
+import java.util.Optional;
+
+/**
+ * The supported content encodings, named after the HTTP {@code Content-Encoding} values.
+ */
+public enum ContentEncoding {
+
+    /**
+     * GZIP format (RFC 1952).
+     */
+    GZIP("gzip"),
+
+    /**
+     * ZLIB format (RFC 1950), named {@code deflate} in HTTP.
+     */
+    DEFLATE("deflate");
+
+    private final String value;
+
+    ContentEncoding(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the name of the encoding, as used in the {@code Content-Encoding} headers
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * Looks for the encoding matching the given name.
+     *
+     * @param value the name, can be {@code null}
+     * @return the encoding, empty if the name is {@code null} or not supported
+     */
+    public static Optional<ContentEncoding> from(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        for (ContentEncoding encoding : values()) {
+            if (encoding.value.equalsIgnoreCase(trimmed)) {
+                return Optional.of(encoding);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package io.smallrye.reactive.messaging.compression;
+
+/**
+ * Thrown when a payload would be larger than the maximum decompressed size once decompressed.
+ */
+public class DecompressedSizeExceededException extends IllegalArgumentException {
+
+    public DecompressedSizeExceededException(String message) {
+        super(message);
+    }
+}
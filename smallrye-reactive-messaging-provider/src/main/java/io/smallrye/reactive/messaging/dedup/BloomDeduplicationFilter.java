@@ -0,0 +1,134 @@
+package io.smallrye.reactive.messaging.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Probabilistic deduplication filter based on two generations of Bloom filters.
+ * <p>
+ * The identifiers are recorded in the current generation, and looked up in both generations. The current generation
+ * becomes the previous one when it contains {@code maxEntries / 2} identifiers or is older than {@code ttl / 2}. So an
+ * identifier is remembered for at least {@code maxEntries / 2} identifiers or {@code ttl / 2} milliseconds, and at most
+ * {@code maxEntries} identifiers or {@code ttl} milliseconds.
+ * <p>
+ * A new message can be wrongly detected as duplicate with a probability close to the configured false positive rate.
+ * The k probes are derived by double hashing from two independent 64-bit hashes of the identifier bytes: the bytes of
+ * {@code byte[]} identifiers, or the UTF-8 encoding of the {@code toString} representation of the other identifiers.
+ */
+class BloomDeduplicationFilter implements DeduplicationFilter {
+
+    private final int capacity;
+    private final long period;
+    private final LongSupplier clock;
+    private final int bits;
+    private final int hashes;
+
+    private long[] current;
+    private long[] previous;
+    private int count;
+    private long generationStart;
+
+    BloomDeduplicationFilter(int maxEntries, long ttl, double falsePositiveRate, LongSupplier clock) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The false positive rate must be in ]0, 1[, was " + falsePositiveRate);
+        }
+        this.capacity = Math.max(1, maxEntries / 2);
+        this.period = Math.max(1, ttl / 2);
+        this.clock = clock;
+        // Optimal number of bits and hash functions for the capacity of a generation
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        this.current = new long[(bits + 63) / 64];
+        this.previous = new long[current.length];
+        this.generationStart = clock.getAsLong();
+    }
+
+    @Override
+    public synchronized boolean checkAndRecord(Object id) {
+        long now = clock.getAsLong();
+        if (count >= capacity || now - generationStart > period) {
+            rotate(now);
+        }
+        byte[] bytes = bytes(id);
+        long h1 = fnv(bytes);
+        // Odd, so the probes do not collapse on a single bit when h2 is a multiple of the size.
+        long h2 = golden(bytes) | 1L;
+        boolean inCurrent = true;
+        boolean inPrevious = true;
+        for (int i = 0; i < hashes; i++) {
+            int index = (int) Math.floorMod(h1 + i * h2, (long) bits);
+            int word = index >>> 6;
+            long mask = 1L << index;
+            inPrevious &= (previous[word] & mask) != 0;
+            if ((current[word] & mask) == 0) {
+                inCurrent = false;
+                current[word] |= mask;
+            }
+        }
+        if (!inCurrent) {
+            count++;
+        }
+        return inCurrent || inPrevious;
+    }
+
+    private void rotate(long now) {
+        long[] recycled = previous;
+        previous = current;
+        Arrays.fill(recycled, 0L);
+        current = recycled;
+        count = 0;
+        generationStart = now;
+    }
+
+    private static byte[] bytes(Object id) {
+        if (id instanceof byte[]) {
+            return (byte[]) id;
+        }
+        return id.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 64-bit FNV-1a hash, finalized with {@link #mix(long)}.
+     */
+    private static long fnv(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Multiplicative hash using the 64-bit golden ratio, with a different seed, multiplier and combination than
+     * {@link #fnv(byte[])}, finalized with {@link #mix(long)}.
+     */
+    private static long golden(byte[] bytes) {
+        long h = 0x27d4eb2f165667c5L ^ bytes.length;
+        for (byte b : bytes) {
+            h = Long.rotateLeft(h + (b & 0xff), 23) * 0x9e3779b97f4a7c15L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Spreads the bits of the hash over 64 bits (finalizer of MurmurHash3).
+     */
+    private static long mix(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return 2L * current.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,21 @@
+package io.smallrye.reactive.messaging.dedup;
+
+/**
+ * Structure remembering the identifiers of the received messages, bounded in size and time.
+ */
+interface DeduplicationFilter {
+
+    /**
+     * Records the given identifier.
+     *
+     * @param id the identifier
+     * @return {@code true} if the identifier has already been recorded, {@code false} otherwise
+     */
+    boolean checkAndRecord(Object id);
+
+    /**
+     * @return the estimated memory used by the filter, in bytes
+     */
+    long getMemoryUsage();
+
+}
@@ -0,0 +1,150 @@
+package io.smallrye.reactive.messaging.dedup;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drops the duplicated messages of an incoming channel.
+ * <p>
+ * Each message identifier, computed by an {@link IdExtractor}, is recorded in a size- and time-bounded filter. Messages
+ * whose identifier has already been recorded are acknowledged and dropped. Messages without identifier are always
+ * dispatched.
+ * <p>
+ * Each subscription to the deduplicated stream uses its own filter, so a subscriber never misses the messages already
+ * received by another subscriber, or by a previous subscription of the same subscriber (retry).
+ */
+public class Deduplicator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Deduplicator.class);
+
+    public static final String STRATEGY_LRU = "lru";
+    public static final String STRATEGY_BLOOM = "bloom";
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_TTL = 600_000L;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private final String channel;
+    private final IdExtractor extractor;
+    private final Supplier<DeduplicationFilter> filters;
+    // The filters of the active subscriptions.
+    private final Set<DeduplicationFilter> active = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    Deduplicator(String channel, IdExtractor extractor, Supplier<DeduplicationFilter> filters) {
+        this.channel = channel;
+        this.extractor = Objects.requireNonNull(extractor);
+        this.filters = Objects.requireNonNull(filters);
+    }
+
+    /**
+     * Creates a {@link Deduplicator} from the {@code deduplication.*} attributes of the given channel configuration.
+     *
+     * @param channel the channel name
+     * @param config the channel configuration
+     * @param extractor the identifier extractor
+     * @return the deduplicator
+     */
+    public static Deduplicator create(String channel, Config config, IdExtractor extractor) {
+        String strategy = config.getOptionalValue("deduplication.strategy", String.class).orElse(STRATEGY_LRU);
+        int maxEntries = config.getOptionalValue("deduplication.max-entries", Integer.class).orElse(DEFAULT_MAX_ENTRIES);
+        long ttl = config.getOptionalValue("deduplication.ttl", Long.class).orElse(DEFAULT_TTL);
+        if (maxEntries <= 0 || ttl <= 0) {
+            throw new IllegalArgumentException("Invalid deduplication configuration for channel " + channel
+                    + ", `deduplication.max-entries` and `deduplication.ttl` must be strictly positive");
+        }
+        Supplier<DeduplicationFilter> filters;
+        if (STRATEGY_LRU.equalsIgnoreCase(strategy)) {
+            filters = () -> new LruDeduplicationFilter(maxEntries, ttl, System::currentTimeMillis);
+        } else if (STRATEGY_BLOOM.equalsIgnoreCase(strategy)) {
+            double rate = config.getOptionalValue("deduplication.false-positive-rate", Double.class)
+                    .orElse(DEFAULT_FALSE_POSITIVE_RATE);
+            filters = () -> new BloomDeduplicationFilter(maxEntries, ttl, rate, System::currentTimeMillis);
+        } else {
+            throw new IllegalArgumentException("Invalid deduplication strategy for channel " + channel + ": " + strategy
+                    + ", supported strategies are `" + STRATEGY_LRU + "` and `" + STRATEGY_BLOOM + "`");
+        }
+        return new Deduplicator(channel, extractor, filters);
+    }
+
+    /**
+     * Drops the duplicated messages from the given stream, using a new filter for each subscription.
+     *
+     * @param publisher the stream
+     * @return the stream without duplicates
+     */
+    public PublisherBuilder<? extends Message> apply(PublisherBuilder<? extends Message> publisher) {
+        return ReactiveStreams.<Message> fromPublisher(subscriber -> {
+            DeduplicationFilter filter = filters.get();
+            active.add(filter);
+            publisher.filter(message -> accept(filter, message))
+                    .onTerminate(() -> active.remove(filter))
+                    .onComplete(() -> active.remove(filter))
+                    .buildRs()
+                    .subscribe(subscriber);
+        });
+    }
+
+    private boolean accept(DeduplicationFilter filter, Message<?> message) {
+        received.increment();
+        Object id = extractor.extract(message);
+        if (id == null || !filter.checkAndRecord(id)) {
+            return true;
+        }
+        duplicates.increment();
+        LOGGER.debug("Dropping duplicated message {} received on channel {}", id, channel);
+        CompletionStage<Void> ack = message.ack();
+        if (ack == null) {
+            return false;
+        }
+        ack.whenComplete((x, failure) -> {
+            if (failure != null) {
+                LOGGER.warn("Unable to acknowledge the duplicated message {} received on channel {}", id, channel,
+                        failure);
+            }
+        });
+        return false;
+    }
+
+    /**
+     * @return the number of messages received, including the duplicates
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * @return the number of duplicated messages dropped
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    /**
+     * @return the ratio of dropped duplicates among the received messages
+     */
+    public double getHitRate() {
+        long total = received.sum();
+        return total == 0 ? 0.0 : (double) duplicates.sum() / total;
+    }
+
+    /**
+     * @return the estimated memory used to remember the identifiers by the active subscriptions, in bytes
+     */
+    public long getMemoryUsage() {
+        return active.stream().mapToLong(DeduplicationFilter::getMemoryUsage).sum();
+    }
+}
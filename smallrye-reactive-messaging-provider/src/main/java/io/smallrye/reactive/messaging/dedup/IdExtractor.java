@@ -0,0 +1,23 @@
+package io.smallrye.reactive.messaging.dedup;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * Extracts the identifier used to detect duplicated messages.
+ * <p>
+ * Implementations are exposed as {@code @Named} beans and selected using the {@code deduplication.id-extractor}
+ * attribute of the incoming channel. The returned identifiers are compared using {@code equals} and
+ * {@code hashCode}.
+ */
+@FunctionalInterface
+public interface IdExtractor {
+
+    /**
+     * Extracts the identifier of the given message.
+     *
+     * @param message the message
+     * @return the identifier, {@code null} if the message has no identifier and must not be deduplicated
+     */
+    Object extract(Message<?> message);
+
+}
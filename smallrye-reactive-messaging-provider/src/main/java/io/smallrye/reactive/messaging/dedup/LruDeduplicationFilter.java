@@ -0,0 +1,65 @@
+package io.smallrye.reactive.messaging.dedup;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Exact deduplication filter keeping the last {@code maxEntries} identifiers received during the last {@code ttl}
+ * milliseconds.
+ */
+class LruDeduplicationFilter implements DeduplicationFilter {
+
+    /**
+     * Rough estimation of the memory used by a {@link LinkedHashMap} entry and its boxed timestamp, excluding the key.
+     */
+    private static final long ENTRY_SIZE = 64;
+
+    private final int maxEntries;
+    private final long ttl;
+    private final LongSupplier clock;
+    private final LinkedHashMap<Object, Long> entries = new LinkedHashMap<>();
+
+    LruDeduplicationFilter(int maxEntries, long ttl, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized boolean checkAndRecord(Object id) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        Long previous = entries.remove(id);
+        // Move the identifier at the end of the list, so the most recently seen identifiers are kept
+        entries.put(id, now);
+        if (entries.size() > maxEntries) {
+            Iterator<Object> iterator = entries.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        return previous != null;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<Object, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() > ttl) {
+                iterator.remove();
+            } else {
+                // Entries are ordered by time of last access
+                return;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getMemoryUsage() {
+        return entries.size() * ENTRY_SIZE;
+    }
+}
@@ -5,11 +5,13 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
@@ -19,9 +21,12 @@ import org.reactivestreams.Publisher;
 import io.reactivex.Flowable;
 import io.smallrye.reactive.messaging.ChannelRegistry;
 import io.smallrye.reactive.messaging.Emitter;
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
+import io.smallrye.reactive.messaging.StateStore;
 import io.smallrye.reactive.messaging.annotations.Channel;
 import io.smallrye.reactive.messaging.annotations.Stream;
 import io.smallrye.reactive.messaging.helpers.TypeUtils;
+import io.smallrye.reactive.messaging.state.StateStores;
 
 /**
  * This component computes the <em>right</em> object to be injected into injection point using {@link @Channel} and the
@@ -33,6 +38,8 @@ public class ChannelProducer {
     @Inject
     ChannelRegistry channelRegistry;
 
+    private StateStores stateStores;
+
     /**
      * Injects {@code Flowable<Message<X>>} and {@code Flowable<X>}. It also matches the injection of
      * {@code Publisher<Message<X>>} and {@code Publisher<X>}.
@@ -116,6 +123,54 @@ public class ChannelProducer {
         return cast(emitter);
     }
 
+    /**
+     * Injects a {@link RequestReplyEmitter} matching the channel name.
+     *
+     * @param injectionPoint the injection point
+     * @param <Req> the type of request
+     * @param <Rep> the type of reply
+     * @return the request-reply emitter
+     */
+    @Produces
+    @Channel("") // Stream name is ignored during type-safe resolution
+    <Req, Rep> RequestReplyEmitter<Req, Rep> produceRequestReplyEmitter(InjectionPoint injectionPoint) {
+        String name = getChannelName(injectionPoint);
+        RequestReplyEmitter<?, ?> emitter = channelRegistry.getRequestReplyEmitter(name);
+        if (emitter == null) {
+            throw new IllegalStateException(
+                    "Unable to find a request-reply emitter with the name " + name);
+        }
+        return cast(emitter);
+    }
+
+    /**
+     * Injects the {@link StateStore} bound to the channel. The same store is injected for a given channel name.
+     *
+     * @param injectionPoint the injection point
+     * @param <K> the type of key
+     * @param <V> the type of value
+     * @return the state store
+     */
+    @Produces
+    @Channel("") // Stream name is ignored during type-safe resolution
+    <K, V> StateStore<K, V> produceStateStore(InjectionPoint injectionPoint) {
+        return getStateStores().get(getChannelName(injectionPoint));
+    }
+
+    private synchronized StateStores getStateStores() {
+        if (stateStores == null) {
+            stateStores = new StateStores(ConfigProvider.getConfig());
+        }
+        return stateStores;
+    }
+
+    @PreDestroy
+    synchronized void closeStateStores() {
+        if (stateStores != null) {
+            stateStores.close();
+        }
+    }
+
     /**
      * Injects an {@link io.smallrye.reactive.messaging.annotations.Emitter} (deprecated) matching the channel name.
      *
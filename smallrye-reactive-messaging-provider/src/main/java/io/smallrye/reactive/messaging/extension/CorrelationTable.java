@@ -0,0 +1,141 @@
+package io.smallrye.reactive.messaging.extension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Lock-free table associating correlation ids with the futures waiting for the replies.
+ * <p>
+ * Ids are generated from a sequence, and the pending entry is stored in the slot {@code id & mask}. As the number of
+ * pending entries is bounded by the capacity, and the table is larger than the capacity, a free slot is always
+ * found. Lookups are O(1) and never block.
+ *
+ * @param <T> the type of reply
+ */
+class CorrelationTable<T> {
+
+    private final AtomicReferenceArray<Pending<T>> slots;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    CorrelationTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The number of in-flight requests must be strictly positive");
+        }
+        this.capacity = capacity;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size = size << 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Registers a new pending request.
+     *
+     * @return the pending request, {@code null} if the table is full
+     */
+    Pending<T> register() {
+        for (;;) {
+            int current = pending.get();
+            if (current >= capacity) {
+                return null;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        for (;;) {
+            Pending<T> entry = new Pending<>(sequence.getAndIncrement());
+            if (slots.compareAndSet(index(entry.id), null, entry)) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Completes the pending request with the given id.
+     *
+     * @param id the id
+     * @param value the reply
+     * @return {@code true} if the request was pending, {@code false} if it has already been completed, failed or
+     *         timed out.
+     */
+    boolean complete(long id, T value) {
+        Pending<T> entry = remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.future.complete(value);
+        return true;
+    }
+
+    /**
+     * Fails the pending request with the given id.
+     *
+     * @param id the id
+     * @param failure the failure
+     * @return {@code true} if the request was pending, {@code false} otherwise
+     */
+    boolean fail(long id, Throwable failure) {
+        Pending<T> entry = remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.future.completeExceptionally(failure);
+        return true;
+    }
+
+    /**
+     * Fails all the pending requests.
+     *
+     * @param failure the failure
+     */
+    void failAll(Throwable failure) {
+        for (int i = 0; i < slots.length(); i++) {
+            Pending<T> entry = slots.get(i);
+            if (entry != null) {
+                fail(entry.id, failure);
+            }
+        }
+    }
+
+    int size() {
+        return pending.get();
+    }
+
+    private Pending<T> remove(long id) {
+        int index = index(id);
+        Pending<T> entry = slots.get(index);
+        if (entry == null || entry.id != id || !slots.compareAndSet(index, entry, null)) {
+            return null;
+        }
+        pending.decrementAndGet();
+        Disposable timeout = entry.timeout;
+        if (timeout != null) {
+            timeout.dispose();
+        }
+        return entry;
+    }
+
+    private int index(long id) {
+        return (int) (id & mask);
+    }
+
+    static class Pending<T> {
+        final long id;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        volatile Disposable timeout;
+
+        Pending(long id) {
+            this.id = id;
+        }
+    }
+}
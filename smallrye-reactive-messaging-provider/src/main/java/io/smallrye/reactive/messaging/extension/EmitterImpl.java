@@ -3,6 +3,7 @@ package io.smallrye.reactive.messaging.extension;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.reactivestreams.Publisher;
@@ -26,6 +27,14 @@ public class EmitterImpl<T> implements Emitter<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(EmitterImpl.class);
     private final String name;
 
+    /**
+     * Number of sent messages, and number of messages delivered to the downstream subscriber.
+     * The difference is the number of messages waiting in the overflow buffer.
+     */
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final long bufferCapacity;
+
     EmitterImpl(String name, String overFlowStrategy, long bufferSize, long defaultBufferSize) {
         this.name = name;
         if (defaultBufferSize <= 0) {
@@ -38,11 +47,30 @@ public class EmitterImpl<T> implements Emitter<T> {
             }
         };
 
+        Flowable<Message<? extends T>> flowable;
         if (overFlowStrategy == null) {
-            publisher = getPublisherUsingBufferStrategy(name, defaultBufferSize,
+            flowable = getPublisherUsingBufferStrategy(name, defaultBufferSize,
                     Flowable.create(deferred, BackpressureStrategy.BUFFER));
         } else {
-            publisher = getPublisherForStrategy(name, overFlowStrategy, bufferSize, defaultBufferSize, deferred);
+            flowable = getPublisherForStrategy(name, overFlowStrategy, bufferSize, defaultBufferSize, deferred);
+        }
+        bufferCapacity = getBufferCapacity(overFlowStrategy, bufferSize, defaultBufferSize);
+        publisher = flowable.doOnNext(m -> delivered.increment());
+    }
+
+    private static long getBufferCapacity(String overFlowStrategy, long bufferSize, long defaultBufferSize) {
+        if (overFlowStrategy == null) {
+            return defaultBufferSize;
+        }
+        switch (OnOverflow.Strategy.valueOf(overFlowStrategy)) {
+            case BUFFER:
+                return bufferSize > 0 ? bufferSize : defaultBufferSize;
+            case UNBOUNDED_BUFFER:
+                return Long.MAX_VALUE;
+            case LATEST:
+                return 1;
+            default:
+                return 0;
         }
     }
 
@@ -104,6 +132,23 @@ public class EmitterImpl<T> implements Emitter<T> {
         return internal.get() != null;
     }
 
+    /**
+     * @return the number of messages sent using this emitter and not yet delivered downstream, i.e. waiting in the
+     *         overflow buffer.
+     */
+    public long getBufferedCount() {
+        // Read delivered first, so a concurrent emission cannot make the result negative
+        long d = delivered.sum();
+        return Math.min(bufferCapacity, Math.max(0, sent.sum() - d));
+    }
+
+    /**
+     * @return the capacity of the overflow buffer, {@link Long#MAX_VALUE} if unbounded.
+     */
+    public long getBufferCapacity() {
+        return bufferCapacity;
+    }
+
     @Override
     public synchronized CompletionStage<Void> send(T msg) {
         if (msg == null) {
@@ -111,6 +156,7 @@ public class EmitterImpl<T> implements Emitter<T> {
         }
         FlowableEmitter<Message<? extends T>> emitter = verify(internal, name);
         CompletableFuture<Void> future = new CompletableFuture<>();
+        sent.increment();
         emitter.onNext(Message.of(msg, () -> {
             future.complete(null);
             return future;
@@ -125,6 +171,7 @@ public class EmitterImpl<T> implements Emitter<T> {
             throw new IllegalArgumentException("`null` is not a valid value");
         }
         FlowableEmitter<Message<? extends T>> emitter = verify(internal, name);
+        sent.increment();
         emitter.onNext(msg);
 
     }
@@ -5,6 +5,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -48,6 +49,8 @@ import io.smallrye.reactive.messaging.WeavingException;
 import io.smallrye.reactive.messaging.annotations.Incomings;
 import io.smallrye.reactive.messaging.annotations.Merge;
 import io.smallrye.reactive.messaging.annotations.OnOverflow;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+import io.smallrye.reactive.messaging.annotations.ReplyChannel;
 
 /**
  * Class responsible for managing mediators
@@ -66,7 +69,9 @@ public class MediatorManager {
     // TODO Populate this list
     private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
 
-    private final List<AbstractMediator> mediators = new ArrayList<>();
+    private final List<AbstractMediator> mediators = new CopyOnWriteArrayList<>();
+
+    private final List<RequestReplyEmitterImpl<?, ?>> requestReplyEmitters = new CopyOnWriteArrayList<>();
 
     @Inject
     @ConfigProperty(name = "mp.messaging.emitter.default-buffer-size", defaultValue = "128")
@@ -106,6 +111,13 @@ public class MediatorManager {
         return initialized;
     }
 
+    /**
+     * @return the list of created mediators, the returned list is a copy.
+     */
+    public List<AbstractMediator> getMediators() {
+        return new ArrayList<>(mediators);
+    }
+
     public <T> void analyze(AnnotatedType<T> annotatedType, Bean<T> bean) {
         LOGGER.info("Scanning Type: {}", annotatedType.getJavaClass());
         Set<AnnotatedMethod<? super T>> methods = annotatedType.getMethods();
@@ -146,6 +158,7 @@ public class MediatorManager {
         LOGGER.info("Cancel subscriptions");
         subscriptions.forEach(Subscription::cancel);
         subscriptions.clear();
+        requestReplyEmitters.forEach(RequestReplyEmitterImpl::close);
     }
 
     public void initializeAndRun() {
@@ -235,7 +248,7 @@ public class MediatorManager {
                     Optional<PublisherBuilder<? extends Message>> maybeSource = getAggregatedSource(sources, list.get(0),
                             mediator, lazy);
                     maybeSource.ifPresent(publisher -> {
-                        mediator.connectToUpstream(publisher);
+                        mediator.connectToUpstream(prioritize(mediator, list, Collections.singletonList(publisher)));
                         LOGGER.info("Connecting {} to `{}` ({})", mediator.getMethodAsString(),
                                 list, publisher);
                         if (mediator.configuration().getOutgoing() != null) {
@@ -253,9 +266,13 @@ public class MediatorManager {
 
                     if (upstreams.size() == list.size()) {
                         // We have all our upstreams
-                        Flowable<? extends Message> merged = Flowable
-                                .merge(upstreams.stream().map(PublisherBuilder::buildRs).collect(Collectors.toList()));
-                        mediator.connectToUpstream(ReactiveStreams.fromPublisher(merged));
+                        if (mediator.configuration().getPrioritized() != null) {
+                            mediator.connectToUpstream(prioritize(mediator, list, upstreams));
+                        } else {
+                            Flowable<? extends Message> merged = Flowable
+                                    .merge(upstreams.stream().map(PublisherBuilder::buildRs).collect(Collectors.toList()));
+                            mediator.connectToUpstream(ReactiveStreams.fromPublisher(merged));
+                        }
                         LOGGER.info("Connecting {} to `{}`", mediator.getMethodAsString(), list);
                         if (mediator.configuration().getOutgoing() != null) {
                             channelRegistry.register(mediator.getConfiguration().getOutgoing(), mediator.getStream());
@@ -297,6 +314,9 @@ public class MediatorManager {
                 .filter(AbstractMediator::isConnected)
                 .forEach(AbstractMediator::run);
 
+        // Connect the request-reply emitters to their reply channels
+        requestReplyEmitters.forEach(this::connectReplyChannel);
+
         // We also need to connect mediator and emitter to un-managed subscribers
         for (String name : unmanagedSubscribers) {
             List<AbstractMediator> list = lookupForMediatorsWithMatchingDownstream(name);
@@ -332,6 +352,26 @@ public class MediatorManager {
         initialized = true;
     }
 
+    @SuppressWarnings("unchecked")
+    private void connectReplyChannel(RequestReplyEmitterImpl<?, ?> emitter) {
+        String name = emitter.getReplyChannel();
+        List<PublisherBuilder<? extends Message>> sources = channelRegistry.getPublishers(name);
+        if (sources.isEmpty()) {
+            if (strictMode) {
+                throw new WeavingException("Impossible to bind the reply channel " + name + ", no publisher found, "
+                        + "available publishers:" + channelRegistry.getIncomingNames());
+            }
+            LOGGER.warn("Impossible to bind the reply channel {}, no publisher found", name);
+            return;
+        }
+        LOGGER.info("Connecting request-reply emitter to reply channel {}", name);
+        Flowable<? extends Message> replies = Flowable
+                .merge(sources.stream().map(PublisherBuilder::buildRs).collect(Collectors.toList()));
+        replies
+                .doOnSubscribe(subscriptions::add)
+                .subscribe(emitter::onReply, emitter::onReplyFailure);
+    }
+
     private List<AbstractMediator> lookupForMediatorsWithMatchingDownstream(String name) {
         return mediators.stream()
                 .filter(m -> m.configuration()
@@ -379,6 +419,35 @@ public class MediatorManager {
 
     }
 
+    /**
+     * Wraps the upstreams of a mediator annotated with {@link Prioritized} into a {@link PriorityPublisher}.
+     *
+     * @param mediator the mediator
+     * @param channels the incoming channels of the mediator
+     * @param upstreams the publishers of each channel
+     * @return the upstream to connect to the mediator, unchanged if the mediator is not prioritized
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private PublisherBuilder<? extends Message> prioritize(AbstractMediator mediator, List<String> channels,
+            List<PublisherBuilder<? extends Message>> upstreams) {
+        Prioritized prioritized = mediator.configuration().getPrioritized();
+        if (prioritized == null) {
+            return upstreams.get(0);
+        }
+        List<String> ordered = Arrays.asList(prioritized.channels());
+        int lowest = prioritized.weights().length - 1;
+        int[] levels = new int[channels.size()];
+        for (int i = 0; i < levels.length; i++) {
+            int index = ordered.indexOf(channels.get(i));
+            levels[i] = index == -1 ? lowest : index;
+        }
+        List<Publisher<? extends Message<?>>> publishers = upstreams.stream()
+                .map(upstream -> (Publisher<? extends Message<?>>) (Publisher) upstream.buildRs())
+                .collect(Collectors.toList());
+        return ReactiveStreams.fromPublisher(
+                new PriorityPublisher(publishers, levels, prioritized.weights(), prioritized.bufferSize()));
+    }
+
     public void initializeEmitters(Map<String, OnOverflow> emitters) {
         for (Map.Entry<String, OnOverflow> e : emitters.entrySet()) {
             int bufferSize = getDefaultBufferSize();
@@ -400,8 +469,31 @@ public class MediatorManager {
 
     public void initializeEmitter(String name, String overFlowStrategy, long bufferSize, long defaultBufferSize) {
         EmitterImpl<?> emitter = new EmitterImpl<>(name, overFlowStrategy, bufferSize, defaultBufferSize);
+        registerEmitter(name, emitter);
+    }
+
+    public void initializeRequestReplyEmitters(Map<String, ReplyChannel> emitters) {
+        for (Map.Entry<String, ReplyChannel> e : emitters.entrySet()) {
+            initializeRequestReplyEmitter(e.getKey(), e.getValue().value(), e.getValue().timeout(),
+                    e.getValue().maxInFlightRequests());
+        }
+    }
+
+    public void initializeRequestReplyEmitter(String name, String replyChannel, long timeout, int maxInFlightRequests) {
+        RequestReplyEmitterImpl<?, ?> emitter = new RequestReplyEmitterImpl<>(name, replyChannel, timeout,
+                maxInFlightRequests);
+        registerEmitter(name, emitter.getRequestEmitter());
+        channelRegistry.register(name, emitter);
+        requestReplyEmitters.add(emitter);
+    }
+
+    private void registerEmitter(String name, EmitterImpl<?> emitter) {
         Publisher<? extends Message<?>> publisher = emitter.getPublisher();
-        channelRegistry.register(name, ReactiveStreams.fromPublisher(publisher));
+        PublisherBuilder<? extends Message> stream = ReactiveStreams.fromPublisher(publisher);
+        for (PublisherDecorator decorator : decorators) {
+            stream = decorator.decorate(stream, name);
+        }
+        channelRegistry.register(name, stream);
         channelRegistry.register(name, emitter);
     }
 }
@@ -0,0 +1,319 @@
+package io.smallrye.reactive.messaging.extension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.smallrye.reactive.messaging.PriorityMetadata;
+
+/**
+ * Publisher merging several sources and delivering their messages by priority.
+ * <p>
+ * The messages are buffered in one queue per priority level. The level of a message is given by its
+ * {@link PriorityMetadata}, or by the default level of its source. Each source is requested {@code bufferSize} messages
+ * in advance, replenished as the messages are delivered.
+ * <p>
+ * The queues are consumed using a weighted round-robin: in each round, the level {@code i} delivers up to
+ * {@code weights[i]} messages, higher levels (lower indexes) first. A new round starts when no level with remaining
+ * credits has buffered messages, so lower levels are never starved.
+ */
+public class PriorityPublisher implements Publisher<Message<?>> {
+
+    private final List<Publisher<? extends Message<?>>> sources;
+    private final int[] sourceLevels;
+    private final int[] weights;
+    private final int bufferSize;
+
+    /**
+     * Creates a new {@link PriorityPublisher}.
+     *
+     * @param sources the sources
+     * @param sourceLevels the level of the messages from each source not carrying {@link PriorityMetadata}
+     * @param weights the weight of each level, the first one being the highest priority
+     * @param bufferSize the number of messages requested in advance from each source
+     */
+    public PriorityPublisher(List<Publisher<? extends Message<?>>> sources, int[] sourceLevels, int[] weights,
+            int bufferSize) {
+        if (sources.size() != sourceLevels.length) {
+            throw new IllegalArgumentException("Each source must have a default level");
+        }
+        this.sources = new ArrayList<>(sources);
+        this.sourceLevels = sourceLevels.clone();
+        this.weights = weights.clone();
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Message<?>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        PrioritySubscription subscription = new PrioritySubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private int clamp(int level) {
+        return Math.max(0, Math.min(weights.length - 1, level));
+    }
+
+    private static final class Entry {
+        private final Message<?> message;
+        private final InnerSubscriber source;
+
+        private Entry(Message<?> message, InnerSubscriber source) {
+            this.message = message;
+            this.source = source;
+        }
+    }
+
+    private final class PrioritySubscription implements Subscription {
+
+        private final Subscriber<? super Message<?>> downstream;
+        private final List<Queue<Entry>> queues = new ArrayList<>();
+        private final int[] credits;
+        private final List<InnerSubscriber> inners = new ArrayList<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger active;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        private PrioritySubscription(Subscriber<? super Message<?>> downstream) {
+            this.downstream = downstream;
+            for (int i = 0; i < weights.length; i++) {
+                queues.add(new ConcurrentLinkedQueue<>());
+            }
+            this.credits = weights.clone();
+            this.active = new AtomicInteger(sources.size());
+            for (int i = 0; i < sources.size(); i++) {
+                inners.add(new InnerSubscriber(this, clamp(sourceLevels[i])));
+            }
+        }
+
+        private void start() {
+            for (int i = 0; i < sources.size() && !cancelled; i++) {
+                sources.get(i).subscribe(inners.get(i));
+            }
+            if (sources.isEmpty()) {
+                drain();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(
+                        new IllegalArgumentException("Invalid request: " + n + ", the number of items must be positive"));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                inners.forEach(InnerSubscriber::cancel);
+                if (wip.getAndIncrement() == 0) {
+                    queues.forEach(Queue::clear);
+                }
+            }
+        }
+
+        private void onInnerNext(InnerSubscriber inner, Message<?> message) {
+            int level = message.getMetadata(PriorityMetadata.class)
+                    .map(p -> clamp(p.getLevel()))
+                    .orElse(inner.level);
+            queues.get(level).offer(new Entry(message, inner));
+            drain();
+        }
+
+        private void onInnerError(Throwable throwable) {
+            if (failure.compareAndSet(null, throwable)) {
+                inners.forEach(InnerSubscriber::cancel);
+            }
+            active.set(0);
+            drain();
+        }
+
+        private void onInnerComplete() {
+            active.decrementAndGet();
+            drain();
+        }
+
+        /**
+         * Polls the next entry according to the weighted round-robin. Only called from the drain loop.
+         */
+        private Entry poll() {
+            for (int round = 0; round < 2; round++) {
+                for (int level = 0; level < queues.size(); level++) {
+                    if (credits[level] > 0) {
+                        Entry entry = queues.get(level).poll();
+                        if (entry != null) {
+                            credits[level]--;
+                            return entry;
+                        }
+                    }
+                }
+                // No level with remaining credits has buffered messages, start a new round.
+                System.arraycopy(weights, 0, credits, 0, weights.length);
+            }
+            return null;
+        }
+
+        private boolean isEmpty() {
+            return queues.stream().allMatch(Queue::isEmpty);
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    if (cancelled) {
+                        queues.forEach(Queue::clear);
+                        return;
+                    }
+                    boolean done = active.get() <= 0;
+                    Entry entry = poll();
+                    if (entry == null) {
+                        if (done) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(entry.message);
+                    entry.source.replenish();
+                    emitted++;
+                }
+
+                if (emitted == r) {
+                    if (cancelled) {
+                        queues.forEach(Queue::clear);
+                        return;
+                    }
+                    if (active.get() <= 0 && isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                }
+
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            cancelled = true;
+            Throwable throwable = failure.get();
+            if (throwable != null) {
+                downstream.onError(throwable);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    private final class InnerSubscriber implements Subscriber<Message<?>> {
+
+        private final PrioritySubscription parent;
+        private final int level;
+        private final int replenishThreshold;
+        private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        // Only accessed from the drain loop.
+        private int consumed;
+
+        private InnerSubscriber(PrioritySubscription parent, int level) {
+            this.parent = parent;
+            this.level = level;
+            this.replenishThreshold = Math.max(1, bufferSize - (bufferSize >> 2));
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (!upstream.compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            if (parent.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(bufferSize);
+            }
+        }
+
+        @Override
+        public void onNext(Message<?> message) {
+            parent.onInnerNext(this, message);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            parent.onInnerError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.onInnerComplete();
+        }
+
+        private void replenish() {
+            if (++consumed == replenishThreshold) {
+                consumed = 0;
+                Subscription subscription = upstream.get();
+                if (subscription != null) {
+                    subscription.request(replenishThreshold);
+                }
+            }
+        }
+
+        private void cancel() {
+            Subscription subscription = upstream.getAndSet(CANCELLED);
+            if (subscription != null && subscription != CANCELLED) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long n) {
+            // Ignored.
+        }
+
+        @Override
+        public void cancel() {
+            // Ignored.
+        }
+    };
+}
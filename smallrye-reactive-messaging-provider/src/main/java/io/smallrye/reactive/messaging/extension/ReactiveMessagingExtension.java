@@ -16,9 +16,11 @@ import org.slf4j.LoggerFactory;
 
 import io.smallrye.reactive.messaging.ChannelRegistry;
 import io.smallrye.reactive.messaging.Emitter;
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
 import io.smallrye.reactive.messaging.annotations.Channel;
 import io.smallrye.reactive.messaging.annotations.Incomings;
 import io.smallrye.reactive.messaging.annotations.OnOverflow;
+import io.smallrye.reactive.messaging.annotations.ReplyChannel;
 
 public class ReactiveMessagingExtension implements Extension {
 
@@ -27,6 +29,7 @@ public class ReactiveMessagingExtension implements Extension {
     private List<MediatorBean<?>> mediatorBeans = new ArrayList<>();
     private List<InjectionPoint> streamInjectionPoints = new ArrayList<>();
     private List<InjectionPoint> emitterInjectionPoints = new ArrayList<>();
+    private List<InjectionPoint> requestReplyEmitterInjectionPoints = new ArrayList<>();
 
     <T> void processClassesContainingMediators(@Observes ProcessManagedBean<T> event) {
         AnnotatedType<?> annotatedType = event.getAnnotatedBeanClass();
@@ -52,6 +55,14 @@ public class ReactiveMessagingExtension implements Extension {
         }
     }
 
+    <T extends RequestReplyEmitter<?, ?>> void processRequestReplyEmitterInjectionPoint(
+            @Observes ProcessInjectionPoint<?, T> pip) {
+        Channel stream = ChannelProducer.getChannelQualifier(pip.getInjectionPoint());
+        if (stream != null) {
+            requestReplyEmitterInjectionPoints.add(pip.getInjectionPoint());
+        }
+    }
+
     <T extends io.smallrye.reactive.messaging.annotations.Emitter<?>> void processStreamLegacyEmitterInjectionPoint(
             @Observes ProcessInjectionPoint<?, T> pip) {
         Channel stream = ChannelProducer.getChannelQualifier(pip.getInjectionPoint());
@@ -86,6 +97,19 @@ public class ReactiveMessagingExtension implements Extension {
                 .get();
         mediatorManager.initializeEmitters(emitters);
 
+        Map<String, ReplyChannel> requestReplyEmitters = new HashMap<>();
+        for (InjectionPoint point : requestReplyEmitterInjectionPoints) {
+            String name = ChannelProducer.getChannelName(point);
+            ReplyChannel replyChannel = point.getAnnotated().getAnnotation(ReplyChannel.class);
+            if (replyChannel == null) {
+                done.addDeploymentProblem(new DeploymentException("Missing @ReplyChannel on the request-reply emitter "
+                        + "injection point: " + point));
+            } else {
+                requestReplyEmitters.put(name, replyChannel);
+            }
+        }
+        mediatorManager.initializeRequestReplyEmitters(requestReplyEmitters);
+
         for (MediatorBean mediatorBean : mediatorBeans) {
             LOGGER.info("Analyzing mediator bean: {}", mediatorBean.bean);
             mediatorManager.analyze(mediatorBean.annotatedType, mediatorBean.bean);
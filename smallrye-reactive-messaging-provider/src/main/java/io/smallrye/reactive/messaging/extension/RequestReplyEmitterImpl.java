@@ -0,0 +1,157 @@
+package io.smallrye.reactive.messaging.extension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.messaging.CorrelationMetadata;
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
+
+/**
+ * Implementation of the request-reply emitter.
+ * <p>
+ * Requests are sent using a regular {@link EmitterImpl}. The correlation id is composed of a prefix identifying the
+ * emitter and of the id generated by the {@link CorrelationTable}.
+ * <p>
+ * A request that times out frees its slot in the table, but its message may still be waiting in the buffer of the
+ * emitter if the request channel is slow. So, the buffer is checked before sending: a request is rejected when the
+ * buffer is full, instead of overflowing it, which would fail the request channel.
+ *
+ * @param <Req> the type of request payload
+ * @param <Rep> the type of reply payload
+ */
+public class RequestReplyEmitterImpl<Req, Rep> implements RequestReplyEmitter<Req, Rep> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestReplyEmitterImpl.class);
+
+    private final String name;
+    private final String replyChannel;
+    private final long timeout;
+    private final String prefix;
+    private final EmitterImpl<Req> emitter;
+    private final CorrelationTable<Message<Rep>> table;
+
+    RequestReplyEmitterImpl(String name, String replyChannel, long timeout, int maxInFlightRequests) {
+        if (replyChannel == null || replyChannel.trim().isEmpty()) {
+            throw new IllegalArgumentException("The reply channel of the request-reply emitter " + name + " must be set");
+        }
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("The timeout of the request-reply emitter " + name
+                    + " must be strictly positive");
+        }
+        this.name = name;
+        this.replyChannel = replyChannel;
+        this.timeout = timeout;
+        this.prefix = UUID.randomUUID().toString() + "-";
+        this.table = new CorrelationTable<>(maxInFlightRequests);
+        // Checked before each send, see request
+        this.emitter = new EmitterImpl<>(name, null, maxInFlightRequests, maxInFlightRequests);
+    }
+
+    EmitterImpl<Req> getRequestEmitter() {
+        return emitter;
+    }
+
+    String getReplyChannel() {
+        return replyChannel;
+    }
+
+    @Override
+    public CompletionStage<Rep> request(Req request) {
+        if (request == null) {
+            throw new IllegalArgumentException("`null` is not a valid value");
+        }
+        return this.<Message<Req>> request(Message.of(request)).thenApply(Message::getPayload);
+    }
+
+    @Override
+    public <M extends Message<? extends Req>> CompletionStage<Message<Rep>> request(M request) {
+        if (request == null) {
+            throw new IllegalArgumentException("`null` is not a valid value");
+        }
+        // The deliveries only free room in the buffer, so it cannot be full after the check if the sends are serialized
+        synchronized (this) {
+            if (emitter.getBufferedCount() >= emitter.getBufferCapacity()) {
+                return rejected(new IllegalStateException("The request buffer of the channel " + name
+                        + " is full, the requests are not consumed fast enough"));
+            }
+            CorrelationTable.Pending<Message<Rep>> pending = table.register();
+            if (pending == null) {
+                return rejected(new IllegalStateException("Too many in-flight requests for the channel "
+                        + name + " (" + table.size() + ")"));
+            }
+            long id = pending.id;
+            pending.timeout = Schedulers.computation()
+                    .scheduleDirect(() -> table.fail(id, new TimeoutException("No reply received on the channel "
+                            + replyChannel + " after " + timeout + " ms")), timeout, TimeUnit.MILLISECONDS);
+            try {
+                emitter.send(request.addMetadata(CorrelationMetadata.of(prefix + id)));
+            } catch (RuntimeException e) {
+                table.fail(id, e);
+                throw e;
+            }
+            return pending.future;
+        }
+    }
+
+    private static <T> CompletionStage<T> rejected(Throwable failure) {
+        CompletableFuture<T> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(failure);
+        return rejected;
+    }
+
+    @Override
+    public int getPendingRequests() {
+        return table.size();
+    }
+
+    /**
+     * Handles a message received on the reply channel. The message is acknowledged once dispatched.
+     *
+     * @param reply the reply
+     */
+    @SuppressWarnings("unchecked")
+    void onReply(Message<?> reply) {
+        Optional<CorrelationMetadata> metadata = reply.getMetadata(CorrelationMetadata.class);
+        boolean dispatched = metadata
+                .map(CorrelationMetadata::getCorrelationId)
+                .filter(id -> id.startsWith(prefix))
+                .map(id -> {
+                    try {
+                        return table.complete(Long.parseLong(id.substring(prefix.length())), (Message<Rep>) reply);
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                })
+                .orElse(false);
+        if (!dispatched) {
+            LOGGER.debug("Ignoring message received on {}, no matching pending request: {}", replyChannel, metadata);
+        }
+        reply.ack();
+    }
+
+    /**
+     * Fails all the pending requests, called when the reply channel fails.
+     *
+     * @param failure the failure
+     */
+    void onReplyFailure(Throwable failure) {
+        LOGGER.error("The reply channel {} of the request-reply emitter {} failed", replyChannel, name, failure);
+        table.failAll(failure);
+    }
+
+    /**
+     * Fails all the pending requests, called when the application stops.
+     */
+    void close() {
+        table.failAll(new IllegalStateException("The request-reply emitter " + name + " has been closed"));
+    }
+}
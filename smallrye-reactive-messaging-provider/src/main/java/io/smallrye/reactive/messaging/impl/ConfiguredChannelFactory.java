@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.literal.NamedLiteral;
 import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.DeploymentException;
@@ -16,6 +17,7 @@ import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.messaging.spi.*;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,12 @@ import org.slf4j.LoggerFactory;
 import io.smallrye.reactive.messaging.ChannelRegistar;
 import io.smallrye.reactive.messaging.ChannelRegistry;
 import io.smallrye.reactive.messaging.PublisherDecorator;
+import io.smallrye.reactive.messaging.dedup.Deduplicator;
+import io.smallrye.reactive.messaging.dedup.IdExtractor;
+import io.smallrye.reactive.messaging.limiter.AimdLimit;
+import io.smallrye.reactive.messaging.limiter.ConcurrencyLimitingProcessor;
+import io.smallrye.reactive.messaging.metrics.MetricDecorator;
+import io.smallrye.reactive.messaging.topology.ChannelTopology;
 
 /**
  * Look for stream factories and get instances.
@@ -41,6 +49,16 @@ public class ConfiguredChannelFactory implements ChannelRegistar {
     @Inject
     private Instance<PublisherDecorator> publisherDecoratorInstance;
 
+    @Inject
+    private Instance<ChannelTopology> topologyInstance;
+
+    @Inject
+    private Instance<MetricDecorator> metricsInstance;
+
+    @Inject
+    @Any
+    private Instance<IdExtractor> idExtractors;
+
     // CDI requirement for normal scoped beans
     protected ConfiguredChannelFactory() {
         this.incomingConnectorFactories = null;
@@ -169,6 +187,13 @@ public class ConfiguredChannelFactory implements ChannelRegistar {
                 .stream().findFirst().orElseThrow(() -> new IllegalArgumentException("Unknown connector for " + name + "."));
 
         PublisherBuilder<? extends Message> publisher = mySourceFactory.getPublisherBuilder(config);
+        if (topologyInstance != null && topologyInstance.isResolvable()) {
+            topologyInstance.get().registerIncomingConnector(name, connector);
+        }
+
+        if (config.getOptionalValue("deduplication", Boolean.class).orElse(false)) {
+            publisher = deduplicate(name, config, publisher);
+        }
 
         for (PublisherDecorator decorator : publisherDecoratorInstance) {
             publisher = decorator.decorate(publisher, name);
@@ -177,6 +202,29 @@ public class ConfiguredChannelFactory implements ChannelRegistar {
         return publisher;
     }
 
+    private PublisherBuilder<? extends Message> deduplicate(String name, Config config,
+            PublisherBuilder<? extends Message> publisher) {
+        // No default, two distinct messages may have the same payload.
+        String extractorName = config.getOptionalValue("deduplication.id-extractor", String.class)
+                .orElseThrow(() -> new IllegalStateException("The `deduplication.id-extractor` attribute must be set "
+                        + "for channel " + name + " when `deduplication` is enabled"));
+        Instance<IdExtractor> instance = idExtractors.select(NamedLiteral.of(extractorName));
+        if (instance.isUnsatisfied()) {
+            throw new IllegalStateException("Cannot find a " + IdExtractor.class.getName() + " bean named "
+                    + extractorName + " for channel " + name);
+        }
+        IdExtractor extractor = instance.get();
+        Deduplicator deduplicator = Deduplicator.create(name, config, extractor);
+        LOGGER.info("Deduplication enabled for channel {}", name);
+        if (metricsInstance != null && metricsInstance.isResolvable()) {
+            MetricDecorator metrics = metricsInstance.get();
+            metrics.registerGauge("mp.messaging.deduplication.memory", name, deduplicator::getMemoryUsage);
+            metrics.registerGauge("mp.messaging.deduplication.hit-rate", name, deduplicator::getHitRate);
+            metrics.registerGauge("mp.messaging.deduplication.duplicates", name, deduplicator::getDuplicateCount);
+        }
+        return deduplicator.apply(publisher);
+    }
+
     private SubscriberBuilder<? extends Message, Void> createSubscriberBuilder(String name, Config config) {
         // Extract the type and throw an exception if missing
         String connector = getConnectorAttribute(config);
@@ -185,6 +233,30 @@ public class ConfiguredChannelFactory implements ChannelRegistar {
         OutgoingConnectorFactory mySinkFactory = outgoingConnectorFactories.select(ConnectorLiteral.of(connector))
                 .stream().findFirst().orElseThrow(() -> new IllegalArgumentException("Unknown connector for " + name + "."));
 
-        return mySinkFactory.getSubscriberBuilder(config);
+        SubscriberBuilder<? extends Message, Void> subscriber = mySinkFactory.getSubscriberBuilder(config);
+        if (topologyInstance != null && topologyInstance.isResolvable()) {
+            topologyInstance.get().registerOutgoingConnector(name, connector);
+        }
+
+        if (config.getOptionalValue("concurrency.adaptive", Boolean.class).orElse(false)) {
+            return limitConcurrency(name, config, subscriber);
+        }
+        return subscriber;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private SubscriberBuilder<? extends Message, Void> limitConcurrency(String name, Config config,
+            SubscriberBuilder<? extends Message, Void> subscriber) {
+        ConcurrencyLimitingProcessor processor = new ConcurrencyLimitingProcessor(AimdLimit.create(config));
+        LOGGER.info("Adaptive concurrency limit enabled for channel {}, initial limit: {}", name,
+                processor.getLimit().getLimit());
+        if (metricsInstance != null && metricsInstance.isResolvable()) {
+            MetricDecorator metrics = metricsInstance.get();
+            metrics.registerGauge("mp.messaging.concurrency.limit", name, () -> processor.getLimit().getLimit());
+            metrics.registerGauge("mp.messaging.concurrency.in-flight", name, processor::getInFlight);
+        }
+        return ReactiveStreams.<Message<?>> builder()
+                .via(processor)
+                .to((SubscriberBuilder) subscriber);
     }
 }
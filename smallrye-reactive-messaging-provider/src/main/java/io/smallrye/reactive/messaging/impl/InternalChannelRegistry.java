@@ -10,6 +10,7 @@ import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 
 import io.smallrye.reactive.messaging.ChannelRegistry;
 import io.smallrye.reactive.messaging.Emitter;
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
 
 @ApplicationScoped
 public class InternalChannelRegistry implements ChannelRegistry {
@@ -18,6 +19,7 @@ public class InternalChannelRegistry implements ChannelRegistry {
     private final Map<String, List<PublisherBuilder<? extends Message>>> publishers = new HashMap<>();
     private final Map<String, List<SubscriberBuilder<? extends Message, Void>>> subscribers = new HashMap<>();
     private final Map<String, Emitter<?>> emitters = new HashMap<>();
+    private final Map<String, RequestReplyEmitter<?, ?>> requestReplyEmitters = new HashMap<>();
 
     @Override
     public synchronized PublisherBuilder<? extends Message> register(String name, PublisherBuilder<? extends Message> stream) {
@@ -43,6 +45,13 @@ public class InternalChannelRegistry implements ChannelRegistry {
         emitters.put(name, emitter);
     }
 
+    @Override
+    public synchronized void register(String name, RequestReplyEmitter<?, ?> emitter) {
+        Objects.requireNonNull(name, NAME_MUST_BE_SET);
+        Objects.requireNonNull(emitter, "'emitter' must be set");
+        requestReplyEmitters.put(name, emitter);
+    }
+
     @Override
     public synchronized List<PublisherBuilder<? extends Message>> getPublishers(String name) {
         Objects.requireNonNull(name, NAME_MUST_BE_SET);
@@ -55,6 +64,12 @@ public class InternalChannelRegistry implements ChannelRegistry {
         return emitters.get(name);
     }
 
+    @Override
+    public synchronized RequestReplyEmitter<?, ?> getRequestReplyEmitter(String name) {
+        Objects.requireNonNull(name, NAME_MUST_BE_SET);
+        return requestReplyEmitters.get(name);
+    }
+
     @Override
     public synchronized List<SubscriberBuilder<? extends Message, Void>> getSubscribers(String name) {
         Objects.requireNonNull(name, NAME_MUST_BE_SET);
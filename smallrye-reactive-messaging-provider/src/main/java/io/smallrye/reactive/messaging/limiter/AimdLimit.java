@@ -0,0 +1,97 @@
+package io.smallrye.reactive.messaging.limiter;
+
+import org.eclipse.microprofile.config.Config;
+
+/**
+ * Adaptive concurrency limit using an Additive Increase / Multiplicative Decrease (AIMD) algorithm.
+ * <p>
+ * Each completed operation provides a sample: its latency and whether it failed. While the latency stays close to
+ * the observed baseline (exponentially weighted moving average), the limit grows by one per window of {@code limit}
+ * samples. When the latency exceeds the baseline multiplied by the tolerance, or when the operation fails, the limit is
+ * multiplied by the backoff ratio. The limit is decreased at most once per window, so a burst of slow operations
+ * sent with the previous limit does not collapse it.
+ */
+public class AimdLimit {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 16;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 1024;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    private static final double BASELINE_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private double limit;
+    private double baseline;
+    private long samplesSinceDecrease;
+    private volatile int current;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits, min: " + minLimit + ", max: " + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("The backoff ratio must be in ]0, 1[, was " + backoffRatio);
+        }
+        if (latencyTolerance <= 1) {
+            throw new IllegalArgumentException("The latency tolerance must be greater than 1, was " + latencyTolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+        this.current = (int) limit;
+    }
+
+    /**
+     * Creates an instance of {@link AimdLimit} from the {@code concurrency.*} attributes of the given channel
+     * configuration.
+     *
+     * @param config the channel configuration
+     * @return the limit
+     */
+    public static AimdLimit create(Config config) {
+        return new AimdLimit(
+                config.getOptionalValue("concurrency.initial-limit", Integer.class).orElse(DEFAULT_INITIAL_LIMIT),
+                config.getOptionalValue("concurrency.min-limit", Integer.class).orElse(DEFAULT_MIN_LIMIT),
+                config.getOptionalValue("concurrency.max-limit", Integer.class).orElse(DEFAULT_MAX_LIMIT),
+                config.getOptionalValue("concurrency.backoff-ratio", Double.class).orElse(DEFAULT_BACKOFF_RATIO),
+                config.getOptionalValue("concurrency.latency-tolerance", Double.class).orElse(DEFAULT_LATENCY_TOLERANCE));
+    }
+
+    /**
+     * @return the current limit.
+     */
+    public int getLimit() {
+        return current;
+    }
+
+    /**
+     * Records the completion of an operation.
+     *
+     * @param latencyNanos the latency of the operation in nanoseconds
+     * @param failed whether the operation has failed
+     */
+    public synchronized void onSample(long latencyNanos, boolean failed) {
+        samplesSinceDecrease++;
+        boolean spike = baseline > 0 && latencyNanos > baseline * latencyTolerance;
+        if (!failed) {
+            baseline = baseline == 0 ? latencyNanos : baseline + BASELINE_SMOOTHING * (latencyNanos - baseline);
+        }
+        if (failed || spike) {
+            if (samplesSinceDecrease >= current) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                samplesSinceDecrease = 0;
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        current = (int) limit;
+    }
+}
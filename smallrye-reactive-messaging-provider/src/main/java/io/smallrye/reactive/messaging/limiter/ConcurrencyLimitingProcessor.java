@@ -0,0 +1,210 @@
+package io.smallrye.reactive.messaging.limiter;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processor placed in front of a sink to limit the number of messages in-flight in the sink, i.e. dispatched to the
+ * sink and not yet acknowledged. The limit is given by an {@link AimdLimit}, fed with the latency between the
+ * dispatch of each message and its acknowledgement.
+ * <p>
+ * Messages are requested from the upstream only when the downstream requested them and the in-flight window allows
+ * it. The acknowledgement of the dispatched messages is decorated to record the samples, so this processor only suits
+ * sinks acknowledging the messages once written.
+ * <p>
+ * This processor supports a single upstream and a single downstream.
+ */
+public class ConcurrencyLimitingProcessor implements Processor<Message<?>, Message<?>>, Subscription {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitingProcessor.class);
+
+    private final AimdLimit limit;
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<Subscriber<? super Message<?>>> downstream = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile boolean subscribed;
+    private volatile Throwable failure;
+    private volatile boolean done;
+
+    public ConcurrencyLimitingProcessor(AimdLimit limit) {
+        this.limit = Objects.requireNonNull(limit);
+    }
+
+    /**
+     * @return the number of messages dispatched and not yet acknowledged.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public AimdLimit getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Message<?>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored.
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored.
+                }
+            });
+            subscriber.onError(new IllegalStateException("This processor only supports a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(this);
+        // The upstream may have terminated before, the termination is only signaled once onSubscribe has returned.
+        subscribed = true;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (!upstream.compareAndSet(null, subscription)) {
+            LOGGER.error("The concurrency limiter only supports a single upstream, cancelling the new subscription");
+            subscription.cancel();
+            return;
+        }
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(Message<?> message) {
+        pending.decrementAndGet();
+        if (requested.get() != Long.MAX_VALUE) {
+            requested.decrementAndGet();
+        }
+        inFlight.incrementAndGet();
+        downstream.get().onNext(decorate(message));
+    }
+
+    private Message<?> decorate(Message<?> message) {
+        long start = System.nanoTime();
+        AtomicBoolean acked = new AtomicBoolean();
+        return message.withAck(() -> {
+            CompletionStage<Void> ack = message.ack();
+            if (ack == null) {
+                ack = CompletableFuture.completedFuture(null);
+            }
+            return ack.whenComplete((x, f) -> {
+                if (acked.compareAndSet(false, true)) {
+                    inFlight.decrementAndGet();
+                    limit.onSample(System.nanoTime() - start, f != null);
+                    drain();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Signals the termination to the downstream, at most once. Only called from the drain loop.
+     */
+    private void terminate(Subscriber<? super Message<?>> subscriber) {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        if (failure != null) {
+            subscriber.onError(failure);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            cancel();
+            onError(new IllegalArgumentException("Invalid request: " + n + ", the number of items must be positive"));
+            return;
+        }
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                break;
+            }
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Subscription subscription = upstream.get();
+            if (subscription != null && !cancelled) {
+                long demand = requested.get();
+                int p = pending.get();
+                long window = (long) limit.getLimit() - inFlight.get() - p;
+                long n = Math.min(window, demand == Long.MAX_VALUE ? Long.MAX_VALUE : demand - p);
+                if (n > 0) {
+                    pending.addAndGet((int) n);
+                    subscription.request(n);
+                }
+            }
+            if (done && subscribed) {
+                terminate(downstream.get());
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
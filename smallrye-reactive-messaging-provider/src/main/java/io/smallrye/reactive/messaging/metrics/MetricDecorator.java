@@ -1,13 +1,17 @@
 package io.smallrye.reactive.messaging.metrics;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
 import org.eclipse.microprofile.metrics.Tag;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
@@ -36,6 +40,20 @@ public class MetricDecorator implements PublisherDecorator {
         }
     }
 
+    /**
+     * Registers a gauge tagged with the given channel name. Does nothing if no {@link MetricRegistry} is available.
+     *
+     * @param name the metric name
+     * @param channelName the channel name
+     * @param value the supplier invoked when the gauge is read
+     */
+    public void registerGauge(String name, String channelName, Supplier<? extends Number> value) {
+        if (registry != null) {
+            Metadata metadata = Metadata.builder().withName(name).withType(MetricType.GAUGE).build();
+            registry.register(metadata, (Gauge<Number>) value::get, new Tag("channel", channelName));
+        }
+    }
+
     private Consumer<Message> incrementCount(String channelName) {
         Counter counter = registry.counter("mp.messaging.message.count", new Tag("channel", channelName));
         return (m) -> counter.inc();
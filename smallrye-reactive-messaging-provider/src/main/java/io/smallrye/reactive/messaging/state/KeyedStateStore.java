@@ -0,0 +1,174 @@
+package io.smallrye.reactive.messaging.state;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.reactive.messaging.StateStore;
+
+/**
+ * {@link StateStore} implementation keeping the entries in a {@link ConcurrentHashMap}, optionally backed by a
+ * {@link MappedStateFile}.
+ * <p>
+ * When backed by a file, the modified keys are tracked, and {@link #snapshot()} appends their current values to the
+ * file. So the cost of a snapshot is proportional to the number of keys modified since the previous one. The modified
+ * keys are not tracked per message, so a snapshot also writes the modifications of the messages not acknowledged yet.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class KeyedStateStore<K, V> implements StateStore<K, V> {
+
+    private final String name;
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final Set<K> dirty;
+    private final MappedStateFile file;
+
+    /**
+     * Creates an in-memory store.
+     *
+     * @param name the name of the store, generally the channel name
+     */
+    public KeyedStateStore(String name) {
+        this.name = Objects.requireNonNull(name);
+        this.dirty = null;
+        this.file = null;
+    }
+
+    /**
+     * Creates a store backed by a memory-mapped file. The content of the file, if any, is loaded.
+     *
+     * @param name the name of the store, generally the channel name
+     * @param path the path of the file
+     * @param fileSize the size of the mapped file in bytes, the file is compacted when full
+     * @param fsync whether the file must be forced to the storage device on each snapshot
+     */
+    public KeyedStateStore(String name, Path path, int fileSize, boolean fsync) {
+        this.name = Objects.requireNonNull(name);
+        this.dirty = ConcurrentHashMap.newKeySet();
+        try {
+            this.file = new MappedStateFile(path, fileSize, fsync);
+            this.file.load(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the state file of the store " + name + ": " + path, e);
+        }
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        return entries.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        entries.put(key, value);
+        markDirty(key);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        V result = entries.compute(key, function);
+        markDirty(key);
+        return result;
+    }
+
+    @Override
+    public void remove(K key) {
+        entries.remove(key);
+        markDirty(key);
+    }
+
+    private void markDirty(K key) {
+        if (dirty != null) {
+            dirty.add(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public CompletionStage<Void> snapshot() {
+        if (file == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            persist();
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    private synchronized void persist() throws IOException {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(dirty);
+        try {
+            List<byte[]> records = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                // Remove the key before reading its value, so a concurrent update marks it dirty again.
+                dirty.remove(key);
+                records.add(MappedStateFile.encode(key, entries.get(key)));
+            }
+            if (!file.append(records)) {
+                List<byte[]> all = new ArrayList<>(entries.size());
+                for (Map.Entry<K, V> entry : entries.entrySet()) {
+                    all.add(MappedStateFile.encode(entry.getKey(), entry.getValue()));
+                }
+                file.rewrite(all);
+            }
+        } catch (IOException | RuntimeException e) {
+            dirty.addAll(keys);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> Message<T> checkpoint(Message<T> message) {
+        return message.withAck(() -> snapshot().thenCompose(x -> message.ack()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Closes the snapshot file, if any. The modifications done since the last snapshot are not written.
+     */
+    public synchronized void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
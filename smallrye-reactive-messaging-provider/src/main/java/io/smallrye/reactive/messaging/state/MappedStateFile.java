@@ -0,0 +1,201 @@
+package io.smallrye.reactive.messaging.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-mapped file storing the modifications of a {@link KeyedStateStore}.
+ * <p>
+ * The file starts with a header (magic number and committed position), followed by the records. Each record is the
+ * length of the serialized data followed by the data: a flag ({@code 1} for a put, {@code 0} for a removal), the key
+ * and the value. The committed position is only updated once the records are written, so a partially written batch
+ * is ignored on reload. When the file is full, it is compacted: a new file containing one record per entry replaces
+ * it atomically.
+ */
+class MappedStateFile implements Closeable {
+
+    private static final int MAGIC = 0x53545354;
+    private static final int POSITION_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+
+    private final Path path;
+    private final int capacity;
+    private final boolean fsync;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    // Set when the file has been replaced but the new file could not be mapped: the current mapping refers to the
+    // replaced file, so nothing can be appended until a rewrite succeeds.
+    private boolean stale;
+
+    MappedStateFile(Path path, int capacity, boolean fsync) throws IOException {
+        if (capacity <= HEADER_SIZE) {
+            throw new IllegalArgumentException("The state file size must be greater than " + HEADER_SIZE);
+        }
+        this.path = path;
+        this.capacity = capacity;
+        this.fsync = fsync;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        map();
+    }
+
+    /**
+     * Opens and maps the file. The current channel and mapping are only replaced on success.
+     */
+    private void map() throws IOException {
+        FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int size = (int) Math.max(capacity, opened.size());
+            MappedByteBuffer mapped = opened.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (mapped.getInt(0) != MAGIC) {
+                mapped.putInt(0, MAGIC);
+                mapped.putLong(POSITION_OFFSET, HEADER_SIZE);
+            }
+            long committed = mapped.getLong(POSITION_OFFSET);
+            if (committed < HEADER_SIZE || committed > size) {
+                throw new IOException("Corrupted state file " + path + ", invalid committed position: " + committed);
+            }
+            channel = opened;
+            buffer = mapped;
+            position = (int) committed;
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays the committed records into the given map.
+     */
+    @SuppressWarnings("unchecked")
+    <K, V> void load(Map<K, V> target) throws IOException {
+        int offset = HEADER_SIZE;
+        while (offset < position) {
+            int length = offset + 4 <= position ? buffer.getInt(offset) : -1;
+            if (length < 0 || (long) offset + 4 + length > position) {
+                throw new IOException("Corrupted state file " + path + ", invalid record length at " + offset);
+            }
+            byte[] data = new byte[length];
+            buffer.position(offset + 4);
+            buffer.get(data);
+            offset += 4 + length;
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                boolean put = in.readBoolean();
+                K key = (K) in.readObject();
+                if (put) {
+                    target.put(key, (V) in.readObject());
+                } else {
+                    target.remove(key);
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unable to read the state file " + path, e);
+            }
+        }
+    }
+
+    static byte[] encode(Object key, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeBoolean(value != null);
+            out.writeObject(key);
+            if (value != null) {
+                out.writeObject(value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Appends and commits the given records.
+     *
+     * @return {@code false} if there is not enough room left in the file, nothing is written in this case
+     */
+    boolean append(List<byte[]> records) {
+        long required = records.stream().mapToLong(r -> 4L + r.length).sum();
+        if (stale || position + required > buffer.capacity()) {
+            return false;
+        }
+        int offset = write(buffer, position, records);
+        commit(buffer, offset);
+        position = offset;
+        return true;
+    }
+
+    /**
+     * Replaces the content of the file with the given records.
+     */
+    void rewrite(List<byte[]> records) throws IOException {
+        long required = HEADER_SIZE + records.stream().mapToLong(r -> 4L + r.length).sum();
+        if (required > Integer.MAX_VALUE) {
+            throw new IOException("The state does not fit in a single state file: " + required + " bytes");
+        }
+        int size = (int) Math.max(capacity, required);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                target.putInt(0, MAGIC);
+                commit(target, write(target, HEADER_SIZE, records));
+                target.force();
+            }
+            // Moved while the current file is still open, so the store stays usable if the move fails.
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        FileChannel previous = channel;
+        stale = true;
+        // If the new file cannot be mapped, the previous mapping is kept but refuses the appends, so the next
+        // persistence retries the rewrite.
+        map();
+        stale = false;
+        previous.close();
+    }
+
+    private static int write(MappedByteBuffer target, int offset, List<byte[]> records) {
+        for (byte[] record : records) {
+            target.putInt(offset, record.length);
+            target.position(offset + 4);
+            target.put(record);
+            offset += 4 + record.length;
+        }
+        return offset;
+    }
+
+    private void commit(MappedByteBuffer target, int offset) {
+        if (fsync) {
+            // Records first, then the header, so the committed position never points to unwritten data.
+            target.force();
+        }
+        target.putLong(POSITION_OFFSET, offset);
+        if (fsync) {
+            target.force();
+        }
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
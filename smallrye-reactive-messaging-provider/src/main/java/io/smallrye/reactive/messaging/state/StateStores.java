@@ -0,0 +1,71 @@
+package io.smallrye.reactive.messaging.state;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.reactive.messaging.StateStore;
+
+/**
+ * Creates and keeps the {@link StateStore} of each channel.
+ * <p>
+ * The stores are configured using:
+ * <ul>
+ * <li>{@code mp.messaging.state.[channel].file} - the path of the memory-mapped snapshot file, in-memory only if not
+ * set,</li>
+ * <li>{@code mp.messaging.state.[channel].file-size} - the size of the mapped file in bytes, 64 MB by default,</li>
+ * <li>{@code mp.messaging.state.[channel].fsync} - whether each snapshot is forced to the storage device, {@code false}
+ * by default.</li>
+ * </ul>
+ */
+public class StateStores {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StateStores.class);
+
+    public static final String PREFIX = "mp.messaging.state.";
+    public static final int DEFAULT_FILE_SIZE = 64 * 1024 * 1024;
+
+    private final Map<String, KeyedStateStore<?, ?>> stores = new ConcurrentHashMap<>();
+    private final Config config;
+
+    /**
+     * @param config the configuration, may be {@code null}, in this case all the stores are in-memory.
+     */
+    public StateStores(Config config) {
+        this.config = config;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> StateStore<K, V> get(String channel) {
+        return (StateStore<K, V>) stores.computeIfAbsent(channel, this::create);
+    }
+
+    private KeyedStateStore<?, ?> create(String channel) {
+        Optional<String> file = config == null ? Optional.empty()
+                : config.getOptionalValue(PREFIX + channel + ".file", String.class);
+        if (!file.isPresent()) {
+            return new KeyedStateStore<>(channel);
+        }
+        int size = config.getOptionalValue(PREFIX + channel + ".file-size", Integer.class).orElse(DEFAULT_FILE_SIZE);
+        boolean fsync = config.getOptionalValue(PREFIX + channel + ".fsync", Boolean.class).orElse(false);
+        KeyedStateStore<?, ?> store = new KeyedStateStore<>(channel, Paths.get(file.get()), size, fsync);
+        LOGGER.info("State store {} restored from {}: {} entries", channel, file.get(), store.size());
+        return store;
+    }
+
+    public void close() {
+        stores.values().forEach(store -> {
+            try {
+                store.close();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to close the state store {}", store.getName(), e);
+            }
+        });
+        stores.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package io.smallrye.reactive.messaging.topology;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters attached to a channel. The counters are updated on the hot path, so updates are cheap (non-blocking adders)
+ * and aggregation only happens when the topology is sampled.
+ */
+public class ChannelProbe {
+
+    private final String channel;
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder subscriptions = new LongAdder();
+    private volatile boolean unbounded;
+
+    private long lastSampleCount;
+    private long lastSampleTime = System.nanoTime();
+    private double lastThroughput;
+
+    ChannelProbe(String channel) {
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void subscribed() {
+        subscriptions.increment();
+    }
+
+    void requested(long n) {
+        if (n == Long.MAX_VALUE) {
+            unbounded = true;
+        } else {
+            requested.add(n);
+        }
+    }
+
+    void delivered() {
+        delivered.increment();
+    }
+
+    /**
+     * @return {@code true} if at least one subscriber has subscribed to the channel.
+     */
+    public boolean isSubscribed() {
+        return subscriptions.sum() > 0;
+    }
+
+    /**
+     * @return the number of messages that transited on the channel.
+     */
+    public long getMessageCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * @return the demand requested by the downstream subscribers and not yet fulfilled, {@link Long#MAX_VALUE} if
+     *         one of the subscribers requested an unbounded number of messages.
+     */
+    public long getOutstandingDemand() {
+        if (unbounded) {
+            return Long.MAX_VALUE;
+        }
+        // Read delivered first, so a concurrent emission cannot make the result negative
+        long d = delivered.sum();
+        return Math.max(0, requested.sum() - d);
+    }
+
+    /**
+     * Computes the throughput (messages per second) observed since the previous call to this method.
+     *
+     * @return the throughput, 0 if no message has been observed.
+     */
+    synchronized double sampleThroughput() {
+        long now = System.nanoTime();
+        long count = delivered.sum();
+        long elapsed = now - lastSampleTime;
+        if (elapsed > 0 && count != lastSampleCount) {
+            lastThroughput = (count - lastSampleCount) / ((double) elapsed / TimeUnit.SECONDS.toNanos(1));
+        } else if (elapsed > 0) {
+            lastThroughput = 0.0;
+        }
+        lastSampleCount = count;
+        lastSampleTime = now;
+        return lastThroughput;
+    }
+}
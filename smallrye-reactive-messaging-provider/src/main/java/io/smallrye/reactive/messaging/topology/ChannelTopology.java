@@ -0,0 +1,172 @@
+package io.smallrye.reactive.messaging.topology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.AbstractMediator;
+import io.smallrye.reactive.messaging.ChannelRegistry;
+import io.smallrye.reactive.messaging.Emitter;
+import io.smallrye.reactive.messaging.PublisherDecorator;
+import io.smallrye.reactive.messaging.extension.EmitterImpl;
+import io.smallrye.reactive.messaging.extension.MediatorManager;
+
+/**
+ * Gives a live view of how the channels are wired: the nodes (connectors, emitters and mediators) and the edges
+ * (channels) with their statistics (throughput, outstanding demand, buffer usage and in-flight acknowledgements).
+ * <p>
+ * This bean can be injected to find which stage of a pipeline is back-pressuring:
+ *
+ * <pre>
+ * &#64;Inject
+ * ChannelTopology topology;
+ *
+ * // ...
+ * topology.getEdges().stream()
+ *         .filter(TopologyEdge::isBackPressured)
+ *         .forEach(System.out::println);
+ * </pre>
+ * <p>
+ * The channels are observed using a {@link PublisherDecorator}, the counters are aggregated when the topology is
+ * retrieved. Observing the channels adds a few operators to each stream, so it must be enabled by setting
+ * {@code mp.messaging.topology.enabled} to {@code true}. Otherwise, the nodes and edges are listed without the message
+ * statistics of the channels.
+ */
+@ApplicationScoped
+public class ChannelTopology implements PublisherDecorator {
+
+    private final Map<String, ChannelProbe> probes = new ConcurrentHashMap<>();
+    private final Map<String, String> incomingConnectors = new ConcurrentHashMap<>();
+    private final Map<String, String> outgoingConnectors = new ConcurrentHashMap<>();
+
+    @Inject
+    @ConfigProperty(name = "mp.messaging.topology.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @Inject
+    MediatorManager mediatorManager;
+
+    @Inject
+    ChannelRegistry channelRegistry;
+
+    @Override
+    public PublisherBuilder<? extends Message> decorate(PublisherBuilder<? extends Message> publisher,
+            String channelName) {
+        if (!enabled || channelName == null) {
+            return publisher;
+        }
+        ChannelProbe probe = probes.computeIfAbsent(channelName, ChannelProbe::new);
+        Flowable<Message> flow = Flowable.fromPublisher(publisher.buildRs());
+        return ReactiveStreams.fromPublisher(flow
+                .doOnSubscribe(s -> probe.subscribed())
+                .doOnRequest(probe::requested)
+                .doOnNext(m -> probe.delivered()));
+    }
+
+    /**
+     * Records that the channel {@code channel} is fed by the connector {@code connector}.
+     *
+     * @param channel the channel name
+     * @param connector the connector name
+     */
+    public void registerIncomingConnector(String channel, String connector) {
+        incomingConnectors.put(channel, connector);
+    }
+
+    /**
+     * Records that the channel {@code channel} is consumed by the connector {@code connector}.
+     *
+     * @param channel the channel name
+     * @param connector the connector name
+     */
+    public void registerOutgoingConnector(String channel, String connector) {
+        outgoingConnectors.put(channel, connector);
+    }
+
+    /**
+     * @return the probe attached to the given channel, empty if the channel is not observed.
+     */
+    public Optional<ChannelProbe> getProbe(String channel) {
+        return Optional.ofNullable(probes.get(channel));
+    }
+
+    /**
+     * @return a snapshot of the nodes of the topology.
+     */
+    public List<TopologyNode> getNodes() {
+        List<TopologyNode> nodes = new ArrayList<>();
+        incomingConnectors.forEach((channel, connector) -> nodes.add(new TopologyNode(TopologyNode.Kind.CONNECTOR,
+                connector, Collections.emptyList(), Collections.singletonList(channel), 0)));
+        outgoingConnectors.forEach((channel, connector) -> nodes.add(new TopologyNode(TopologyNode.Kind.CONNECTOR,
+                connector, Collections.singletonList(channel), Collections.emptyList(), 0)));
+        for (String name : channelRegistry.getEmitterNames()) {
+            nodes.add(new TopologyNode(TopologyNode.Kind.EMITTER, name, Collections.emptyList(),
+                    Collections.singletonList(name), 0));
+        }
+        for (AbstractMediator mediator : mediatorManager.getMediators()) {
+            String outgoing = mediator.getConfiguration().getOutgoing();
+            nodes.add(new TopologyNode(TopologyNode.Kind.MEDIATOR, mediator.getMethodAsString(),
+                    new ArrayList<>(mediator.getConfiguration().getIncoming()),
+                    outgoing == null ? Collections.emptyList() : Collections.singletonList(outgoing),
+                    mediator.getInFlightAcknowledgements()));
+        }
+        return nodes;
+    }
+
+    /**
+     * Takes a snapshot of the edges of the topology. The throughput of each edge is computed since the previous
+     * snapshot.
+     *
+     * @return the edges, one per channel.
+     */
+    public synchronized List<TopologyEdge> getEdges() {
+        List<TopologyNode> nodes = getNodes();
+        Set<String> channels = new LinkedHashSet<>();
+        nodes.forEach(n -> {
+            channels.addAll(n.getOutgoing());
+            channels.addAll(n.getIncoming());
+        });
+
+        List<TopologyEdge> edges = new ArrayList<>();
+        for (String channel : channels) {
+            List<TopologyNode> producers = nodes.stream().filter(n -> n.getOutgoing().contains(channel))
+                    .collect(Collectors.toList());
+            List<TopologyNode> consumers = nodes.stream().filter(n -> n.getIncoming().contains(channel))
+                    .collect(Collectors.toList());
+            long buffered = 0;
+            long capacity = 0;
+            Emitter<?> emitter = channelRegistry.getEmitter(channel);
+            if (emitter instanceof EmitterImpl) {
+                buffered = ((EmitterImpl<?>) emitter).getBufferedCount();
+                capacity = ((EmitterImpl<?>) emitter).getBufferCapacity();
+            }
+            edges.add(new TopologyEdge(channel, producers, consumers, probes.get(channel), buffered, capacity));
+        }
+        return edges;
+    }
+
+    /**
+     * Takes a snapshot of the edge representing the given channel.
+     *
+     * @param channel the channel name
+     * @return the edge, empty if the channel is unknown
+     */
+    public Optional<TopologyEdge> getEdge(String channel) {
+        return getEdges().stream().filter(e -> e.getChannel().equals(channel)).findFirst();
+    }
+}
@@ -0,0 +1,120 @@
+package io.smallrye.reactive.messaging.topology;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An edge of the channel topology, i.e. a channel, with the statistics sampled when the snapshot was taken.
+ * Instances are snapshots, they are not updated.
+ */
+public class TopologyEdge {
+
+    private final String channel;
+    private final List<TopologyNode> producers;
+    private final List<TopologyNode> consumers;
+    private final boolean subscribed;
+    private final long messageCount;
+    private final double throughput;
+    private final long outstandingDemand;
+    private final long bufferedMessages;
+    private final long bufferCapacity;
+    private final long inFlightAcknowledgements;
+
+    TopologyEdge(String channel, List<TopologyNode> producers, List<TopologyNode> consumers, ChannelProbe probe,
+            long bufferedMessages, long bufferCapacity) {
+        this.channel = channel;
+        this.producers = Collections.unmodifiableList(producers);
+        this.consumers = Collections.unmodifiableList(consumers);
+        if (probe != null) {
+            this.subscribed = probe.isSubscribed();
+            this.messageCount = probe.getMessageCount();
+            this.throughput = probe.sampleThroughput();
+            this.outstandingDemand = probe.getOutstandingDemand();
+        } else {
+            this.subscribed = false;
+            this.messageCount = -1;
+            this.throughput = -1;
+            this.outstandingDemand = -1;
+        }
+        this.bufferedMessages = bufferedMessages;
+        this.bufferCapacity = bufferCapacity;
+        this.inFlightAcknowledgements = consumers.stream().mapToLong(TopologyNode::getInFlightAcknowledgements).sum();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public List<TopologyNode> getProducers() {
+        return producers;
+    }
+
+    public List<TopologyNode> getConsumers() {
+        return consumers;
+    }
+
+    /**
+     * @return the number of messages that transited on the channel, -1 if the channel is not observed.
+     */
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * @return the number of messages per second observed since the previous snapshot, -1 if the channel is not
+     *         observed.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * @return the number of messages requested by the consumers and not delivered yet, {@link Long#MAX_VALUE} if the
+     *         consumers requested an unbounded number of messages, -1 if the channel is not observed.
+     */
+    public long getOutstandingDemand() {
+        return outstandingDemand;
+    }
+
+    /**
+     * @return the number of messages waiting in the buffers of the producers (emitters), 0 if there are no buffers.
+     */
+    public long getBufferedMessages() {
+        return bufferedMessages;
+    }
+
+    /**
+     * @return the capacity of the buffers of the producers (emitters), 0 if there are no buffers.
+     */
+    public long getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * @return the number of messages received by the consumers (mediators) and not acknowledged yet.
+     */
+    public long getInFlightAcknowledgements() {
+        return inFlightAcknowledgements;
+    }
+
+    /**
+     * A channel is back-pressured when it has been subscribed but its consumers do not request messages anymore.
+     * In a pipeline, the bottleneck is generally the consumer of the first back-pressured channel when following
+     * the flow from the producers.
+     *
+     * @return whether the channel is back-pressured.
+     */
+    public boolean isBackPressured() {
+        return subscribed && outstandingDemand == 0;
+    }
+
+    @Override
+    public String toString() {
+        return channel + " " + producers + " -> " + consumers
+                + " (messages: " + messageCount
+                + ", throughput: " + throughput
+                + ", demand: " + outstandingDemand
+                + ", buffered: " + bufferedMessages + "/" + bufferCapacity
+                + ", in-flight acks: " + inFlightAcknowledgements + ")";
+    }
+}
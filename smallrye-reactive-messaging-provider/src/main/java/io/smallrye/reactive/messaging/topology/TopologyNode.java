@@ -0,0 +1,78 @@
+package io.smallrye.reactive.messaging.topology;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of the channel topology: a connector, an emitter or a mediator.
+ * Instances are snapshots, they are not updated.
+ */
+public class TopologyNode {
+
+    public enum Kind {
+        /**
+         * A connector reading from (incoming) or writing to (outgoing) a channel.
+         */
+        CONNECTOR,
+        /**
+         * An emitter injected in a bean.
+         */
+        EMITTER,
+        /**
+         * A method annotated with {@code @Incoming} and/or {@code @Outgoing}.
+         */
+        MEDIATOR
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final List<String> incoming;
+    private final List<String> outgoing;
+    private final long inFlightAcknowledgements;
+
+    TopologyNode(Kind kind, String name, List<String> incoming, List<String> outgoing, long inFlightAcknowledgements) {
+        this.kind = kind;
+        this.name = name;
+        this.incoming = Collections.unmodifiableList(incoming);
+        this.outgoing = Collections.unmodifiableList(outgoing);
+        this.inFlightAcknowledgements = inFlightAcknowledgements;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the name of the node: the connector name for connectors, the channel name for emitters and the method
+     *         for mediators.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the channels consumed by this node, empty for emitters and incoming connectors.
+     */
+    public List<String> getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * @return the channels fed by this node, empty for subscribers and outgoing connectors.
+     */
+    public List<String> getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * @return for mediators, the number of received messages not acknowledged yet, 0 for the other nodes.
+     */
+    public long getInFlightAcknowledgements() {
+        return inFlightAcknowledgements;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "[" + name + "]";
+    }
+}
@@ -0,0 +1,75 @@
+package io.smallrye.reactive.messaging.ack;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.Test;
+
+public class OrderedAckWindowTest {
+
+    private final List<Integer> acked = new CopyOnWriteArrayList<>();
+
+    private Message<Integer> message(int i) {
+        return Message.of(i, () -> {
+            acked.add(i);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Test
+    public void testThatTheMessagesAreAcknowledgedInOrder() {
+        OrderedAckWindow window = new OrderedAckWindow(4);
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        List<CompletionStage<Message<Integer>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<Void> delivery = new CompletableFuture<>();
+            deliveries.add(delivery);
+            results.add(window.send(message(i), () -> delivery));
+        }
+        // The first 3 messages do not wait, the 4th one fills the window
+        assertThat(results.subList(0, 3)).allSatisfy(r -> assertThat(r.toCompletableFuture()).isDone());
+        assertThat(results.get(3).toCompletableFuture()).isNotDone();
+
+        deliveries.get(2).complete(null);
+        deliveries.get(1).complete(null);
+        assertThat(acked).isEmpty();
+        deliveries.get(0).complete(null);
+        assertThat(acked).containsExactly(0, 1, 2);
+        assertThat(results.get(3).toCompletableFuture()).isDone();
+        deliveries.get(3).complete(null);
+        assertThat(acked).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    public void testThatAFailedDeliveryFailsTheNextMessages() {
+        OrderedAckWindow window = new OrderedAckWindow(3);
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        window.send(message(0), () -> first);
+        window.send(message(1), () -> second);
+        CompletionStage<Message<Integer>> full = window.send(message(2), () -> CompletableFuture.completedFuture(null));
+
+        second.completeExceptionally(new IOException("rejected"));
+        first.complete(null);
+        assertThat(acked).containsExactly(0);
+        // Only waited for the first message
+        assertThat(full.toCompletableFuture()).isCompleted();
+
+        // Not sent anymore
+        List<Integer> sent = new ArrayList<>();
+        CompletionStage<Message<Integer>> next = window.send(message(3), () -> {
+            sent.add(3);
+            return CompletableFuture.completedFuture(null);
+        });
+        assertThat(next.toCompletableFuture()).isCompletedExceptionally();
+        assertThat(sent).isEmpty();
+        assertThat(acked).containsExactly(0);
+    }
+}
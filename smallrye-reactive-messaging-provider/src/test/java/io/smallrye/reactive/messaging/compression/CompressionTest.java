@@ -0,0 +1,105 @@
+package io.smallrye.reactive.messaging.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class CompressionTest {
+
+    private static final byte[] CONTENT = IntStream.range(0, 1000)
+            .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item-" + i + "\"}")
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testGzipRoundTrip() throws IOException {
+        Compression compression = new Compression(ContentEncoding.GZIP, 1024, Deflater.DEFAULT_COMPRESSION);
+        byte[] compressed = compression.compress(CONTENT);
+        assertThat(compressed.length).isLessThan(CONTENT.length);
+        assertThat(Compression.isGzip(compressed)).isTrue();
+        assertThat(Compression.decompress(compressed, ContentEncoding.GZIP)).isEqualTo(CONTENT);
+
+        // Interoperability with the JDK streams
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(readAll(in)).isEqualTo(CONTENT);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(CONTENT);
+        }
+        assertThat(Compression.decompress(out.toByteArray(), ContentEncoding.GZIP)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void testDeflateRoundTripWithPooledInstances() {
+        Compression compression = new Compression(ContentEncoding.DEFLATE, 0, Deflater.BEST_SPEED);
+        for (int i = 0; i < 10; i++) {
+            byte[] content = Arrays.copyOf(CONTENT, CONTENT.length - i);
+            byte[] compressed = compression.compress(content);
+            assertThat(Compression.isGzip(compressed)).isFalse();
+            assertThat(Compression.decompress(compressed, ContentEncoding.DEFLATE)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void testThreshold() {
+        Compression compression = new Compression(ContentEncoding.GZIP, 1024, Deflater.DEFAULT_COMPRESSION);
+        assertThat(compression.shouldCompress(1023)).isFalse();
+        assertThat(compression.shouldCompress(1024)).isTrue();
+    }
+
+    @Test
+    public void testInvalidContent() {
+        byte[] compressed = new Compression(ContentEncoding.GZIP, 0, Deflater.DEFAULT_COMPRESSION).compress(CONTENT);
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        assertThatThrownBy(() -> Compression.decompress(truncated, ContentEncoding.GZIP))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Compression.decompress(CONTENT, ContentEncoding.GZIP))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testMaxDecompressedSize() {
+        // 64 MiB of zeros compress to a few KiB
+        Compression compression = new Compression(ContentEncoding.GZIP, 0, Deflater.BEST_COMPRESSION);
+        byte[] bomb = compression.compress(new byte[64 * 1024 * 1024]);
+        assertThat(bomb.length).isLessThan(1024 * 1024);
+        assertThatThrownBy(() -> Compression.decompress(bomb, ContentEncoding.GZIP))
+                .isInstanceOf(DecompressedSizeExceededException.class);
+
+        assertThat(Compression.decompress(compression.compress(CONTENT), ContentEncoding.GZIP, CONTENT.length))
+                .isEqualTo(CONTENT);
+        assertThatThrownBy(() -> Compression.decompress(compression.compress(CONTENT), ContentEncoding.GZIP,
+                CONTENT.length - 1)).isInstanceOf(DecompressedSizeExceededException.class);
+    }
+
+    @Test
+    public void testContentEncodingLookup() {
+        assertThat(ContentEncoding.from("GZIP")).contains(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.from(" deflate ")).contains(ContentEncoding.DEFLATE);
+        assertThat(ContentEncoding.from("br")).isEmpty();
+        assertThat(ContentEncoding.from(null)).isEmpty();
+    }
+
+    private static byte[] readAll(GZIPInputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+package io.smallrye.reactive.messaging.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+public class DeduplicatorTest {
+
+    @Test
+    public void testThatDuplicatesAreDroppedAndAcknowledged() {
+        AtomicInteger acked = new AtomicInteger();
+        AtomicLong memory = new AtomicLong();
+        Deduplicator deduplicator = new Deduplicator("channel", Message::getPayload,
+                () -> new LruDeduplicationFilter(100, 60_000, System::currentTimeMillis));
+
+        List<Object> payloads = deduplicator.apply(ReactiveStreams.of("a", "b", "a", "c", "b", "a")
+                .map(p -> Message.of(p, () -> {
+                    acked.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                })))
+                .peek(m -> memory.set(deduplicator.getMemoryUsage()))
+                .map(Message::getPayload)
+                .toList()
+                .run()
+                .toCompletableFuture()
+                .join();
+
+        assertThat(payloads).containsExactly("a", "b", "c");
+        assertThat(acked).hasValue(3);
+        assertThat(deduplicator.getReceivedCount()).isEqualTo(6);
+        assertThat(deduplicator.getDuplicateCount()).isEqualTo(3);
+        assertThat(deduplicator.getHitRate()).isEqualTo(0.5);
+        assertThat(memory).hasPositiveValue();
+        // The filter is released with the subscription
+        assertThat(deduplicator.getMemoryUsage()).isZero();
+    }
+
+    @Test
+    public void testThatEachSubscriptionHasItsOwnFilter() {
+        Deduplicator deduplicator = new Deduplicator("channel", Message::getPayload,
+                () -> new LruDeduplicationFilter(100, 60_000, System::currentTimeMillis));
+        PublisherBuilder<? extends Message> stream = deduplicator.apply(ReactiveStreams.of("a", "b", "a")
+                .map(Message::of));
+
+        for (int i = 0; i < 2; i++) {
+            List<Object> payloads = stream
+                    .map(Message::getPayload)
+                    .toList()
+                    .run()
+                    .toCompletableFuture()
+                    .join();
+            // The messages received by the previous subscription are not dropped
+            assertThat(payloads).containsExactly("a", "b");
+        }
+        assertThat(deduplicator.getDuplicateCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatMessagesWithoutIdAreNotDeduplicated() {
+        Deduplicator deduplicator = new Deduplicator("channel", m -> null,
+                () -> new LruDeduplicationFilter(100, 60_000, System::currentTimeMillis));
+        List<Object> payloads = deduplicator.apply(ReactiveStreams.of("a", "a").map(Message::of))
+                .map(Message::getPayload)
+                .collect(Collectors.toList())
+                .run()
+                .toCompletableFuture()
+                .join();
+        assertThat(payloads).containsExactly("a", "a");
+    }
+
+    @Test
+    public void testLruFilterIsBoundedInSizeAndTime() {
+        AtomicLong clock = new AtomicLong();
+        LruDeduplicationFilter filter = new LruDeduplicationFilter(3, 1000, clock::get);
+        assertThat(filter.checkAndRecord("a")).isFalse();
+        assertThat(filter.checkAndRecord("b")).isFalse();
+        assertThat(filter.checkAndRecord("c")).isFalse();
+        assertThat(filter.checkAndRecord("a")).isTrue();
+        // Evicts b, the least recently seen identifier
+        assertThat(filter.checkAndRecord("d")).isFalse();
+        assertThat(filter.size()).isEqualTo(3);
+        assertThat(filter.checkAndRecord("b")).isFalse();
+
+        clock.set(2000);
+        assertThat(filter.checkAndRecord("a")).isFalse();
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBloomFilter() {
+        AtomicLong clock = new AtomicLong();
+        BloomDeduplicationFilter filter = new BloomDeduplicationFilter(20_000, 60_000, 0.001, clock::get);
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.checkAndRecord("id-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(100);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.checkAndRecord("id-" + i)).isTrue();
+        }
+
+        // Identifiers are forgotten after two generations
+        clock.set(40_000);
+        filter.checkAndRecord("other");
+        clock.set(80_000);
+        filter.checkAndRecord("another");
+        assertThat(filter.checkAndRecord("id-0")).isFalse();
+    }
+
+    @Test
+    public void testBloomFilterWithCollidingHashCodes() {
+        BloomDeduplicationFilter filter = new BloomDeduplicationFilter(20_000, 60_000, 0.001, () -> 0L);
+        // "Aa" and "BB" have the same hash code, so all these identifiers share the same hash code.
+        int falsePositives = 0;
+        for (int i = 0; i < 1024; i++) {
+            StringBuilder id = new StringBuilder();
+            for (int bit = 0; bit < 10; bit++) {
+                id.append((i & (1 << bit)) == 0 ? "Aa" : "BB");
+            }
+            if (filter.checkAndRecord(id.toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(10);
+    }
+}
@@ -0,0 +1,156 @@
+package io.smallrye.reactive.messaging.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+public class ConcurrencyLimitingProcessorTest {
+
+    @Test
+    public void testLimitGrowsWhileLatencyIsStable() {
+        AimdLimit limit = new AimdLimit(2, 1, 10, 0.5, 2.0);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(1_000_000, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void testLimitShrinksOnFailuresAndLatencySpikes() {
+        AimdLimit limit = new AimdLimit(8, 1, 10, 0.5, 2.0);
+        limit.onSample(1_000_000, false);
+        for (int i = 0; i < 8; i++) {
+            limit.onSample(1_000_000, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            limit.onSample(50_000_000, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(1_000_000, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatInFlightMessagesAreBounded() {
+        ConcurrencyLimitingProcessor processor = new ConcurrencyLimitingProcessor(new AimdLimit(4, 1, 8, 0.9, 2.0));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        AtomicInteger acked = new AtomicInteger();
+
+        Flowable.range(0, 200)
+                .map(i -> Message.of(i, () -> {
+                    acked.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                }))
+                .subscribe(processor);
+
+        processor.subscribe(new Subscriber<Message<?>>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Message<?> message) {
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                received.add((Integer) message.getPayload());
+                Schedulers.computation().scheduleDirect(() -> {
+                    inFlight.decrementAndGet();
+                    message.ack();
+                }, 2, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // Ignored.
+            }
+
+            @Override
+            public void onComplete() {
+                // Ignored.
+            }
+        });
+
+        await().until(() -> acked.get() == 200 && processor.getInFlight() == 0);
+        assertThat(received).hasSize(200).startsWith(0, 1, 2, 3);
+        assertThat(maxInFlight.get()).isBetween(1, 8);
+        assertThat(processor.getLimit().getLimit()).isBetween(1, 8);
+    }
+
+    @Test
+    public void testThatTheTerminationIsSignaledOnceAfterOnSubscribe() {
+        ConcurrencyLimitingProcessor processor = new ConcurrencyLimitingProcessor(new AimdLimit(4, 1, 8, 0.9, 2.0));
+        processor.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                // Ignored.
+            }
+
+            @Override
+            public void cancel() {
+                // Ignored.
+            }
+        });
+        processor.onComplete();
+
+        AtomicInteger terminations = new AtomicInteger();
+        AtomicBoolean subscribed = new AtomicBoolean();
+        AtomicBoolean terminatedBeforeOnSubscribe = new AtomicBoolean();
+        processor.subscribe(new Subscriber<Message<?>>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                // Concurrent terminations while onSubscribe runs.
+                processor.onComplete();
+                processor.onError(new IllegalStateException("boom"));
+                subscribed.set(true);
+            }
+
+            @Override
+            public void onNext(Message<?> message) {
+                // Ignored.
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                terminated();
+            }
+
+            @Override
+            public void onComplete() {
+                terminated();
+            }
+
+            private void terminated() {
+                terminations.incrementAndGet();
+                if (!subscribed.get()) {
+                    terminatedBeforeOnSubscribe.set(true);
+                }
+            }
+        });
+
+        assertThat(terminations).hasValue(1);
+        assertThat(terminatedBeforeOnSubscribe).isFalse();
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.smallrye.reactive.messaging.priority;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.PriorityMetadata;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+
+@ApplicationScoped
+public class PrioritizedBean {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @Outgoing("bulk")
+    public Publisher<String> bulk() {
+        return Flowable.range(0, 20).map(i -> "bulk-" + i);
+    }
+
+    @Outgoing("control")
+    public Publisher<Message<String>> control() {
+        return Flowable.just(Message.of("cancel"), Message.of("urgent").addMetadata(PriorityMetadata.of(0)));
+    }
+
+    @Incoming("bulk")
+    @Incoming("control")
+    @Prioritized(weights = { 4, 1 }, channels = { "control", "bulk" })
+    public void consume(String payload) {
+        received.add(payload);
+    }
+
+    public List<String> received() {
+        return received;
+    }
+}
@@ -0,0 +1,95 @@
+package io.smallrye.reactive.messaging.priority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.DeploymentException;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.messaging.PriorityMetadata;
+import io.smallrye.reactive.messaging.WeldTestBaseWithoutTails;
+import io.smallrye.reactive.messaging.annotations.Prioritized;
+import io.smallrye.reactive.messaging.extension.PriorityPublisher;
+
+public class PrioritizedTest extends WeldTestBaseWithoutTails {
+
+    @Test
+    public void testThatUrgentMessagesOvertakeBufferedMessages() {
+        Flowable<Message<?>> source = Flowable.range(0, 100)
+                .map(i -> i % 10 == 9 ? Message.of(i).addMetadata(PriorityMetadata.of(0)) : Message.of(i));
+        PriorityPublisher publisher = new PriorityPublisher(
+                Collections.<Publisher<? extends Message<?>>> singletonList(source),
+                new int[] { 2 }, new int[] { 8, 4, 1 }, 128);
+
+        TestSubscriber<Message<?>> subscriber = new TestSubscriber<>(0);
+        publisher.subscribe(subscriber);
+        subscriber.request(100);
+        subscriber.assertComplete();
+
+        List<Integer> order = subscriber.values().stream()
+                .map(m -> (Integer) m.getPayload())
+                .collect(Collectors.toList());
+        assertThat(order).hasSize(100);
+        // First round: 8 urgent messages, then 1 bulk message, second round: the 2 remaining urgent messages.
+        assertThat(order.subList(0, 8)).containsExactly(9, 19, 29, 39, 49, 59, 69, 79);
+        assertThat(order.subList(8, 11)).containsExactly(0, 89, 99);
+        assertThat(order.subList(11, 100)).isSorted();
+    }
+
+    @Test
+    public void testThatLowPriorityMessagesAreNotStarved() {
+        Flowable<Message<?>> urgent = Flowable.range(0, 50).map(i -> Message.of("u" + i));
+        Flowable<Message<?>> bulk = Flowable.range(0, 10).map(i -> Message.of("b" + i));
+        PriorityPublisher publisher = new PriorityPublisher(Arrays.asList(urgent, bulk),
+                new int[] { 0, 1 }, new int[] { 4, 1 }, 128);
+
+        TestSubscriber<Message<?>> subscriber = new TestSubscriber<>(0);
+        publisher.subscribe(subscriber);
+        subscriber.request(10);
+
+        List<Object> order = subscriber.values().stream().map(Message::getPayload).collect(Collectors.toList());
+        assertThat(order).containsExactly("u0", "u1", "u2", "u3", "b0", "u4", "u5", "u6", "u7", "b1");
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.assertComplete().assertValueCount(60);
+    }
+
+    @Test
+    public void testPrioritizedMethodWithMultipleChannels() {
+        addBeanClass(PrioritizedBean.class);
+        initialize();
+
+        PrioritizedBean bean = container.select(PrioritizedBean.class).get();
+        await().until(() -> bean.received().size() == 22);
+        assertThat(bean.received()).contains("cancel", "urgent", "bulk-0", "bulk-19");
+    }
+
+    @Test(expected = DeploymentException.class)
+    public void testInvalidWeights() {
+        addBeanClass(InvalidPrioritizedBean.class);
+        initialize();
+    }
+
+    @ApplicationScoped
+    public static class InvalidPrioritizedBean {
+
+        @Incoming("source")
+        @Prioritized(weights = { 2, 0 })
+        public void consume(String payload) {
+            // Never called.
+        }
+
+    }
+}
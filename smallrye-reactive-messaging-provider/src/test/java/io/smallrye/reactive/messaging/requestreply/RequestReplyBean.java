@@ -0,0 +1,71 @@
+package io.smallrye.reactive.messaging.requestreply;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.smallrye.reactive.messaging.RequestReplyEmitter;
+import io.smallrye.reactive.messaging.annotations.Channel;
+import io.smallrye.reactive.messaging.annotations.ReplyChannel;
+
+@ApplicationScoped
+public class RequestReplyBean {
+
+    @Inject
+    @Channel("requests")
+    @ReplyChannel("replies")
+    RequestReplyEmitter<Integer, String> emitter;
+
+    @Inject
+    @Channel("ignored-requests")
+    @ReplyChannel(value = "ignored-replies", timeout = 200, maxInFlightRequests = 2)
+    RequestReplyEmitter<Integer, String> emitterWithoutReply;
+
+    @Inject
+    @Channel("slow-requests")
+    @ReplyChannel(value = "slow-replies", timeout = 100, maxInFlightRequests = 64)
+    RequestReplyEmitter<Integer, String> slowEmitter;
+
+    private final CompletableFuture<Void> released = new CompletableFuture<>();
+
+    @Incoming("requests")
+    @Outgoing("replies")
+    public String reply(Integer request) {
+        return "reply-" + request;
+    }
+
+    @Incoming("ignored-requests")
+    @Outgoing("ignored-replies")
+    public PublisherBuilder<String> ignore(Integer request) {
+        return ReactiveStreams.empty();
+    }
+
+    @Incoming("slow-requests")
+    @Outgoing("slow-replies")
+    public CompletionStage<String> slowReply(Integer request) {
+        return released.thenApply(x -> "reply-" + request);
+    }
+
+    public void release() {
+        released.complete(null);
+    }
+
+    public RequestReplyEmitter<Integer, String> emitter() {
+        return emitter;
+    }
+
+    public RequestReplyEmitter<Integer, String> emitterWithoutReply() {
+        return emitterWithoutReply;
+    }
+
+    public RequestReplyEmitter<Integer, String> slowEmitter() {
+        return slowEmitter;
+    }
+}
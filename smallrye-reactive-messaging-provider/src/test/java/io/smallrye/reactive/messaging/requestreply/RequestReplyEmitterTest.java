@@ -0,0 +1,87 @@
+package io.smallrye.reactive.messaging.requestreply;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import io.smallrye.reactive.messaging.WeldTestBaseWithoutTails;
+
+public class RequestReplyEmitterTest extends WeldTestBaseWithoutTails {
+
+    @Test
+    public void testRequestReply() {
+        addBeanClass(RequestReplyBean.class);
+        initialize();
+        RequestReplyBean bean = container.select(RequestReplyBean.class).get();
+
+        List<CompletableFuture<String>> replies = IntStream.range(0, 100)
+                .mapToObj(i -> bean.emitter().request(i).toCompletableFuture())
+                .collect(Collectors.toList());
+
+        await().until(() -> replies.stream().allMatch(CompletableFuture::isDone));
+        for (int i = 0; i < replies.size(); i++) {
+            assertThat(replies.get(i).join()).isEqualTo("reply-" + i);
+        }
+        assertThat(bean.emitter().getPendingRequests()).isEqualTo(0);
+    }
+
+    @Test
+    public void testTimeoutAndMaxInFlightRequests() {
+        addBeanClass(RequestReplyBean.class);
+        initialize();
+        RequestReplyBean bean = container.select(RequestReplyBean.class).get();
+
+        CompletableFuture<String> first = bean.emitterWithoutReply().request(1).toCompletableFuture();
+        CompletableFuture<String> second = bean.emitterWithoutReply().request(2).toCompletableFuture();
+        CompletableFuture<String> rejected = bean.emitterWithoutReply().request(3).toCompletableFuture();
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        await().until(() -> first.isDone() && second.isDone());
+        assertThatThrownBy(first::get).hasCauseInstanceOf(TimeoutException.class);
+        assertThatThrownBy(second::get).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bean.emitterWithoutReply().getPendingRequests()).isEqualTo(0);
+    }
+
+    @Test
+    public void testTimedOutRequestsWaitingForASlowRequestChannel() {
+        addBeanClass(RequestReplyBean.class);
+        initialize();
+        RequestReplyBean bean = container.select(RequestReplyBean.class).get();
+
+        // The request channel is blocked: the requests time out while their messages are still buffered, so the
+        // timed out requests free their slot but not their room in the buffer.
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+        for (int burst = 0; burst < 10; burst++) {
+            List<CompletableFuture<String>> sent = IntStream.range(0, 64)
+                    .mapToObj(i -> bean.slowEmitter().request(i).toCompletableFuture())
+                    .collect(Collectors.toList());
+            await().until(() -> sent.stream().allMatch(CompletableFuture::isDone));
+            requests.addAll(sent);
+        }
+        // The requests are rejected once the buffer is full, the request channel does not fail
+        assertThat(requests).allSatisfy(r -> assertThatThrownBy(r::get)
+                .satisfies(e -> assertThat(e.getCause())
+                        .isInstanceOfAny(TimeoutException.class, IllegalStateException.class)));
+        assertThat(requests).anySatisfy(r -> assertThatThrownBy(r::get)
+                .hasCauseInstanceOf(IllegalStateException.class));
+
+        bean.release();
+        await().untilAsserted(() -> assertThat(bean.slowEmitter().request(1000).toCompletableFuture()
+                .get(1, TimeUnit.SECONDS)).isEqualTo("reply-1000"));
+    }
+
+}
@@ -0,0 +1,160 @@
+package io.smallrye.reactive.messaging.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.StateStore;
+import io.smallrye.reactive.messaging.WeldTestBaseWithoutTails;
+import io.smallrye.reactive.messaging.annotations.Channel;
+
+public class StateStoreTest extends WeldTestBaseWithoutTails {
+
+    private Path createStateFile() throws IOException {
+        File file = File.createTempFile("state-", ".bin");
+        file.deleteOnExit();
+        file.delete();
+        return file.toPath();
+    }
+
+    @Test
+    public void testThatOnlySnapshottedStateIsRestored() throws IOException {
+        Path path = createStateFile();
+        KeyedStateStore<String, Integer> store = new KeyedStateStore<>("counts", path, 1024, false);
+        store.put("a", 1);
+        store.compute("b", (k, v) -> v == null ? 10 : v + 1);
+        store.put("c", 3);
+        store.remove("c");
+        store.snapshot().toCompletableFuture().join();
+        store.put("not-snapshotted", 0);
+        store.close();
+
+        KeyedStateStore<String, Integer> restored = new KeyedStateStore<>("counts", path, 1024, false);
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.get("a")).contains(1);
+        assertThat(restored.get("b")).contains(10);
+        assertThat(restored.get("not-snapshotted")).isEmpty();
+        restored.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testCompactionWhenTheFileIsFull() throws IOException {
+        Path path = createStateFile();
+        KeyedStateStore<String, Integer> store = new KeyedStateStore<>("counts", path, 512, true);
+        for (int i = 0; i < 1000; i++) {
+            store.compute("key-" + (i % 3), (k, v) -> v == null ? 1 : v + 1);
+            store.snapshot().toCompletableFuture().join();
+        }
+        store.close();
+
+        KeyedStateStore<String, Integer> restored = new KeyedStateStore<>("counts", path, 512, true);
+        assertThat(restored.get("key-0")).contains(334);
+        assertThat(restored.get("key-1")).contains(333);
+        assertThat(restored.get("key-2")).contains(333);
+        restored.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testThatCorruptedRecordsAreDetected() throws IOException {
+        Path path = createStateFile();
+        KeyedStateStore<String, Integer> store = new KeyedStateStore<>("counts", path, 1024, false);
+        store.put("a", 1);
+        store.snapshot().toCompletableFuture().join();
+        store.close();
+
+        // Overwrite the length of the first record, right after the header.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 100_000), 16);
+        }
+
+        assertThatThrownBy(() -> new KeyedStateStore<String, Integer>("counts", path, 1024, false))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("state file");
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testThatTheAcknowledgementFollowsTheSnapshot() throws IOException {
+        Path path = createStateFile();
+        KeyedStateStore<String, Integer> store = new KeyedStateStore<>("counts", path, 1024, false);
+        AtomicInteger acked = new AtomicInteger();
+        Message<String> message = store.checkpoint(Message.of("a", () -> {
+            acked.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }));
+        store.put(message.getPayload(), 1);
+        message.ack().toCompletableFuture().join();
+        assertThat(acked).hasValue(1);
+        store.close();
+
+        KeyedStateStore<String, Integer> restored = new KeyedStateStore<>("counts", path, 1024, false);
+        assertThat(restored.get("a")).contains(1);
+        restored.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testInjectionOfTheStateStore() {
+        addBeanClass(WordCounter.class);
+        initialize();
+        WordCounter counter = container.select(WordCounter.class).get();
+        await().until(() -> counter.store().size() == 3);
+        assertThat(counter.store().get("a")).contains(3);
+        assertThat(counter.store().get("b")).contains(2);
+        assertThat(counter.store().get("c")).contains(1);
+        assertThat(counter.other()).isSameAs(counter.store());
+    }
+
+    @ApplicationScoped
+    public static class WordCounter {
+
+        @Inject
+        @Channel("words")
+        StateStore<String, Integer> counts;
+
+        @Inject
+        @Channel("words")
+        StateStore<String, Integer> other;
+
+        @Outgoing("words")
+        public Publisher<String> words() {
+            return Flowable.just("a", "b", "a", "c", "b", "a");
+        }
+
+        @Incoming("words")
+        public void count(String word) {
+            counts.compute(word, (k, v) -> v == null ? 1 : v + 1);
+        }
+
+        public StateStore<String, Integer> store() {
+            return counts;
+        }
+
+        public StateStore<String, Integer> other() {
+            return other;
+        }
+    }
+}
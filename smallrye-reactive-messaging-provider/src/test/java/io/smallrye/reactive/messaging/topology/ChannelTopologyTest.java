@@ -0,0 +1,79 @@
+package io.smallrye.reactive.messaging.topology;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.smallrye.reactive.messaging.MyCollector;
+import io.smallrye.reactive.messaging.WeldTestBase;
+
+public class ChannelTopologyTest extends WeldTestBase {
+
+    @After
+    public void cleanup() {
+        releaseConfig();
+    }
+
+    @Test
+    public void testTopology() {
+        installConfig("src/test/resources/config/topology.properties");
+        addBeanClass(TopologyTestBean.class, ChannelTopology.class);
+        initialize();
+
+        MyCollector collector = container.select(MyCollector.class).get();
+        TopologyTestBean bean = container.select(TopologyTestBean.class).get();
+        ChannelTopology topology = container.select(ChannelTopology.class).get();
+
+        await().until(collector::hasCompleted);
+        bean.emitter().send("hello");
+        bean.emitter().send("world");
+        await().until(() -> bean.emitted().size() == 2);
+
+        assertThat(topology.getNodes())
+                .anySatisfy(node -> {
+                    assertThat(node.getKind()).isEqualTo(TopologyNode.Kind.MEDIATOR);
+                    assertThat(node.getIncoming()).containsExactly("source");
+                    assertThat(node.getOutgoing()).containsExactly("sink");
+                })
+                .anySatisfy(node -> {
+                    assertThat(node.getKind()).isEqualTo(TopologyNode.Kind.EMITTER);
+                    assertThat(node.getName()).isEqualTo("emitted");
+                });
+
+        TopologyEdge source = topology.getEdge("source").orElseThrow(IllegalStateException::new);
+        assertThat(source.getProducers()).hasSize(1);
+        assertThat(source.getConsumers()).hasSize(1);
+        assertThat(source.getMessageCount()).isEqualTo(TopologyTestBean.TEST_MESSAGES.size());
+
+        TopologyEdge sink = topology.getEdge("sink").orElseThrow(IllegalStateException::new);
+        assertThat(sink.getMessageCount()).isEqualTo(TopologyTestBean.TEST_MESSAGES.size());
+        assertThat(sink.getOutstandingDemand()).isGreaterThanOrEqualTo(0);
+        // The collector acknowledges the messages before processing them, which acknowledges the processor input
+        assertThat(source.getInFlightAcknowledgements()).isEqualTo(0);
+
+        TopologyEdge emitted = topology.getEdge("emitted").orElseThrow(IllegalStateException::new);
+        assertThat(emitted.getMessageCount()).isEqualTo(2);
+        assertThat(emitted.getBufferedMessages()).isEqualTo(0);
+        assertThat(emitted.getBufferCapacity()).isEqualTo(128);
+        await().until(() -> topology.getEdge("emitted").map(TopologyEdge::getInFlightAcknowledgements).orElse(-1L) == 0);
+    }
+
+    @Test
+    public void testThatTheChannelsAreNotObservedByDefault() {
+        addBeanClass(TopologyTestBean.class, ChannelTopology.class);
+        initialize();
+
+        MyCollector collector = container.select(MyCollector.class).get();
+        ChannelTopology topology = container.select(ChannelTopology.class).get();
+
+        await().until(collector::hasCompleted);
+        assertThat(topology.getProbe("source")).isEmpty();
+        TopologyEdge source = topology.getEdge("source").orElseThrow(IllegalStateException::new);
+        assertThat(source.getProducers()).hasSize(1);
+        assertThat(source.getConsumers()).hasSize(1);
+        assertThat(source.getMessageCount()).isEqualTo(0);
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.smallrye.reactive.messaging.topology;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.Emitter;
+import io.smallrye.reactive.messaging.annotations.Channel;
+
+@ApplicationScoped
+public class TopologyTestBean {
+
+    public static final List<String> TEST_MESSAGES = Arrays.asList("foo", "bar", "baz");
+
+    private final List<String> emitted = new CopyOnWriteArrayList<>();
+
+    @Inject
+    @Channel("emitted")
+    Emitter<String> emitter;
+
+    @Outgoing("source")
+    public Publisher<String> source() {
+        return Flowable.fromIterable(TEST_MESSAGES);
+    }
+
+    @Incoming("source")
+    @Outgoing("sink")
+    public String process(String input) {
+        return input.toUpperCase();
+    }
+
+    @Incoming("emitted")
+    public void consume(String payload) {
+        emitted.add(payload);
+    }
+
+    public Emitter<String> emitter() {
+        return emitter;
+    }
+
+    public List<String> emitted() {
+        return emitted;
+    }
+}
@@ -0,0 +1,139 @@
+package io.smallrye.reactive.messaging.window;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.WindowAggregator;
+import io.smallrye.reactive.messaging.annotations.Window;
+
+/**
+ * Sends a burst of 1, 2 and 3, then a burst of 4 and 5 later, to time-based windows. The bursts are far enough from the
+ * window boundaries so each burst lands in well-known windows.
+ */
+@ApplicationScoped
+public class TimedWindowBean {
+
+    private final Results tumbling = new Results();
+    private final Results hopping = new Results();
+    private final Results session = new Results();
+
+    @Outgoing("tumbling-numbers")
+    public Publisher<Message<Integer>> tumblingNumbers() {
+        // Windows of [0, 500), [500, 1000), [1000, 1500)...: the second burst lands in [1000, 1500)
+        return bursts(tumbling, 0, 1250);
+    }
+
+    @Incoming("tumbling-numbers")
+    @Outgoing("tumbling-sums")
+    @Window(duration = 500)
+    public WindowAggregator<Integer, Integer, Integer> tumblingSum() {
+        return WindowAggregator.of(() -> 0, Integer::sum, s -> s);
+    }
+
+    @Incoming("tumbling-sums")
+    public void consumeTumbling(int sum) {
+        tumbling.received(sum);
+    }
+
+    @Outgoing("hopping-numbers")
+    public Publisher<Message<Integer>> hoppingNumbers() {
+        // Windows of [0, 1000), [500, 1500)... [2000, 3000), [2500, 3500): the second burst lands in the last two
+        return bursts(hopping, 0, 2750);
+    }
+
+    @Incoming("hopping-numbers")
+    @Outgoing("hopping-sums")
+    @Window(value = Window.Type.HOPPING, duration = 1000, advance = 500)
+    public WindowAggregator<Integer, Integer, Integer> hoppingSum() {
+        return WindowAggregator.of(() -> 0, Integer::sum, s -> s);
+    }
+
+    @Incoming("hopping-sums")
+    public void consumeHopping(int sum) {
+        hopping.received(sum);
+    }
+
+    @Outgoing("session-numbers")
+    public Publisher<Message<Integer>> sessionNumbers() {
+        // The messages of a burst are 50 ms apart, below the gap, and the bursts are 1 s apart, above the gap
+        return bursts(session, 50, 1000);
+    }
+
+    @Incoming("session-numbers")
+    @Outgoing("session-sums")
+    @Window(value = Window.Type.SESSION, gap = 300)
+    public WindowAggregator<Integer, Integer, Integer> sessionSum() {
+        return WindowAggregator.of(() -> 0, Integer::sum, s -> s);
+    }
+
+    @Incoming("session-sums")
+    public void consumeSession(int sum) {
+        session.received(sum);
+    }
+
+    private static Flowable<Message<Integer>> bursts(Results results, long spacing, long secondBurstDelay) {
+        Flowable<Integer> first = spaced(Flowable.range(1, 3), spacing);
+        Flowable<Integer> second = spaced(Flowable.range(4, 2), spacing)
+                .delaySubscription(secondBurstDelay, TimeUnit.MILLISECONDS);
+        return Flowable.concat(first, second).map(i -> Message.of(i, () -> {
+            results.acked.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }));
+    }
+
+    private static Flowable<Integer> spaced(Flowable<Integer> values, long spacing) {
+        if (spacing == 0) {
+            return values;
+        }
+        return values.concatMap(i -> Flowable.just(i).delay(spacing, TimeUnit.MILLISECONDS));
+    }
+
+    public Results tumbling() {
+        return tumbling;
+    }
+
+    public Results hopping() {
+        return hopping;
+    }
+
+    public Results session() {
+        return session;
+    }
+
+    public static class Results {
+        private final AtomicInteger acked = new AtomicInteger();
+        private final List<Integer> sums = new CopyOnWriteArrayList<>();
+        private final List<Integer> acksAtReception = new CopyOnWriteArrayList<>();
+
+        private void received(int sum) {
+            acksAtReception.add(acked.get());
+            sums.add(sum);
+        }
+
+        public int acked() {
+            return acked.get();
+        }
+
+        public List<Integer> sums() {
+            return sums;
+        }
+
+        /**
+         * @return the number of incoming messages acknowledged when each result was received
+         */
+        public List<Integer> acksAtReception() {
+            return acksAtReception;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.reactive.messaging.window;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.DeploymentException;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.junit.Test;
+
+import io.smallrye.reactive.messaging.WeldTestBaseWithoutTails;
+import io.smallrye.reactive.messaging.WindowAggregator;
+import io.smallrye.reactive.messaging.annotations.Window;
+
+public class WindowTest extends WeldTestBaseWithoutTails {
+
+    @Test
+    public void testTumblingAndHoppingWindows() {
+        addBeanClass(WindowedBean.class);
+        initialize();
+        WindowedBean bean = container.select(WindowedBean.class).get();
+
+        await().until(() -> bean.tumbling().size() == 4);
+        assertThat(bean.tumbling()).containsExactly(6, 15, 24, 10);
+        // The messages of a window are acknowledged after the result of the window has been consumed.
+        assertThat(bean.acksAtReception()).containsExactly(0, 3, 6, 9);
+        await().until(() -> bean.acked() == 10);
+
+        await().until(() -> bean.hopping().size() == 3);
+        // [1, 2, 3, 4], [3, 4, 5, 6], [5, 6]
+        assertThat(bean.hopping()).containsExactly(10, 18, 11);
+    }
+
+    @Test
+    public void testTimeBasedAndSessionWindows() {
+        addBeanClass(TimedWindowBean.class);
+        initialize();
+        TimedWindowBean bean = container.select(TimedWindowBean.class).get();
+
+        // The messages of a window are acknowledged after the result of the window has been consumed.
+        TimedWindowBean.Results tumbling = bean.tumbling();
+        await().until(() -> tumbling.sums().size() == 2);
+        assertThat(tumbling.sums()).containsExactly(6, 9);
+        assertThat(tumbling.acksAtReception()).containsExactly(0, 3);
+        await().until(() -> tumbling.acked() == 5);
+
+        // [1, 2, 3], then [4, 5] in two overlapping windows: 4 and 5 are acknowledged after both results
+        TimedWindowBean.Results hopping = bean.hopping();
+        await().until(() -> hopping.sums().size() == 3);
+        assertThat(hopping.sums()).containsExactly(6, 9, 9);
+        assertThat(hopping.acksAtReception()).containsExactly(0, 3, 3);
+        await().until(() -> hopping.acked() == 5);
+
+        TimedWindowBean.Results session = bean.session();
+        await().until(() -> session.sums().size() == 2);
+        assertThat(session.sums()).containsExactly(6, 9);
+        assertThat(session.acksAtReception()).containsExactly(0, 3);
+        await().until(() -> session.acked() == 5);
+    }
+
+    @Test(expected = DeploymentException.class)
+    public void testInvalidHoppingWindow() {
+        addBeanClass(InvalidWindowBean.class);
+        initialize();
+    }
+
+    @ApplicationScoped
+    public static class InvalidWindowBean {
+        @Incoming("source")
+        @Outgoing("sink")
+        @Window(value = Window.Type.HOPPING, size = 2, advance = 3)
+        public WindowAggregator<String, StringBuilder, String> concat() {
+            return WindowAggregator.of(StringBuilder::new, StringBuilder::append, StringBuilder::toString);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.smallrye.reactive.messaging.window;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.messaging.WindowAggregator;
+import io.smallrye.reactive.messaging.annotations.Window;
+
+@ApplicationScoped
+public class WindowedBean {
+
+    private final AtomicInteger acked = new AtomicInteger();
+    private final List<Integer> tumbling = new CopyOnWriteArrayList<>();
+    private final List<Integer> hopping = new CopyOnWriteArrayList<>();
+    private final List<Integer> acksAtReception = new CopyOnWriteArrayList<>();
+
+    @Outgoing("numbers")
+    public Publisher<Message<Integer>> numbers() {
+        return Flowable.range(1, 10).map(i -> Message.of(i, () -> {
+            acked.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }));
+    }
+
+    @Incoming("numbers")
+    @Outgoing("sums")
+    @Window(size = 3)
+    public WindowAggregator<Integer, Integer, Integer> sum() {
+        return WindowAggregator.of(() -> 0, Integer::sum, s -> s);
+    }
+
+    @Incoming("sums")
+    public void consumeSums(int sum) {
+        acksAtReception.add(acked.get());
+        tumbling.add(sum);
+    }
+
+    @Outgoing("values")
+    public Publisher<Integer> values() {
+        return Flowable.range(1, 6);
+    }
+
+    @Incoming("values")
+    @Outgoing("hops")
+    @Window(value = Window.Type.HOPPING, size = 4, advance = 2)
+    public WindowAggregator<Integer, int[], Integer> hop() {
+        return WindowAggregator.of(() -> new int[1], (acc, i) -> {
+            acc[0] += i;
+            return acc;
+        }, acc -> acc[0]);
+    }
+
+    @Incoming("hops")
+    public void consumeHops(int sum) {
+        hopping.add(sum);
+    }
+
+    public int acked() {
+        return acked.get();
+    }
+
+    public List<Integer> tumbling() {
+        return tumbling;
+    }
+
+    public List<Integer> acksAtReception() {
+        return acksAtReception;
+    }
+
+    public List<Integer> hopping() {
+        return hopping;
+    }
+}